@@ -0,0 +1,90 @@
+package com.kdu.rizzlers.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.kdu.rizzlers.dto.out.DailyRoomRateDTO;
+import com.kdu.rizzlers.util.JsonCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-call cost of the shared {@link JsonCodec} with the previous patterns: a mapper call that
+ * resolves the type on every invocation, and a mapper of its own whose caches start cold, as each component used
+ * to create. The daily rates are written with the shared mapper, as the HTTP message converter does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonCodecBenchmark {
+
+    private static final String CONFIGURATION_VALUE = "{\"options\":["
+            + "{\"code\":\"EN\",\"name\":\"English\",\"active\":true},"
+            + "{\"code\":\"ES\",\"name\":\"Español\",\"active\":true},"
+            + "{\"code\":\"FR\",\"name\":\"Français\",\"active\":true},"
+            + "{\"code\":\"DE\",\"name\":\"Deutsch\",\"active\":false}"
+            + "],\"default\":\"EN\"}";
+
+    @Param({"30"})
+    private int dailyRates;
+
+    private final ObjectMapper objectMapper = newMapper();
+    private List<DailyRoomRateDTO> rates;
+
+    @Setup
+    public void setup() {
+        rates = new ArrayList<>(dailyRates);
+        LocalDate start = LocalDate.of(2025, 3, 1);
+        for (int i = 0; i < dailyRates; i++) {
+            rates.add(DailyRoomRateDTO.builder()
+                    .date(start.plusDays(i))
+                    .minimumRate(100.0 + i)
+                    .hasPromotion(i % 3 == 0)
+                    .promotionId(i % 3 == 0 ? 1 : null)
+                    .priceFactor(i % 3 == 0 ? 0.8 : null)
+                    .discountedRate(i % 3 == 0 ? 80.0 + i : null)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> readMapWithTypeReference() throws IOException {
+        return objectMapper.readValue(CONFIGURATION_VALUE, new TypeReference<Map<String, Object>>() {});
+    }
+
+    @Benchmark
+    public Map<String, Object> readMapWithCodecReader() throws IOException {
+        return JsonCodec.MAP_READER.readValue(CONFIGURATION_VALUE);
+    }
+
+    @Benchmark
+    public byte[] writeRatesWithSharedMapper() throws IOException {
+        return JsonCodec.mapper().writeValueAsBytes(rates);
+    }
+
+    /**
+     * The first call on a mapper of its own, which has to introspect the types before writing
+     */
+    @Benchmark
+    public byte[] writeRatesWithColdMapper() throws IOException {
+        return newMapper().writeValueAsBytes(rates);
+    }
+
+    private static ObjectMapper newMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+}
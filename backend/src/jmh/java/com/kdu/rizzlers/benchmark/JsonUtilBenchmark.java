@@ -0,0 +1,44 @@
+package com.kdu.rizzlers.benchmark;
+
+import com.kdu.rizzlers.util.JsonUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link JsonUtil#jsonToMap(String)} on tenant configuration values of the sizes stored in
+ * {@code tenant_configuration.value}: a small flat object and a list of language options.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonUtilBenchmark {
+
+    @Param({"flat", "options"})
+    private String shape;
+
+    private String json;
+
+    @Setup
+    public void setup() {
+        json = switch (shape) {
+            case "flat" -> "{\"url\":\"https://example.com/logo.png\",\"alt\":\"Hotel Logo\"}";
+            case "options" -> "{\"options\":["
+                    + "{\"code\":\"EN\",\"name\":\"English\",\"active\":true},"
+                    + "{\"code\":\"ES\",\"name\":\"Español\",\"active\":true},"
+                    + "{\"code\":\"FR\",\"name\":\"Français\",\"active\":true},"
+                    + "{\"code\":\"DE\",\"name\":\"Deutsch\",\"active\":false}"
+                    + "],\"default\":\"EN\"}";
+            default -> throw new IllegalArgumentException("Unknown shape " + shape);
+        };
+    }
+
+    @Benchmark
+    public Map<String, Object> jsonToMap() {
+        return JsonUtil.jsonToMap(json);
+    }
+}
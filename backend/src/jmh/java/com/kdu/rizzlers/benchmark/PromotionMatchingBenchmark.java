@@ -0,0 +1,78 @@
+package com.kdu.rizzlers.benchmark;
+
+import com.kdu.rizzlers.entity.PropertyPromotionSchedule;
+import com.kdu.rizzlers.util.PromotionIntervalIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares resolving the promotion for every date of a rate calendar with a per-date stream over all promotions
+ * (the original daily-rate assembly) against a single sweep over {@link PromotionIntervalIndex}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PromotionMatchingBenchmark {
+
+    @Param({"365"})
+    private int dates;
+
+    @Param({"50", "500"})
+    private int promotionCount;
+
+    private List<PropertyPromotionSchedule> promotions;
+    private long firstDay;
+    private long lastDay;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        firstDay = start.toEpochDay();
+        lastDay = firstDay + dates - 1;
+
+        promotions = new ArrayList<>(promotionCount);
+        for (int i = 0; i < promotionCount; i++) {
+            LocalDate promotionStart = start.plusDays(random.nextInt(dates));
+            promotions.add(PropertyPromotionSchedule.builder()
+                    .id((long) i)
+                    .propertyId(1)
+                    .promotionId(i)
+                    .priceFactor(BigDecimal.valueOf(50 + random.nextInt(50), 2))
+                    .startDate(promotionStart)
+                    .endDate(promotionStart.plusDays(random.nextInt(30)))
+                    // Roughly one in ten promotions is switched off
+                    .isActive(random.nextInt(10) != 0)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public Map<LocalDate, PropertyPromotionSchedule> streamPerDate() {
+        Map<LocalDate, PropertyPromotionSchedule> dateToPromotionMap = new HashMap<>();
+        for (long day = firstDay; day <= lastDay; day++) {
+            LocalDate date = LocalDate.ofEpochDay(day);
+            promotions.stream()
+                    .filter(promotion -> promotion.isDateInPromotionPeriod(date))
+                    .findFirst()
+                    .ifPresent(promotion -> dateToPromotionMap.put(date, promotion));
+        }
+        return dateToPromotionMap;
+    }
+
+    @Benchmark
+    public PropertyPromotionSchedule[] intervalIndexSweep() {
+        return new PromotionIntervalIndex(promotions).resolve(firstDay, lastDay);
+    }
+}
@@ -0,0 +1,139 @@
+package com.kdu.rizzlers.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the promotion overlap lookup written as four {@code BETWEEN} predicates (the original query) against
+ * the {@code daterange &&} form served by the GiST index from {@code V2__promotion_schedule_period_index.sql}.
+ * <p>
+ * Needs a PostgreSQL database with the btree_gist extension available; a scratch table with the production
+ * indexes is generated there and dropped afterwards. The connection is read from the environment, e.g.
+ * <pre>
+ * BENCHMARK_POSTGRES_URL=jdbc:postgresql://localhost:5432/postgres BENCHMARK_POSTGRES_USER=postgres \
+ *   BENCHMARK_POSTGRES_PASSWORD=postgres \
+ *   mvn -Pbenchmarks test-compile exec:exec -Djmh.args="PromotionOverlapQueryBenchmark -f 1"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PromotionOverlapQueryBenchmark {
+
+    private static final String TABLE = "promotion_schedule_benchmark";
+    private static final LocalDate FIRST_START = LocalDate.of(2025, 1, 1);
+    private static final int START_SPREAD_DAYS = 730;
+    private static final int WINDOW_DAYS = 30;
+
+    private static final String BETWEEN_QUERY = "SELECT id, promotion_id, price_factor, start_date, end_date"
+            + " FROM " + TABLE + " WHERE property_id = ? AND is_active = true"
+            + " AND ((start_date BETWEEN ? AND ?) OR (end_date BETWEEN ? AND ?)"
+            + " OR (? BETWEEN start_date AND end_date) OR (? BETWEEN start_date AND end_date))";
+
+    private static final String RANGE_QUERY = "SELECT id, promotion_id, price_factor, start_date, end_date"
+            + " FROM " + TABLE + " WHERE property_id = ? AND is_active = true"
+            + " AND daterange(start_date, end_date, '[]') && daterange(?, ?, '[]')";
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"10000"})
+    private int properties;
+
+    private Connection connection;
+    private PreparedStatement betweenQuery;
+    private PreparedStatement rangeQuery;
+    private final Random random = new Random(42);
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection(
+                environment("BENCHMARK_POSTGRES_URL", "jdbc:postgresql://localhost:5432/postgres"),
+                environment("BENCHMARK_POSTGRES_USER", "postgres"),
+                environment("BENCHMARK_POSTGRES_PASSWORD", "postgres"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS btree_gist");
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            statement.execute("CREATE TABLE " + TABLE + " ("
+                    + "id BIGSERIAL PRIMARY KEY, property_id INTEGER NOT NULL, promotion_id INTEGER NOT NULL,"
+                    + " price_factor DECIMAL(5,2) NOT NULL DEFAULT 1.0, start_date DATE NOT NULL,"
+                    + " end_date DATE NOT NULL, is_active BOOLEAN DEFAULT TRUE,"
+                    + " CHECK (end_date >= start_date))");
+            // Promotions of up to a month, spread over two years; roughly one in ten is switched off
+            statement.execute("INSERT INTO " + TABLE + " (property_id, promotion_id, price_factor, start_date, end_date, is_active)"
+                    + " SELECT g % " + properties + ", g, round((0.5 + random() * 0.5)::numeric, 2), s, s + (random() * 30)::int, random() > 0.1"
+                    + " FROM (SELECT g, DATE '" + FIRST_START + "' + (random() * " + START_SPREAD_DAYS + ")::int AS s"
+                    + " FROM generate_series(1, " + rows + ") g) generated");
+            // The indexes of property_promotion_schedule, before and after the migration
+            statement.execute("CREATE INDEX ON " + TABLE + " (property_id)");
+            statement.execute("CREATE INDEX ON " + TABLE + " (start_date, end_date)");
+            statement.execute("CREATE INDEX ON " + TABLE + " USING gist (property_id, daterange(start_date, end_date, '[]'))");
+            statement.execute("ANALYZE " + TABLE);
+        }
+        betweenQuery = connection.prepareStatement(BETWEEN_QUERY);
+        rangeQuery = connection.prepareStatement(RANGE_QUERY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public int betweenPredicates() throws SQLException {
+        int propertyId = random.nextInt(properties);
+        Date start = Date.valueOf(FIRST_START.plusDays(random.nextInt(START_SPREAD_DAYS)));
+        Date end = Date.valueOf(start.toLocalDate().plusDays(WINDOW_DAYS));
+        betweenQuery.setInt(1, propertyId);
+        betweenQuery.setDate(2, start);
+        betweenQuery.setDate(3, end);
+        betweenQuery.setDate(4, start);
+        betweenQuery.setDate(5, end);
+        betweenQuery.setDate(6, start);
+        betweenQuery.setDate(7, end);
+        return count(betweenQuery);
+    }
+
+    @Benchmark
+    public int rangeOverlap() throws SQLException {
+        int propertyId = random.nextInt(properties);
+        Date start = Date.valueOf(FIRST_START.plusDays(random.nextInt(START_SPREAD_DAYS)));
+        Date end = Date.valueOf(start.toLocalDate().plusDays(WINDOW_DAYS));
+        rangeQuery.setInt(1, propertyId);
+        rangeQuery.setDate(2, start);
+        rangeQuery.setDate(3, end);
+        return count(rangeQuery);
+    }
+
+    private static int count(PreparedStatement query) throws SQLException {
+        int count = 0;
+        try (ResultSet resultSet = query.executeQuery()) {
+            while (resultSet.next()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String environment(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+}
@@ -0,0 +1,87 @@
+package com.kdu.rizzlers.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kdu.rizzlers.config.JacksonConfig;
+import com.kdu.rizzlers.dto.out.DailyRoomRateDTO;
+import com.kdu.rizzlers.dto.out.GuestTypeDefinitionResponse;
+import com.kdu.rizzlers.dto.out.LandingPageConfigResponse;
+import com.kdu.rizzlers.dto.out.TenantPropertyAssignmentResponse;
+import com.kdu.rizzlers.service.impl.ConfigurationDefaultProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serializing the two largest responses with the application's primary {@link ObjectMapper}:
+ * a landing page configuration with guest types and properties, and a year of daily rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    @Param({"365"})
+    private int dailyRates;
+
+    private final ObjectMapper objectMapper = new JacksonConfig().javaTimeObjectMapper();
+    private LandingPageConfigResponse landingPage;
+    private List<DailyRoomRateDTO> rates;
+
+    @Setup
+    public void setup() {
+        LandingPageConfigResponse.LandingPageConfigResponseBuilder builder = LandingPageConfigResponse.builder()
+                .tenantId(1)
+                .page("landing");
+        new ConfigurationDefaultProvider().setDefaultConfigValues(builder);
+        List<GuestTypeDefinitionResponse> guestTypes = List.of(
+                GuestTypeDefinitionResponse.builder().id(1L).guestType("Adult").minAge(18).maxAge(120).maxCount(4).isActive(true).build(),
+                GuestTypeDefinitionResponse.builder().id(2L).guestType("Teen").minAge(13).maxAge(17).maxCount(2).isActive(true).build(),
+                GuestTypeDefinitionResponse.builder().id(3L).guestType("Child").minAge(0).maxAge(12).maxCount(3).isActive(true).build());
+        List<TenantPropertyAssignmentResponse> properties = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            properties.add(TenantPropertyAssignmentResponse.builder()
+                    .id((long) i)
+                    .propertyId(i)
+                    .propertyName("Property " + i)
+                    .propertyAddress(i + " Example Street, Springfield")
+                    .contactNumber("+1-555-0100")
+                    .isAssigned(true)
+                    .build());
+        }
+        landingPage = builder.guestTypes(guestTypes).properties(properties).build();
+
+        Random random = new Random(42);
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        rates = new ArrayList<>(dailyRates);
+        for (int i = 0; i < dailyRates; i++) {
+            double rate = 80 + random.nextInt(20_000) / 100.0;
+            boolean promoted = random.nextInt(4) == 0;
+            rates.add(DailyRoomRateDTO.builder()
+                    .date(start.plusDays(i))
+                    .minimumRate(rate)
+                    .hasPromotion(promoted)
+                    .promotionId(promoted ? 7 : null)
+                    .priceFactor(promoted ? 0.8 : 1.0)
+                    .discountedRate(promoted ? Math.round(rate * 80) / 100.0 : rate)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] landingPageConfiguration() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(landingPage);
+    }
+
+    @Benchmark
+    public byte[] dailyRates() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(rates);
+    }
+}
@@ -0,0 +1,93 @@
+package com.kdu.rizzlers.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kdu.rizzlers.cache.RateCalendar;
+import com.kdu.rizzlers.util.RoomRateResponseParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares turning a {@code listRoomRateRoomTypeMappings} response into per-day minimum rates by decoding it
+ * into maps and walking them (the original path) against feeding the bytes through
+ * {@link RoomRateResponseParser} in network-sized chunks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoomRateParsingBenchmark {
+
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    @Param({"10000", "100000"})
+    private int mappings;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] response;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        StringBuilder json = new StringBuilder(mappings * 96).append("{\"data\":{\"listRoomRateRoomTypeMappings\":[");
+        for (int i = 0; i < mappings; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"room_rate\":{\"basic_nightly_rate\":")
+                    .append(80 + random.nextInt(200)).append('.').append(random.nextInt(100))
+                    .append(",\"date\":\"").append(start.plusDays(random.nextInt(365))).append("T00:00:00.000Z\"")
+                    .append(",\"room_rate_id\":").append(i)
+                    .append("}}");
+        }
+        response = json.append("]}}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public TreeMap<LocalDate, Double> mapTree() throws IOException {
+        Map<String, Object> body = objectMapper.readValue(response, new TypeReference<>() {});
+        Map<String, Object> data = (Map<String, Object>) body.get("data");
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) data.get("listRoomRateRoomTypeMappings");
+
+        TreeMap<LocalDate, Double> minimumRates = new TreeMap<>();
+        for (Map<String, Object> mapping : rows) {
+            if (mapping.containsKey("room_rate")) {
+                Map<String, Object> rate = (Map<String, Object>) mapping.get("room_rate");
+                LocalDate rateDate = null;
+                if (rate.containsKey("date") && rate.get("date") instanceof String dateStr && dateStr.length() >= 10) {
+                    rateDate = LocalDate.parse(dateStr.substring(0, 10));
+                }
+                Double basicRate = null;
+                if (rate.containsKey("basic_nightly_rate") && rate.get("basic_nightly_rate") instanceof Number number) {
+                    basicRate = number.doubleValue();
+                }
+                if (rateDate != null && basicRate != null) {
+                    Double value = basicRate;
+                    minimumRates.compute(rateDate, (date, existing) -> existing == null || value < existing ? value : existing);
+                }
+            }
+        }
+        return minimumRates;
+    }
+
+    @Benchmark
+    public RateCalendar streamingParser() throws IOException {
+        RoomRateResponseParser parser = new RoomRateResponseParser();
+        for (int offset = 0; offset < response.length; offset += CHUNK_SIZE) {
+            parser.feed(ByteBuffer.wrap(response, offset, Math.min(CHUNK_SIZE, response.length - offset)));
+        }
+        return parser.finish().rates().build();
+    }
+}
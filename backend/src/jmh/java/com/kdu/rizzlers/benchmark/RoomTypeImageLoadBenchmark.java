@@ -0,0 +1,55 @@
+package com.kdu.rizzlers.benchmark;
+
+import com.kdu.rizzlers.entity.RoomTypeImage;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@code @PostLoad} parsing of {@code room_type_images.image_urls} into the entity's URL array,
+ * for both stored formats: a PostgreSQL array literal and a JSON array.
+ * <p>
+ * The callback is private, as JPA allows, so it is invoked through a method handle as Hibernate would.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoomTypeImageLoadBenchmark {
+
+    @Param({"postgres-array", "json-array"})
+    private String format;
+
+    @Param({"8"})
+    private int urls;
+
+    private MethodHandle onLoad;
+    private String imageUrls;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        onLoad = MethodHandles.privateLookupIn(RoomTypeImage.class, MethodHandles.lookup())
+                .findVirtual(RoomTypeImage.class, "onLoad", MethodType.methodType(void.class));
+
+        boolean postgres = format.equals("postgres-array");
+        StringJoiner joiner = postgres ? new StringJoiner(",", "{", "}") : new StringJoiner(",", "[", "]");
+        for (int i = 0; i < urls; i++) {
+            joiner.add("\"https://images.example.com/properties/42/room-types/7/photo-" + i + ".jpg\"");
+        }
+        imageUrls = joiner.toString();
+    }
+
+    @Benchmark
+    public String[] onLoad() throws Throwable {
+        RoomTypeImage image = new RoomTypeImage();
+        image.setImageUrlsJson(imageUrls);
+        onLoad.invokeExact(image);
+        return image.getImageUrls();
+    }
+}
@@ -0,0 +1,96 @@
+package com.kdu.rizzlers.benchmark;
+
+import com.kdu.rizzlers.dto.out.LandingPageConfigResponse;
+import com.kdu.rizzlers.service.impl.ConfigurationDefaultProvider;
+import com.kdu.rizzlers.service.impl.ConfigurationValidator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request work of assembling a landing page configuration: validating every field of a
+ * complete tenant configuration with {@link ConfigurationValidator}, and filling a response with
+ * {@link ConfigurationDefaultProvider#setDefaultConfigValues}.
+ * <p>
+ * The configuration is complete, so the validators take their success paths and do not log or modify it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TenantConfigurationBenchmark {
+
+    private final ConfigurationValidator validator = new ConfigurationValidator();
+    private final ConfigurationDefaultProvider defaultProvider = new ConfigurationDefaultProvider();
+
+    private Map<String, Object> headerLogo;
+    private Map<String, Object> pageTitle;
+    private Map<String, Object> bannerImage;
+    private Map<String, Object> footer;
+    private Map<String, Object> languages;
+    private Map<String, Object> currencies;
+    private Map<String, Object> lengthOfStay;
+    private Map<String, Object> guestOptions;
+    private Map<String, Object> roomOptions;
+    private Map<String, Object> accessibilityOptions;
+    private Map<String, Object> numberOfRooms;
+
+    @Setup
+    public void setup() {
+        headerLogo = map("url", "https://example.com/logo.png", "alt", "Hotel Logo");
+        pageTitle = map("text", "Internet Booking Engine");
+        bannerImage = map("url", "https://example.com/banner.jpg", "alt", "Banner");
+        footer = map("image", map("url", "https://example.com/footer.png", "alt", "Footer Logo"),
+                "desc", "Your trusted travel partner", "copyright", "© 2025 Company Name");
+        languages = map("options", List.of(
+                        map("code", "EN", "name", "English", "active", true),
+                        map("code", "ES", "name", "Español", "active", true),
+                        map("code", "FR", "name", "Français", "active", true)),
+                "default", "EN");
+        currencies = map("options", List.of(
+                        map("code", "USD", "symbol", "$", "name", "US Dollar", "active", true),
+                        map("code", "EUR", "symbol", "€", "name", "Euro", "active", true)),
+                "default", "USD");
+        lengthOfStay = map("min", 1, "max", 14, "default", 2);
+        guestOptions = map("show", true, "use_guest_type_definitions", true);
+        roomOptions = map("show", true, "max_rooms", 3);
+        accessibilityOptions = map("show", true, "options", List.of("wheelchair"));
+        numberOfRooms = map("min", 1, "max", 3, "value", 1);
+    }
+
+    @Benchmark
+    public void validateAllFields(Blackhole blackhole) {
+        blackhole.consume(validator.validateHeaderLogo(headerLogo));
+        blackhole.consume(validator.validatePageTitle(pageTitle));
+        blackhole.consume(validator.validateBannerImage(bannerImage));
+        blackhole.consume(validator.validateFooter(footer));
+        blackhole.consume(validator.validateLanguages(languages));
+        blackhole.consume(validator.validateCurrencies(currencies));
+        blackhole.consume(validator.validateLengthOfStay(lengthOfStay));
+        blackhole.consume(validator.validateGuestOptions(guestOptions));
+        blackhole.consume(validator.validateRoomOptions(roomOptions));
+        blackhole.consume(validator.validateAccessibilityOptions(accessibilityOptions));
+        blackhole.consume(validator.validateNumberOfRooms(numberOfRooms));
+    }
+
+    @Benchmark
+    public LandingPageConfigResponse setDefaultConfigValues() {
+        LandingPageConfigResponse.LandingPageConfigResponseBuilder builder = LandingPageConfigResponse.builder();
+        defaultProvider.setDefaultConfigValues(builder);
+        return builder.build();
+    }
+
+    private static Map<String, Object> map(Object... keysAndValues) {
+        Map<String, Object> map = new HashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,149 @@
+package com.kdu.rizzlers.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares storing a tenant onboarding batch one row at a time, each in its own transaction, against the JDBC
+ * batched {@code INSERT ... ON CONFLICT} in a single transaction used by {@code PUT /tenant-configurations/bulk}.
+ * Before each invocation half of the keys already exist, so both paths insert and update.
+ * <p>
+ * Needs a PostgreSQL database; a scratch table with the active-key index from
+ * {@code V3__tenant_configuration_natural_key.sql} is created there and dropped afterwards. The connection is read
+ * from the environment, e.g.
+ * <pre>
+ * BENCHMARK_POSTGRES_URL=jdbc:postgresql://localhost:5432/postgres BENCHMARK_POSTGRES_USER=postgres \
+ *   BENCHMARK_POSTGRES_PASSWORD=postgres \
+ *   mvn -Pbenchmarks test-compile exec:exec -Djmh.args="TenantConfigurationUpsertBenchmark -f 1"
+ * </pre>
+ * Divide {@code rows} by the reported time for the throughput in rows per millisecond.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TenantConfigurationUpsertBenchmark {
+
+    private static final String TABLE = "tenant_configuration_benchmark";
+    private static final String[] PAGES = {"landing", "results", "details", "checkout"};
+    private static final int FIELDS_PER_TENANT = 100;
+
+    private static final String UPSERT_SQL = "INSERT INTO " + TABLE
+            + " (tenant_id, page, field, value, is_active, created_at, updated_at)"
+            + " VALUES (?, ?, ?, CAST(? AS jsonb), true, ?, ?)"
+            + " ON CONFLICT (tenant_id, page, field) WHERE is_active"
+            + " DO UPDATE SET value = EXCLUDED.value, updated_at = EXCLUDED.updated_at";
+
+    @Param({"10000"})
+    private int rows;
+
+    @Param({"500"})
+    private int batchSize;
+
+    @Param({"true", "false"})
+    private boolean reWriteBatchedInserts;
+
+    private Connection connection;
+    private PreparedStatement upsert;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", environment("BENCHMARK_POSTGRES_USER", "postgres"));
+        properties.setProperty("password", environment("BENCHMARK_POSTGRES_PASSWORD", "postgres"));
+        properties.setProperty("reWriteBatchedInserts", Boolean.toString(reWriteBatchedInserts));
+        connection = DriverManager.getConnection(
+                environment("BENCHMARK_POSTGRES_URL", "jdbc:postgresql://localhost:5432/postgres"), properties);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            statement.execute("CREATE TABLE " + TABLE + " ("
+                    + "id BIGSERIAL PRIMARY KEY, tenant_id INTEGER NOT NULL, page VARCHAR(50) NOT NULL,"
+                    + " field VARCHAR(100) NOT NULL, value JSONB NOT NULL, is_active BOOLEAN DEFAULT TRUE,"
+                    + " created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,"
+                    + " updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            statement.execute("CREATE INDEX ON " + TABLE + " (tenant_id, page)");
+            statement.execute("CREATE UNIQUE INDEX ON " + TABLE + " (tenant_id, page, field) WHERE is_active");
+        }
+        upsert = connection.prepareStatement(UPSERT_SQL);
+    }
+
+    @Setup(Level.Invocation)
+    public void seed() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE " + TABLE);
+            // Every other key of the batch, as if the tenant had been partly configured before
+            statement.execute("INSERT INTO " + TABLE + " (tenant_id, page, field, value)"
+                    + " SELECT g / " + FIELDS_PER_TENANT + ", (ARRAY['" + String.join("','", PAGES) + "'])[g % "
+                    + PAGES.length + " + 1], 'field_' || (g % " + FIELDS_PER_TENANT + "), '{\"seeded\": true}'"
+                    + " FROM generate_series(0, " + (rows - 1) + ", 2) g");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public int rowByRow() throws SQLException {
+        connection.setAutoCommit(true);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int upserted = 0;
+        for (int row = 0; row < rows; row++) {
+            bind(row, now);
+            upserted += upsert.executeUpdate();
+        }
+        return upserted;
+    }
+
+    @Benchmark
+    public int batchedInOneTransaction() throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            int upserted = 0;
+            for (int row = 0; row < rows; row++) {
+                bind(row, now);
+                upsert.addBatch();
+                if ((row + 1) % batchSize == 0 || row == rows - 1) {
+                    for (int count : upsert.executeBatch()) {
+                        upserted += count < 0 ? 1 : count;
+                    }
+                }
+            }
+            connection.commit();
+            return upserted;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private void bind(int row, Timestamp now) throws SQLException {
+        upsert.setInt(1, row / FIELDS_PER_TENANT);
+        upsert.setString(2, PAGES[row % PAGES.length]);
+        upsert.setString(3, "field_" + row % FIELDS_PER_TENANT);
+        upsert.setString(4, "{\"url\": \"https://example.com/" + row + ".png\", \"active\": true}");
+        upsert.setTimestamp(5, now);
+        upsert.setTimestamp(6, now);
+    }
+
+    private static String environment(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+}
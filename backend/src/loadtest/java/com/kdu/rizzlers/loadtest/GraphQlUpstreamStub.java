@@ -0,0 +1,276 @@
+package com.kdu.rizzlers.loadtest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the upstream GraphQL API, answering the operations the backend issues:
+ * {@code listRooms}, {@code listRoomTypes} with nested {@code room_rates}, {@code listRoomRateRoomTypeMappings}
+ * and {@code listProperties}.
+ * <p>
+ * Data is generated deterministically from the requested IDs, so responses are stable across runs:
+ * every property has {@code --rooms} rooms spread over {@code --room-types} room types, and every room type has
+ * one rate per day for {@code --rate-days} days from {@code --first-date}. The {@code skip}/{@code take} paging
+ * and the rate date window are honoured, so the backend's pagination runs as it does in production.
+ * <p>
+ * Options:
+ * <ul>
+ *     <li>{@code --port} (4000)</li>
+ *     <li>{@code --latency-ms} (50) and {@code --latency-jitter-ms} (20): added to every response</li>
+ *     <li>{@code --error-rate} (0): fraction of requests answered with HTTP 500 and a GraphQL error</li>
+ *     <li>{@code --rooms} (40), {@code --room-types} (8), {@code --rate-days} (365), {@code --first-date}
+ *     (2025-01-01): payload size</li>
+ *     <li>{@code --threads} (200): requests handled at once</li>
+ * </ul>
+ */
+public final class GraphQlUpstreamStub {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final JsonFactory JSON_FACTORY = OBJECT_MAPPER.getFactory();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    private final int latencyMs;
+    private final int latencyJitterMs;
+    private final double errorRate;
+    private final int rooms;
+    private final int roomTypes;
+    private final int rateDays;
+    private final long firstEpochDay;
+
+    private GraphQlUpstreamStub(LoadTest.Options options) throws IOException {
+        this.latencyMs = options.integer("latency-ms", 50);
+        this.latencyJitterMs = options.integer("latency-jitter-ms", 20);
+        this.errorRate = options.decimal("error-rate", 0);
+        this.rooms = options.integer("rooms", 40);
+        this.roomTypes = options.integer("room-types", 8);
+        this.rateDays = options.integer("rate-days", 365);
+        this.firstEpochDay = LocalDate.parse(options.string("first-date", "2025-01-01")).toEpochDay();
+
+        int port = options.integer("port", 4000);
+        this.executor = Executors.newFixedThreadPool(options.integer("threads", 200));
+        this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+        server.createContext("/graphql", this::handle);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Start a stub configured from the command line options
+     */
+    public static GraphQlUpstreamStub start(LoadTest.Options options) throws IOException {
+        GraphQlUpstreamStub stub = new GraphQlUpstreamStub(options);
+        stub.server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::stop, "graphql-stub-shutdown"));
+        System.out.printf("GraphQL stub listening on http://localhost:%d/graphql (latency %d+/-%d ms, error rate %.3f)%n",
+                stub.server.getAddress().getPort(), stub.latencyMs, stub.latencyJitterMs, stub.errorRate);
+        return stub;
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        System.out.printf("GraphQL stub served %d requests, %d injected errors%n", requests.get(), injectedErrors.get());
+        stopped.countDown();
+    }
+
+    public void awaitTermination() throws InterruptedException {
+        stopped.await();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            JsonNode request = OBJECT_MAPPER.readTree(exchange.getRequestBody());
+            String query = request.path("query").asText();
+            JsonNode variables = request.path("variables");
+
+            simulateLatency();
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrors.incrementAndGet();
+                exchange.sendResponseHeaders(500, 0);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write("{\"errors\":[{\"message\":\"Injected upstream failure\"}]}".getBytes());
+                }
+                return;
+            }
+
+            // Chunked, so large rate pages are streamed rather than buffered
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream body = exchange.getResponseBody();
+                 JsonGenerator json = JSON_FACTORY.createGenerator(body)) {
+                json.writeStartObject();
+                json.writeObjectFieldStart("data");
+                if (query.contains("listRoomRateRoomTypeMappings")) {
+                    writeRates(json, variables);
+                } else if (query.contains("listRoomTypes")) {
+                    writeRoomTypes(json, variables, query.contains("room_rates"));
+                } else if (query.contains("listRooms")) {
+                    writeRooms(json, variables);
+                } else if (query.contains("listProperties")) {
+                    writeProperties(json, variables);
+                }
+                json.writeEndObject();
+                json.writeEndObject();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void simulateLatency() throws InterruptedException {
+        int jitter = latencyJitterMs > 0 ? ThreadLocalRandom.current().nextInt(-latencyJitterMs, latencyJitterMs + 1) : 0;
+        int delay = Math.max(0, latencyMs + jitter);
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+    }
+
+    private void writeRooms(JsonGenerator json, JsonNode variables) throws IOException {
+        int propertyId = variables.path("propertyId").asInt();
+        int skip = variables.path("skip").asInt(0);
+        int take = variables.path("take").asInt(Integer.MAX_VALUE);
+
+        json.writeArrayFieldStart("listRooms");
+        for (int room = skip; room < Math.min(rooms, skip + take); room++) {
+            int roomTypeId = roomTypeId(propertyId, room % roomTypes);
+            json.writeStartObject();
+            json.writeNumberField("room_id", propertyId * 10_000 + room);
+            json.writeObjectFieldStart("room_type");
+            json.writeNumberField("room_type_id", roomTypeId);
+            json.writeStringField("room_type_name", "Room type " + roomTypeId);
+            json.writeEndObject();
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+    }
+
+    /**
+     * Room types in ID order, each with up to ratesTake of its mappings in date order if the query asks for them
+     */
+    private void writeRoomTypes(JsonGenerator json, JsonNode variables, boolean withRates) throws IOException {
+        int propertyId = variables.path("propertyId").asInt();
+        int skip = variables.path("skip").asInt(0);
+        int take = variables.path("take").asInt(Integer.MAX_VALUE);
+        int ratesTake = variables.path("ratesTake").asInt(Integer.MAX_VALUE);
+        long fromDay = Math.max(firstEpochDay, epochDay(variables.path("startDate"), firstEpochDay));
+        long toDay = Math.min(firstEpochDay + rateDays - 1, epochDay(variables.path("endDate"), Long.MAX_VALUE));
+
+        json.writeArrayFieldStart("listRoomTypes");
+        for (int index = skip; index < Math.min(Math.min(roomTypes, rooms), skip + take); index++) {
+            int roomTypeId = roomTypeId(propertyId, index);
+            json.writeStartObject();
+            json.writeNumberField("room_type_id", roomTypeId);
+            json.writeStringField("room_type_name", "Room type " + roomTypeId);
+            json.writeNumberField("max_capacity", 2 + index % 3);
+            if (!withRates) {
+                json.writeEndObject();
+                continue;
+            }
+            json.writeArrayFieldStart("room_rates");
+            for (long day = fromDay; day <= Math.min(toDay, fromDay + ratesTake - 1); day++) {
+                json.writeStartObject();
+                json.writeObjectFieldStart("room_rate");
+                json.writeFieldName("basic_nightly_rate");
+                json.writeNumber(rate(roomTypeId, day));
+                json.writeStringField("date", LocalDate.ofEpochDay(day) + "T00:00:00.000Z");
+                json.writeEndObject();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+    }
+
+    /**
+     * Mappings are ordered by room rate and then room type, as the backend's query asks for
+     */
+    private void writeRates(JsonGenerator json, JsonNode variables) throws IOException {
+        List<Integer> roomTypeIds = new ArrayList<>();
+        variables.path("roomTypeIds").forEach(id -> roomTypeIds.add(id.asInt()));
+        roomTypeIds.sort(null);
+        long fromDay = Math.max(firstEpochDay, epochDay(variables.path("startDate"), firstEpochDay));
+        long toDay = Math.min(firstEpochDay + rateDays - 1, epochDay(variables.path("endDate"), Long.MAX_VALUE));
+        long skip = variables.path("skip").asInt(0);
+        long take = variables.path("take").asInt(Integer.MAX_VALUE);
+
+        json.writeArrayFieldStart("listRoomRateRoomTypeMappings");
+        long days = Math.max(0, toDay - fromDay + 1);
+        long total = days * roomTypeIds.size();
+        for (long row = skip; row < Math.min(total, skip + take); row++) {
+            long day = fromDay + row / roomTypeIds.size();
+            int roomTypeId = roomTypeIds.get((int) (row % roomTypeIds.size()));
+            json.writeStartObject();
+            json.writeObjectFieldStart("room_rate");
+            json.writeFieldName("basic_nightly_rate");
+            json.writeNumber(rate(roomTypeId, day));
+            json.writeStringField("date", LocalDate.ofEpochDay(day) + "T00:00:00.000Z");
+            json.writeNumberField("room_rate_id", day);
+            json.writeEndObject();
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+    }
+
+    private void writeProperties(JsonGenerator json, JsonNode variables) throws IOException {
+        json.writeArrayFieldStart("listProperties");
+        for (JsonNode id : variables.path("propertyIds")) {
+            int propertyId = id.asInt();
+            json.writeStartObject();
+            json.writeNumberField("property_id", propertyId);
+            json.writeStringField("property_name", "Property " + propertyId);
+            json.writeStringField("property_address", propertyId + " Example Street, Springfield");
+            json.writeStringField("contact_number", "+1-555-" + String.format("%04d", propertyId % 10_000));
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+    }
+
+    private static int roomTypeId(int propertyId, int index) {
+        return propertyId * 100 + index;
+    }
+
+    /**
+     * A stable rate between 80.00 and 279.99 for a room type and day
+     */
+    private static BigDecimal rate(int roomTypeId, long day) {
+        long hash = (roomTypeId * 0x9E3779B97F4A7C15L) ^ (day * 0xC2B2AE3D27D4EB4FL);
+        hash ^= hash >>> 31;
+        return BigDecimal.valueOf(8_000 + Math.floorMod(hash, 20_000), 2);
+    }
+
+    private static long epochDay(JsonNode dateTime, long defaultValue) {
+        if (!dateTime.isTextual()) {
+            return defaultValue;
+        }
+        return Instant.parse(dateTime.asText()).atOffset(ZoneOffset.UTC).toLocalDate().toEpochDay();
+    }
+}
@@ -0,0 +1,254 @@
+package com.kdu.rizzlers.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives one endpoint of the backend with a fixed number of concurrent clients and reports throughput and
+ * latency percentiles.
+ * <p>
+ * Without {@code --rate} every client sends its next request as soon as the previous one completes (closed
+ * loop). With {@code --rate} requests are started on a fixed schedule and latency is measured from the time a
+ * request was due rather than the time it was sent, so a stalled server shows up in the percentiles instead of
+ * silently lowering the request rate.
+ * <p>
+ * Options:
+ * <ul>
+ *     <li>{@code --base-url} (http://localhost:8080)</li>
+ *     <li>{@code --scenario}: {@code daily-rates} (default), {@code landing} or {@code landing-basic}</li>
+ *     <li>{@code --tenant-id} (1), {@code --properties} (1-50): property IDs are picked at random from the range</li>
+ *     <li>{@code --months} (3): length of the daily rates window, starting at a random month of {@code --year}
+ *     (2025)</li>
+ *     <li>{@code --concurrency} (16), {@code --rate} (requests per second, unset for closed loop)</li>
+ *     <li>{@code --warmup} (10s), {@code --duration} (30s), {@code --timeout} (10s)</li>
+ *     <li>{@code --output} (target/loadtest-results.jsonl) and {@code --label}: each run appends one JSON line,
+ *     so runs of different commits can be compared</li>
+ * </ul>
+ */
+public final class LoadDriver {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String scenario;
+    private final int tenantId;
+    private final int firstPropertyId;
+    private final int lastPropertyId;
+    private final int months;
+    private final int year;
+    private final Duration timeout;
+
+    private LoadDriver(LoadTest.Options options) {
+        this.baseUrl = options.string("base-url", "http://localhost:8080");
+        this.scenario = options.string("scenario", "daily-rates");
+        this.tenantId = options.integer("tenant-id", 1);
+        String[] properties = options.string("properties", "1-50").split("-");
+        this.firstPropertyId = Integer.parseInt(properties[0]);
+        this.lastPropertyId = Integer.parseInt(properties[properties.length - 1]);
+        this.months = options.integer("months", 3);
+        this.year = options.integer("year", 2025);
+        this.timeout = options.duration("timeout", Duration.ofSeconds(10));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    public static void run(LoadTest.Options options) throws Exception {
+        LoadDriver driver = new LoadDriver(options);
+        int concurrency = options.integer("concurrency", 16);
+        double rate = options.decimal("rate", 0);
+        Duration warmup = options.duration("warmup", Duration.ofSeconds(10));
+        Duration duration = options.duration("duration", Duration.ofSeconds(30));
+
+        System.out.printf("Driving %s at %s with %d clients%s: %s warm-up, %s measured%n", driver.scenario,
+                driver.baseUrl, concurrency, rate > 0 ? String.format(" at %.0f req/s", rate) : "", warmup, duration);
+        if (!warmup.isZero()) {
+            driver.drive(concurrency, rate, warmup);
+        }
+        Result result = driver.drive(concurrency, rate, duration);
+
+        ObjectNode line = result.toJson(OBJECT_MAPPER);
+        line.put("timestamp", Instant.now().toString());
+        line.put("label", options.string("label", ""));
+        line.put("scenario", driver.scenario);
+        line.put("concurrency", concurrency);
+        line.put("targetRate", rate);
+        System.out.println(OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(line));
+
+        Path output = Path.of(options.string("output", "target/loadtest-results.jsonl"));
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        Files.writeString(output, OBJECT_MAPPER.writeValueAsString(line) + System.lineSeparator(),
+                StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        System.out.println("Appended results to " + output.toAbsolutePath());
+    }
+
+    private Result drive(int concurrency, double rate, Duration duration) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        // Each client takes every concurrency-th slot of the overall schedule
+        long intervalNanos = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * concurrency / rate) : 0;
+        try {
+            List<Future<Recorder>> recorders = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                long firstDue = start + (intervalNanos / concurrency) * i;
+                recorders.add(clients.submit(() -> runClient(firstDue, intervalNanos, end)));
+            }
+            Recorder total = new Recorder();
+            for (Future<Recorder> recorder : recorders) {
+                total.addAll(recorder.get());
+            }
+            return total.result(System.nanoTime() - start);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private Recorder runClient(long firstDue, long intervalNanos, long end) {
+        Recorder recorder = new Recorder();
+        long due = firstDue;
+        while (true) {
+            long now = System.nanoTime();
+            if (intervalNanos > 0) {
+                if (due >= end) {
+                    break;
+                }
+                if (due > now) {
+                    LockSupport.parkNanos(due - now);
+                }
+            } else {
+                if (now >= end) {
+                    break;
+                }
+                due = now;
+            }
+            int status;
+            try {
+                HttpResponse<Void> response = client.send(nextRequest(), HttpResponse.BodyHandlers.discarding());
+                status = response.statusCode();
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            recorder.record(System.nanoTime() - due, status);
+            due += intervalNanos;
+        }
+        return recorder;
+    }
+
+    private HttpRequest nextRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String path = switch (scenario) {
+            case "daily-rates" -> {
+                int propertyId = random.nextInt(firstPropertyId, lastPropertyId + 1);
+                LocalDate startDate = LocalDate.of(year, random.nextInt(1, 13), 1);
+                LocalDate endDate = startDate.plusMonths(months).minusDays(1);
+                yield "/room-rates/daily-rates?tenantId=" + tenantId + "&propertyId=" + propertyId
+                        + "&startDate=" + startDate + "&endDate=" + endDate;
+            }
+            case "landing" -> "/tenant-configurations/tenant/" + tenantId + "/landing";
+            case "landing-basic" -> "/tenant-configurations/tenant/" + tenantId + "/landing/basic";
+            default -> throw new IllegalArgumentException("Unknown scenario " + scenario);
+        };
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+    }
+
+    /**
+     * Latencies and status codes seen by one client
+     */
+    private static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long latencyNanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (status < 200 || status >= 400) {
+                errors++;
+            }
+        }
+
+        void addAll(Recorder other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i], 200);
+            }
+            errors += other.errors;
+        }
+
+        Result result(long elapsedNanos) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            double[] percentiles = new double[PERCENTILES.length];
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                percentiles[i] = count == 0 ? 0 : millis(sorted[percentileIndex(PERCENTILES[i], count)]);
+            }
+            double seconds = elapsedNanos / 1e9;
+            return new Result(count, errors, count / seconds, percentiles, count == 0 ? 0 : millis(sorted[count - 1]));
+        }
+
+        private static int percentileIndex(double percentile, int count) {
+            return Math.min(count - 1, (int) Math.ceil(percentile / 100 * count) - 1);
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+
+    private record Result(long requests, long errors, double throughput, double[] percentiles, double maxMillis) {
+
+        ObjectNode toJson(ObjectMapper objectMapper) {
+            ObjectNode json = objectMapper.createObjectNode();
+            json.put("requests", requests);
+            json.put("errors", errors);
+            json.put("throughputPerSecond", round(throughput));
+            ObjectNode latency = json.putObject("latencyMillis");
+            latency.put("p50", round(percentiles[0]));
+            latency.put("p90", round(percentiles[1]));
+            latency.put("p99", round(percentiles[2]));
+            latency.put("p999", round(percentiles[3]));
+            latency.put("max", round(maxMillis));
+            return json;
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.kdu.rizzlers.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Entry point of the load-test harness, run through the {@code loadtest} Maven profile:
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="stub --port 4000 --latency-ms 80 --error-rate 0.01"
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="drive --scenario daily-rates --concurrency 32 --duration 60s"
+ * </pre>
+ * {@code stub} starts {@link GraphQlUpstreamStub}; start the backend against it with
+ * {@code graphql_endpoint=http://localhost:4000/graphql}. {@code drive} runs {@link LoadDriver} against the
+ * backend and appends its results to a file.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: LoadTest stub|drive [--option value ...]");
+            System.exit(2);
+        }
+        Options options = Options.parse(args, 1);
+        switch (args[0]) {
+            case "stub" -> GraphQlUpstreamStub.start(options).awaitTermination();
+            case "drive" -> LoadDriver.run(options);
+            default -> {
+                System.err.println("Unknown command " + args[0] + ", expected stub or drive");
+                System.exit(2);
+            }
+        }
+    }
+
+    /**
+     * {@code --name value} command line options
+     */
+    static final class Options {
+        private final Map<String, String> values;
+
+        private Options(Map<String, String> values) {
+            this.values = values;
+        }
+
+        static Options parse(String[] args, int from) {
+            Map<String, String> values = new HashMap<>();
+            for (int i = from; i < args.length; i++) {
+                if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Expected --name value, got " + args[i]);
+                }
+                values.put(args[i].substring(2), args[++i]);
+            }
+            return new Options(values);
+        }
+
+        String string(String name, String defaultValue) {
+            return values.getOrDefault(name, defaultValue);
+        }
+
+        int integer(String name, int defaultValue) {
+            String value = values.get(name);
+            return value != null ? Integer.parseInt(value) : defaultValue;
+        }
+
+        double decimal(String name, double defaultValue) {
+            String value = values.get(name);
+            return value != null ? Double.parseDouble(value) : defaultValue;
+        }
+
+        /**
+         * A duration such as 500ms, 30s or 2m
+         */
+        Duration duration(String name, Duration defaultValue) {
+            String value = values.get(name);
+            if (value == null) {
+                return defaultValue;
+            }
+            if (value.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+            }
+            long amount = Long.parseLong(value.substring(0, value.length() - 1));
+            return switch (value.charAt(value.length() - 1)) {
+                case 's' -> Duration.ofSeconds(amount);
+                case 'm' -> Duration.ofMinutes(amount);
+                default -> throw new IllegalArgumentException("Unsupported duration " + value);
+            };
+        }
+    }
+}
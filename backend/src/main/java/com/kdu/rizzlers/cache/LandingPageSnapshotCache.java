@@ -0,0 +1,228 @@
+package com.kdu.rizzlers.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.kdu.rizzlers.dto.out.LandingPageConfigResponse;
+import com.kdu.rizzlers.event.TenantDataChangedEvent;
+import com.kdu.rizzlers.util.JsonCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Precomputed landing page configurations, one snapshot per tenant and property detail variant.
+ * <p>
+ * Every tenant has a version number that is bumped whenever a {@link TenantDataChangedEvent} for it is
+ * committed. A snapshot records the version it was assembled from and is only served while that version is
+ * still current, so a snapshot built concurrently with a change is never served once the change is visible.
+ * <p>
+ * A snapshot is serialized to JSON once, and optionally gzipped, when it is assembled, so responses can be
+ * written straight from the stored bytes. Its strong ETag is a SHA-256 digest of the JSON, so a snapshot rebuilt
+ * with identical content keeps its ETag, whether it was rebuilt for its age or after an invalidation, and
+ * changed content never shares one. The gzipped
+ * bytes are a different representation and get their own ETag with a {@code -gz} suffix.
+ * <p>
+ * Snapshots are also rebuilt once they reach the maximum age. This bounds how stale the property details
+ * pulled from GraphQL can get, and picks up changes made directly in the database, which publish no event.
+ * The maximum age is capped at the {@link PropertyDetailsCache}'s refresh window, the time between an entry
+ * becoming due for a background reload and expiring. Under steady traffic a rebuild then reads the property
+ * details inside that window and triggers the reload, instead of finding them expired and waiting on GraphQL.
+ * <p>
+ * Concurrent misses for the same snapshot share a single build, so a popular tenant is assembled once after
+ * an invalidation rather than once per waiting request.
+ * <p>
+ * Cached responses are shared between callers and must not be modified.
+ */
+@Slf4j
+@Component
+public class LandingPageSnapshotCache {
+
+    private final long maxAgeNanos;
+    private final boolean gzipEnabled;
+    private final ConcurrentMap<Integer, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<SnapshotKey, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final SingleFlight<BuildKey, Snapshot> builds;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+
+    public LandingPageSnapshotCache(MeterRegistry meterRegistry,
+                                    @Value("${landing.snapshot.max-age-seconds:600}") long maxAgeSeconds,
+                                    @Value("${landing.snapshot.gzip-enabled:true}") boolean gzipEnabled,
+                                    @Value("${properties.cache.ttl-seconds:600}") long propertyTtlSeconds,
+                                    @Value("${properties.cache.refresh-after-seconds:480}") long propertyRefreshAfterSeconds) {
+        long refreshWindowSeconds = propertyTtlSeconds - Math.min(propertyRefreshAfterSeconds, propertyTtlSeconds);
+        if (refreshWindowSeconds > 0 && maxAgeSeconds > refreshWindowSeconds) {
+            log.warn("Capping landing.snapshot.max-age-seconds at {} so property details are refreshed before they expire",
+                    refreshWindowSeconds);
+            maxAgeSeconds = refreshWindowSeconds;
+        }
+        this.maxAgeNanos = TimeUnit.SECONDS.toNanos(maxAgeSeconds);
+        this.gzipEnabled = gzipEnabled;
+
+        this.builds = new SingleFlight<>("landing-snapshot", meterRegistry);
+
+        this.hits = Counter.builder("landing.snapshot.requests")
+                .tag("result", "hit")
+                .description("Landing page configurations served from a snapshot")
+                .register(meterRegistry);
+        this.misses = Counter.builder("landing.snapshot.requests")
+                .tag("result", "miss")
+                .description("Landing page requests without a current snapshot")
+                .register(meterRegistry);
+        this.invalidations = Counter.builder("landing.snapshot.invalidations")
+                .description("Tenant snapshots discarded because the tenant's data changed")
+                .register(meterRegistry);
+        Gauge.builder("landing.snapshot.size", snapshots, ConcurrentMap::size)
+                .description("Number of landing page snapshots held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the landing page snapshot of a tenant, assembling and storing a new one if there is no current one.
+     * While a snapshot of the same tenant version is being assembled, further callers wait for it instead of
+     * assembling their own.
+     *
+     * @param tenantId The tenant ID
+     * @param withPropertyDetails Whether the snapshot includes property details from GraphQL
+     * @param assembler Builds the configuration from the database
+     * @return The current snapshot of the configuration
+     */
+    public Snapshot get(Integer tenantId, boolean withPropertyDetails, Supplier<LandingPageConfigResponse> assembler) {
+        SnapshotKey key = new SnapshotKey(tenantId, withPropertyDetails);
+        long version = version(tenantId).get();
+
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot != null && snapshot.version() == version
+                && System.nanoTime() - snapshot.builtAt() < maxAgeNanos) {
+            hits.increment();
+            return snapshot;
+        }
+
+        misses.increment();
+        return builds.execute(new BuildKey(key, version), () -> Mono.fromCallable(() -> build(key, version, assembler)))
+                .block();
+    }
+
+    private Snapshot build(SnapshotKey key, long version, Supplier<LandingPageConfigResponse> assembler) {
+        Snapshot built = serialize(key, version, assembler.get());
+        // Never replace a snapshot of a newer version; if the tenant changed while this one was being built,
+        // the stale version it carries keeps it from being served
+        snapshots.merge(key, built, (current, candidate) -> current.version() > candidate.version() ? current : candidate);
+        log.debug("Stored landing page snapshot for tenant {} (version {}, withPropertyDetails={})",
+                key.tenantId(), version, key.withPropertyDetails());
+        return built;
+    }
+
+    /**
+     * Age after which a snapshot is rebuilt even if the tenant did not change
+     */
+    public Duration maxAge() {
+        return Duration.ofNanos(maxAgeNanos);
+    }
+
+    /**
+     * Current snapshot of a tenant's configuration, if any
+     */
+    public Snapshot peek(Integer tenantId, boolean withPropertyDetails) {
+        return snapshots.get(new SnapshotKey(tenantId, withPropertyDetails));
+    }
+
+    /**
+     * Discard the snapshots of a tenant; the next request assembles a new version
+     */
+    public void invalidate(Integer tenantId) {
+        long version = version(tenantId).incrementAndGet();
+        snapshots.remove(new SnapshotKey(tenantId, true));
+        snapshots.remove(new SnapshotKey(tenantId, false));
+        invalidations.increment();
+        log.info("Invalidated landing page snapshots for tenant {}, now at version {}", tenantId, version);
+    }
+
+    /**
+     * Invalidate a tenant's snapshots once the change that triggered the event is committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTenantDataChanged(TenantDataChangedEvent event) {
+        log.debug("{} changed for tenant {}", event.source(), event.tenantId());
+        invalidate(event.tenantId());
+    }
+
+    private Snapshot serialize(SnapshotKey key, long version, LandingPageConfigResponse configuration) {
+        byte[] json;
+        try {
+            json = JsonCodec.LANDING_PAGE_WRITER.writeValueAsBytes(configuration);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize landing page configuration for tenant " + key.tenantId(), e);
+        }
+
+        String tag = key.tenantId() + "-" + (key.withPropertyDetails() ? "full" : "basic") + "-" + digest(json);
+
+        return gzipEnabled
+                ? new Snapshot(version, System.nanoTime(), configuration, json, gzip(json), "\"" + tag + "\"", "\"" + tag + "-gz\"")
+                : new Snapshot(version, System.nanoTime(), configuration, json, null, "\"" + tag + "\"", null);
+    }
+
+    private static String digest(byte[] data) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private AtomicLong version(Integer tenantId) {
+        return versions.computeIfAbsent(tenantId, id -> new AtomicLong());
+    }
+
+    /**
+     * An assembled landing page configuration and its serialized form
+     *
+     * @param version The tenant version it was assembled from
+     * @param builtAt When it was assembled, as {@link System#nanoTime()}
+     * @param configuration The configuration
+     * @param json The configuration as UTF-8 JSON
+     * @param gzippedJson The JSON gzip-compressed, or null if compression is disabled
+     * @param etag Strong entity tag of the JSON, including the quotes
+     * @param gzippedEtag Strong entity tag of the gzipped JSON, or null if compression is disabled
+     */
+    public record Snapshot(long version, long builtAt, LandingPageConfigResponse configuration,
+                           byte[] json, byte[] gzippedJson, String etag, String gzippedEtag) {
+    }
+
+    private record SnapshotKey(Integer tenantId, boolean withPropertyDetails) {
+    }
+
+    private record BuildKey(SnapshotKey snapshot, long version) {
+    }
+}
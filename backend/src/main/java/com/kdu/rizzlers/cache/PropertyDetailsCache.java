@@ -0,0 +1,205 @@
+package com.kdu.rizzlers.cache;
+
+import com.kdu.rizzlers.dto.out.PropertyResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * In-process cache of property details fetched from the GraphQL API, keyed by property ID.
+ * <p>
+ * The cache is refresh-ahead: once an entry is older than the refresh threshold it is still served, but the
+ * lookup reports it as due so the caller can reload it in the background. Entries that keep being read are
+ * therefore reloaded before they expire, and a lookup only has to wait on the upstream API for properties
+ * that are not cached at all. The least recently used entry is evicted once the cache is full.
+ * Concurrent lookups that miss the same properties share a single load, see {@link #load}.
+ * <p>
+ * Cached responses are shared between callers and must not be modified.
+ */
+@Slf4j
+@Component
+public class PropertyDetailsCache {
+
+    private final long ttlNanos;
+    private final long refreshAfterNanos;
+    private final int maxEntries;
+    private final Map<Integer, CacheEntry> entries;
+    private final SingleFlight<List<Integer>, List<PropertyResponse>> loads;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter refreshSuccesses;
+    private final Counter refreshFailures;
+
+    public PropertyDetailsCache(MeterRegistry meterRegistry,
+                                @Value("${properties.cache.ttl-seconds:600}") long ttlSeconds,
+                                @Value("${properties.cache.refresh-after-seconds:480}") long refreshAfterSeconds,
+                                @Value("${properties.cache.max-entries:5000}") int maxEntries) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.refreshAfterNanos = TimeUnit.SECONDS.toNanos(Math.min(refreshAfterSeconds, ttlSeconds));
+        this.maxEntries = maxEntries;
+        // Access-ordered so the eldest entry is always the least recently used one
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CacheEntry> eldest) {
+                if (size() > PropertyDetailsCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.loads = new SingleFlight<>("property-details", meterRegistry);
+
+        this.hits = Counter.builder("property.details.cache.requests")
+                .tag("result", "hit")
+                .description("Property detail lookups served from memory")
+                .register(meterRegistry);
+        this.misses = Counter.builder("property.details.cache.requests")
+                .tag("result", "miss")
+                .description("Property detail lookups that required an upstream fetch")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("property.details.cache.evictions")
+                .description("Property details evicted because the cache was full")
+                .register(meterRegistry);
+        this.refreshSuccesses = Counter.builder("property.details.cache.refreshes")
+                .tag("result", "success")
+                .description("Property details reloaded in the background")
+                .register(meterRegistry);
+        this.refreshFailures = Counter.builder("property.details.cache.refreshes")
+                .tag("result", "failure")
+                .description("Background reloads that did not return the property")
+                .register(meterRegistry);
+        Gauge.builder("property.details.cache.size", this, PropertyDetailsCache::size)
+                .description("Number of cached property details")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Look up the details of several properties at once.
+     * Entries past the refresh threshold are returned as well and reported as due for refresh; each one is
+     * reported to a single caller until it is {@link #put(PropertyResponse) reloaded} or
+     * {@link #refreshFailed(Collection) released}.
+     *
+     * @param propertyIds The property IDs
+     * @return The cached details, and the IDs the caller should reload in the background
+     */
+    public synchronized Lookup getAll(Collection<Integer> propertyIds) {
+        Map<Integer, PropertyResponse> found = new HashMap<>();
+        Set<Integer> dueForRefresh = new HashSet<>();
+        long now = System.nanoTime();
+        for (Integer propertyId : propertyIds) {
+            CacheEntry entry = entries.get(propertyId);
+            if (entry != null && now - entry.loadedAt >= ttlNanos) {
+                entries.remove(propertyId);
+                entry = null;
+            }
+            if (entry == null) {
+                misses.increment();
+                continue;
+            }
+            hits.increment();
+            found.put(propertyId, entry.property);
+            if (!entry.refreshing && now - entry.loadedAt >= refreshAfterNanos) {
+                entry.refreshing = true;
+                dueForRefresh.add(propertyId);
+            }
+        }
+        return new Lookup(found, dueForRefresh);
+    }
+
+    /**
+     * Load the details of properties that were not found in the cache, and cache them.
+     * Loads are keyed on the set of IDs, regardless of order and duplicates; while one is in flight, further
+     * loads of the same set wait for its result instead of calling upstream again.
+     *
+     * @param propertyIds The IDs to load
+     * @param loader Fetches the details of the given distinct IDs, passed in ascending order
+     * @return The loaded details; properties upstream did not return are left out
+     */
+    public Mono<List<PropertyResponse>> load(Collection<Integer> propertyIds,
+                                             Function<List<Integer>, Mono<List<PropertyResponse>>> loader) {
+        List<Integer> key = propertyIds.stream().distinct().sorted().toList();
+        return loads.execute(key, () -> loader.apply(key)
+                .doOnNext(properties -> properties.forEach(this::put)));
+    }
+
+    /**
+     * Cache the details of a property, replacing any previous entry
+     */
+    public synchronized void put(PropertyResponse property) {
+        CacheEntry previous = entries.put(property.getPropertyId(), new CacheEntry(property, System.nanoTime()));
+        if (previous != null && previous.refreshing) {
+            refreshSuccesses.increment();
+        }
+    }
+
+    /**
+     * Release properties whose background reload failed, so a later lookup reports them as due again.
+     * Their current details keep being served until they expire.
+     */
+    public synchronized void refreshFailed(Collection<Integer> propertyIds) {
+        for (Integer propertyId : propertyIds) {
+            CacheEntry entry = entries.get(propertyId);
+            if (entry != null && entry.refreshing) {
+                entry.refreshing = false;
+                refreshFailures.increment();
+            }
+        }
+    }
+
+    /**
+     * Drop the cached details of a property so the next lookup reloads them
+     */
+    public synchronized void invalidate(Integer propertyId) {
+        if (entries.remove(propertyId) != null) {
+            log.info("Invalidated cached details for property {}", propertyId);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        log.info("Invalidating {} cached property details", entries.size());
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Result of {@link #getAll(Collection)}
+     *
+     * @param found Cached details by property ID; absent and expired properties are left out
+     * @param dueForRefresh IDs of returned properties that should be reloaded in the background
+     */
+    public record Lookup(Map<Integer, PropertyResponse> found, Set<Integer> dueForRefresh) {
+    }
+
+    private static final class CacheEntry {
+        private final PropertyResponse property;
+        private final long loadedAt;
+        // Guarded by the cache lock; set while a caller is reloading this entry
+        private boolean refreshing;
+
+        private CacheEntry(PropertyResponse property, long loadedAt) {
+            this.property = property;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
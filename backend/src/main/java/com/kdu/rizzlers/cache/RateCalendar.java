@@ -0,0 +1,179 @@
+package com.kdu.rizzlers.cache;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Immutable minimum-rate calendar for a single property.
+ * Rates are stored densely in a primitive array indexed by the offset from the first epoch day,
+ * with {@link Double#NaN} marking dates that have no rate.
+ */
+public final class RateCalendar {
+
+    private static final RateCalendar EMPTY = new RateCalendar(0L, new double[0], 0);
+
+    private final long firstEpochDay;
+    private final double[] rates;
+    private final int rateCount;
+
+    private RateCalendar(long firstEpochDay, double[] rates, int rateCount) {
+        this.firstEpochDay = firstEpochDay;
+        this.rates = rates;
+        this.rateCount = rateCount;
+    }
+
+    public static RateCalendar empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean isEmpty() {
+        return rateCount == 0;
+    }
+
+    /**
+     * @return Number of dates that carry a rate
+     */
+    public int size() {
+        return rateCount;
+    }
+
+    /**
+     * @return Number of days spanned from the first to the last date, including gaps
+     */
+    public int span() {
+        return rates.length;
+    }
+
+    public long getFirstEpochDay() {
+        return firstEpochDay;
+    }
+
+    public long getLastEpochDay() {
+        return firstEpochDay + rates.length - 1;
+    }
+
+    public LocalDate getFirstDate() {
+        return isEmpty() ? null : LocalDate.ofEpochDay(firstEpochDay);
+    }
+
+    public LocalDate getLastDate() {
+        return isEmpty() ? null : LocalDate.ofEpochDay(getLastEpochDay());
+    }
+
+    /**
+     * Get the minimum rate for a day
+     *
+     * @param epochDay The day as returned by {@link LocalDate#toEpochDay()}
+     * @return The minimum rate, or {@link Double#NaN} if the day has no rate
+     */
+    public double rateAt(long epochDay) {
+        long offset = epochDay - firstEpochDay;
+        if (offset < 0 || offset >= rates.length) {
+            return Double.NaN;
+        }
+        return rates[(int) offset];
+    }
+
+    public boolean hasRate(long epochDay) {
+        return !Double.isNaN(rateAt(epochDay));
+    }
+
+    /**
+     * Accumulates rates into a growable dense array, keeping the minimum rate seen for each day.
+     * Not thread-safe.
+     */
+    public static final class Builder {
+        private static final int INITIAL_CAPACITY = 64;
+
+        private long firstEpochDay;
+        private double[] rates;
+        private int rateCount;
+
+        private Builder() {
+        }
+
+        public Builder accept(LocalDate date, double rate) {
+            return accept(date.toEpochDay(), rate);
+        }
+
+        public Builder accept(long epochDay, double rate) {
+            if (Double.isNaN(rate)) {
+                return this;
+            }
+            int index = ensureIndex(epochDay);
+            double existing = rates[index];
+            if (Double.isNaN(existing)) {
+                rates[index] = rate;
+                rateCount++;
+            } else if (rate < existing) {
+                rates[index] = rate;
+            }
+            return this;
+        }
+
+        /**
+         * Folds every rate of another builder into this one, keeping the per-day minimum
+         */
+        public Builder merge(Builder other) {
+            if (other.rates == null) {
+                return this;
+            }
+            for (int i = 0; i < other.rates.length; i++) {
+                accept(other.firstEpochDay + i, other.rates[i]);
+            }
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return rateCount == 0;
+        }
+
+        public RateCalendar build() {
+            if (rateCount == 0) {
+                return EMPTY;
+            }
+            int first = 0;
+            while (Double.isNaN(rates[first])) {
+                first++;
+            }
+            int last = rates.length - 1;
+            while (Double.isNaN(rates[last])) {
+                last--;
+            }
+            return new RateCalendar(firstEpochDay + first, Arrays.copyOfRange(rates, first, last + 1), rateCount);
+        }
+
+        private int ensureIndex(long epochDay) {
+            if (rates == null) {
+                rates = newRateArray(INITIAL_CAPACITY);
+                // Leave head room so dates slightly earlier than the first one do not force a shift
+                firstEpochDay = epochDay - INITIAL_CAPACITY / 4;
+            }
+            long offset = epochDay - firstEpochDay;
+            if (offset < 0) {
+                int shift = (int) Math.max(-offset, rates.length / 2);
+                double[] grown = newRateArray(rates.length + shift);
+                System.arraycopy(rates, 0, grown, shift, rates.length);
+                rates = grown;
+                firstEpochDay -= shift;
+                offset += shift;
+            } else if (offset >= rates.length) {
+                int capacity = (int) Math.max(offset + 1, rates.length * 2L);
+                double[] grown = newRateArray(capacity);
+                System.arraycopy(rates, 0, grown, 0, rates.length);
+                rates = grown;
+            }
+            return (int) offset;
+        }
+
+        private static double[] newRateArray(int capacity) {
+            double[] array = new double[capacity];
+            Arrays.fill(array, Double.NaN);
+            return array;
+        }
+    }
+}
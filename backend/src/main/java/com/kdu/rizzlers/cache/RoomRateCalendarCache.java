@@ -0,0 +1,246 @@
+package com.kdu.rizzlers.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache of minimum-rate calendars keyed by property ID.
+ * Each entry remembers the date window it was loaded for, so a lookup only hits when the cached
+ * window covers the requested one. A calendar loaded for a window that overlaps or adjoins the cached one is
+ * merged into it, and a narrower window never replaces a wider one, so requests for different months of the
+ * same property build up one entry instead of evicting each other. Entries expire after a fixed TTL and the
+ * least recently used entry is evicted once the cache is full.
+ * <p>
+ * Concurrent misses for the same property and window share a single load, see {@link #getOrLoad}.
+ * A load that was started before its property was invalidated is neither cached nor joined by later misses, so
+ * an invalidation is never undone by a calendar fetched before it. Invalidating one property does not affect
+ * loads of the others.
+ */
+@Slf4j
+@Component
+public class RoomRateCalendarCache {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<Integer, CacheEntry> entries;
+    private final SingleFlight<LoadKey, RateCalendar> loads;
+    // Guarded by the cache lock. A property's generation is bumped when it is invalidated, the epoch when all
+    // are; the map only holds properties invalidated since the last invalidateAll
+    private final Map<Integer, Long> generations = new HashMap<>();
+    private long epoch;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public RoomRateCalendarCache(MeterRegistry meterRegistry,
+                                 @Value("${room-rates.cache.ttl-seconds:300}") long ttlSeconds,
+                                 @Value("${room-rates.cache.max-entries:500}") int maxEntries) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxEntries = maxEntries;
+        // Access-ordered so the eldest entry is always the least recently used one
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CacheEntry> eldest) {
+                if (size() > RoomRateCalendarCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.loads = new SingleFlight<>("room-rate-calendar", meterRegistry);
+
+        this.hits = Counter.builder("room.rate.calendar.cache.requests")
+                .tag("result", "hit")
+                .description("Rate calendar lookups served from memory")
+                .register(meterRegistry);
+        this.misses = Counter.builder("room.rate.calendar.cache.requests")
+                .tag("result", "miss")
+                .description("Rate calendar lookups that required an upstream fetch")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("room.rate.calendar.cache.evictions")
+                .description("Rate calendars evicted because the cache was full")
+                .register(meterRegistry);
+        Gauge.builder("room.rate.calendar.cache.size", this, RoomRateCalendarCache::size)
+                .description("Number of cached rate calendars")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the cached calendar for a property
+     *
+     * @param propertyId The property ID
+     * @param startDate First date that must be covered, or null for no lower bound
+     * @param endDate Last date that must be covered, or null for no upper bound
+     * @return The cached calendar, or null if absent, expired or loaded for a narrower window
+     */
+    public synchronized RateCalendar get(Integer propertyId, LocalDate startDate, LocalDate endDate) {
+        CacheEntry entry = entries.get(propertyId);
+        if (entry == null || !entry.covers(toLowerBound(startDate), toUpperBound(endDate))) {
+            misses.increment();
+            return null;
+        }
+        if (System.nanoTime() - entry.loadedAt() >= ttlNanos) {
+            entries.remove(propertyId);
+            misses.increment();
+            log.debug("Rate calendar for property {} expired", propertyId);
+            return null;
+        }
+        hits.increment();
+        return entry.calendar();
+    }
+
+    /**
+     * Get the cached calendar for a property, loading it on a miss.
+     * While a load is in flight, further misses for the same property and window wait for its result instead
+     * of starting their own. Empty calendars are not cached so that upstream failures are retried on the next
+     * request.
+     *
+     * @param propertyId The property ID
+     * @param startDate First date that must be covered, or null for no lower bound
+     * @param endDate Last date that must be covered, or null for no upper bound
+     * @param loader Fetches the calendar for the window from upstream
+     * @return The cached or loaded calendar
+     */
+    public Mono<RateCalendar> getOrLoad(Integer propertyId, LocalDate startDate, LocalDate endDate,
+                                        Supplier<Mono<RateCalendar>> loader) {
+        return Mono.defer(() -> {
+            RateCalendar cached = get(propertyId, startDate, endDate);
+            if (cached != null) {
+                log.debug("Serving rate calendar for property {} from cache", propertyId);
+                return Mono.just(cached);
+            }
+
+            LoadKey key = loadKey(propertyId, startDate, endDate);
+            return loads.execute(key, () -> loader.get()
+                    .doOnNext(calendar -> {
+                        if (!calendar.isEmpty()) {
+                            putIfNotInvalidatedSince(key, calendar, startDate, endDate);
+                        }
+                    }));
+        });
+    }
+
+    /**
+     * Cache a calendar for a property.
+     * A current entry whose window covers the calendar's is kept. One whose window overlaps or adjoins it is
+     * merged with it, the calendar's rates taking precedence inside its window. Otherwise the calendar replaces
+     * the current entry, unless that one spans a wider window.
+     *
+     * @param propertyId The property ID
+     * @param calendar The calendar loaded for the given window
+     * @param startDate First date of the window the calendar was loaded for, or null for no lower bound
+     * @param endDate Last date of the window the calendar was loaded for, or null for no upper bound
+     */
+    public synchronized void put(Integer propertyId, RateCalendar calendar, LocalDate startDate, LocalDate endDate) {
+        long now = System.nanoTime();
+        CacheEntry loaded = new CacheEntry(calendar, toLowerBound(startDate), toUpperBound(endDate), now);
+        CacheEntry current = entries.get(propertyId);
+        if (current == null || now - current.loadedAt() >= ttlNanos || loaded.covers(current.fromEpochDay(), current.toEpochDay())) {
+            entries.put(propertyId, loaded);
+        } else if (current.covers(loaded.fromEpochDay(), loaded.toEpochDay())) {
+            log.debug("Keeping the wider rate calendar cached for property {}", propertyId);
+        } else if (loaded.overlapsOrAdjoins(current)) {
+            entries.put(propertyId, current.mergedWith(loaded));
+        } else if (width(loaded) > width(current)) {
+            entries.put(propertyId, loaded);
+        }
+    }
+
+    private synchronized void putIfNotInvalidatedSince(LoadKey key, RateCalendar calendar,
+                                                       LocalDate startDate, LocalDate endDate) {
+        if (key.epoch() != epoch || key.generation() != generation(key.propertyId())) {
+            log.debug("Not caching rate calendar for property {} loaded before an invalidation", key.propertyId());
+            return;
+        }
+        put(key.propertyId(), calendar, startDate, endDate);
+    }
+
+    /**
+     * Drop the cached calendar for a property so the next lookup reloads it
+     */
+    public synchronized void invalidate(Integer propertyId) {
+        generations.merge(propertyId, 1L, Long::sum);
+        if (entries.remove(propertyId) != null) {
+            log.info("Invalidated rate calendar for property {}", propertyId);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        epoch++;
+        generations.clear();
+        log.info("Invalidating {} cached rate calendars", entries.size());
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized LoadKey loadKey(Integer propertyId, LocalDate startDate, LocalDate endDate) {
+        return new LoadKey(propertyId, toLowerBound(startDate), toUpperBound(endDate), epoch, generation(propertyId));
+    }
+
+    private long generation(Integer propertyId) {
+        return generations.getOrDefault(propertyId, 0L);
+    }
+
+    private static long toLowerBound(LocalDate date) {
+        return date == null ? Long.MIN_VALUE : date.toEpochDay();
+    }
+
+    private static long toUpperBound(LocalDate date) {
+        return date == null ? Long.MAX_VALUE : date.toEpochDay();
+    }
+
+    private record LoadKey(Integer propertyId, long fromEpochDay, long toEpochDay, long epoch, long generation) {
+    }
+
+    private static double width(CacheEntry entry) {
+        return (double) entry.toEpochDay() - entry.fromEpochDay();
+    }
+
+    private record CacheEntry(RateCalendar calendar, long fromEpochDay, long toEpochDay, long loadedAt) {
+        boolean covers(long from, long to) {
+            return fromEpochDay <= from && toEpochDay >= to;
+        }
+
+        boolean overlapsOrAdjoins(CacheEntry other) {
+            return (fromEpochDay <= other.toEpochDay && other.fromEpochDay <= toEpochDay)
+                    || (toEpochDay != Long.MAX_VALUE && toEpochDay + 1 == other.fromEpochDay)
+                    || (other.toEpochDay != Long.MAX_VALUE && other.toEpochDay + 1 == fromEpochDay);
+        }
+
+        /**
+         * The entry for the union of both windows, with the newer entry's rates inside its window.
+         * It keeps the older load time, so no rate outlives the TTL.
+         */
+        CacheEntry mergedWith(CacheEntry newer) {
+            RateCalendar.Builder merged = RateCalendar.builder();
+            for (long day = calendar.getFirstEpochDay(); !calendar.isEmpty() && day <= calendar.getLastEpochDay(); day++) {
+                if (day < newer.fromEpochDay || day > newer.toEpochDay) {
+                    merged.accept(day, calendar.rateAt(day));
+                }
+            }
+            for (long day = newer.calendar.getFirstEpochDay(); !newer.calendar.isEmpty() && day <= newer.calendar.getLastEpochDay(); day++) {
+                merged.accept(day, newer.calendar.rateAt(day));
+            }
+            return new CacheEntry(merged.build(), Math.min(fromEpochDay, newer.fromEpochDay),
+                    Math.max(toEpochDay, newer.toEpochDay), Math.min(loadedAt, newer.loadedAt));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.kdu.rizzlers.cache;
+
+import com.kdu.rizzlers.dto.graphql.RoomType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The room types of one property, held as parallel arrays sorted by room type ID.
+ * Immutable, so one instance can be shared by all readers.
+ */
+public final class RoomTypeCatalog {
+
+    /**
+     * Capacity of room types the upstream API did not report one for
+     */
+    public static final int UNKNOWN_CAPACITY = 0;
+
+    private static final RoomTypeCatalog EMPTY = new RoomTypeCatalog(new int[0], new String[0], new int[0]);
+
+    private final int[] roomTypeIds;
+    private final String[] names;
+    private final int[] maxCapacities;
+
+    private RoomTypeCatalog(int[] roomTypeIds, String[] names, int[] maxCapacities) {
+        this.roomTypeIds = roomTypeIds;
+        this.names = names;
+        this.maxCapacities = maxCapacities;
+    }
+
+    public static RoomTypeCatalog empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build a catalog from upstream room types; entries without an ID are skipped and duplicate IDs are
+     * kept once
+     */
+    public static RoomTypeCatalog of(Collection<RoomType> roomTypes) {
+        List<RoomType> sorted = new ArrayList<>(roomTypes.size());
+        for (RoomType roomType : roomTypes) {
+            if (roomType != null && roomType.getRoomTypeId() != null) {
+                sorted.add(roomType);
+            }
+        }
+        sorted.sort(Comparator.comparing(RoomType::getRoomTypeId));
+
+        int[] ids = new int[sorted.size()];
+        String[] names = new String[sorted.size()];
+        int[] capacities = new int[sorted.size()];
+        int size = 0;
+        for (RoomType roomType : sorted) {
+            if (size > 0 && ids[size - 1] == roomType.getRoomTypeId()) {
+                continue;
+            }
+            ids[size] = roomType.getRoomTypeId();
+            names[size] = roomType.getRoomTypeName();
+            capacities[size] = roomType.getMaxCapacity() != null ? roomType.getMaxCapacity() : UNKNOWN_CAPACITY;
+            size++;
+        }
+        if (size == 0) {
+            return EMPTY;
+        }
+        return new RoomTypeCatalog(Arrays.copyOf(ids, size), Arrays.copyOf(names, size), Arrays.copyOf(capacities, size));
+    }
+
+    public boolean isEmpty() {
+        return roomTypeIds.length == 0;
+    }
+
+    public int size() {
+        return roomTypeIds.length;
+    }
+
+    /**
+     * The room type IDs in ascending order, as query variables
+     */
+    public List<Integer> roomTypeIds() {
+        List<Integer> ids = new ArrayList<>(roomTypeIds.length);
+        for (int id : roomTypeIds) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    public boolean contains(int roomTypeId) {
+        return Arrays.binarySearch(roomTypeIds, roomTypeId) >= 0;
+    }
+
+    /**
+     * @return The name of the room type, or null if it is not in the catalog or has no name
+     */
+    public String name(int roomTypeId) {
+        int index = Arrays.binarySearch(roomTypeIds, roomTypeId);
+        return index >= 0 ? names[index] : null;
+    }
+
+    /**
+     * @return The maximum capacity of the room type, or {@link #UNKNOWN_CAPACITY} if it is not in the catalog or
+     * has none
+     */
+    public int maxCapacity(int roomTypeId) {
+        int index = Arrays.binarySearch(roomTypeIds, roomTypeId);
+        return index >= 0 ? maxCapacities[index] : UNKNOWN_CAPACITY;
+    }
+}
@@ -0,0 +1,174 @@
+package com.kdu.rizzlers.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process cache of room type catalogs keyed by property ID.
+ * <p>
+ * A property's room types rarely change, so entries live for a long TTL and are kept current by a scheduled
+ * refresh rather than by expiry, see {@link com.kdu.rizzlers.service.RoomTypeCatalogService}. The refresh only
+ * reloads catalogs that were read since the previous one, so catalogs of properties nobody asks for any more
+ * expire instead of being reloaded forever. The least recently used entry is evicted once the cache is full.
+ */
+@Slf4j
+@Component
+public class RoomTypeCatalogCache {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<Integer, CacheEntry> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter refreshSuccesses;
+    private final Counter refreshFailures;
+
+    public RoomTypeCatalogCache(MeterRegistry meterRegistry,
+                                @Value("${room-types.cache.ttl-seconds:86400}") long ttlSeconds,
+                                @Value("${room-types.cache.max-entries:5000}") int maxEntries) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxEntries = maxEntries;
+        // Access-ordered so the eldest entry is always the least recently used one
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CacheEntry> eldest) {
+                if (size() > RoomTypeCatalogCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.hits = Counter.builder("room.type.catalog.cache.requests")
+                .tag("result", "hit")
+                .description("Room type catalog lookups served from memory")
+                .register(meterRegistry);
+        this.misses = Counter.builder("room.type.catalog.cache.requests")
+                .tag("result", "miss")
+                .description("Room type catalog lookups that required an upstream fetch")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("room.type.catalog.cache.evictions")
+                .description("Room type catalogs evicted because the cache was full")
+                .register(meterRegistry);
+        this.refreshSuccesses = Counter.builder("room.type.catalog.cache.refreshes")
+                .tag("result", "success")
+                .description("Room type catalogs reloaded by a scheduled or manual refresh")
+                .register(meterRegistry);
+        this.refreshFailures = Counter.builder("room.type.catalog.cache.refreshes")
+                .tag("result", "failure")
+                .description("Room type catalog reloads that failed")
+                .register(meterRegistry);
+        Gauge.builder("room.type.catalog.cache.size", this, RoomTypeCatalogCache::size)
+                .description("Number of cached room type catalogs")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the cached room types of a property
+     *
+     * @return The cached catalog, or null if absent or expired
+     */
+    public synchronized RoomTypeCatalog get(Integer propertyId) {
+        CacheEntry entry = entries.get(propertyId);
+        if (entry != null && System.nanoTime() - entry.loadedAt >= ttlNanos) {
+            entries.remove(propertyId);
+            log.debug("Room type catalog for property {} expired", propertyId);
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        entry.read = true;
+        return entry.catalog;
+    }
+
+    /**
+     * Cache the room types of a property, replacing any previous entry
+     */
+    public synchronized void put(Integer propertyId, RoomTypeCatalog catalog) {
+        entries.put(propertyId, new CacheEntry(catalog, System.nanoTime()));
+    }
+
+    /**
+     * Cache the room types of a property that were reloaded by a refresh
+     */
+    public void refreshed(Integer propertyId, RoomTypeCatalog catalog) {
+        put(propertyId, catalog);
+        refreshSuccesses.increment();
+    }
+
+    /**
+     * Record a failed refresh; the current catalog keeps being served until it expires
+     */
+    public void refreshFailed(Integer propertyId) {
+        log.debug("Refresh of the room type catalog for property {} failed", propertyId);
+        refreshFailures.increment();
+    }
+
+    /**
+     * IDs of the properties whose cached catalog was read since the previous call, for a scheduled refresh.
+     * Marks the returned catalogs as unread again.
+     */
+    public synchronized List<Integer> takeReadPropertyIds() {
+        List<Integer> propertyIds = new ArrayList<>();
+        for (Map.Entry<Integer, CacheEntry> entry : entries.entrySet()) {
+            if (entry.getValue().read) {
+                entry.getValue().read = false;
+                propertyIds.add(entry.getKey());
+            }
+        }
+        return propertyIds;
+    }
+
+    /**
+     * IDs of the properties with a cached catalog, for refreshing them
+     */
+    public synchronized List<Integer> propertyIds() {
+        return List.copyOf(entries.keySet());
+    }
+
+    /**
+     * Drop the cached room types of a property so the next lookup reloads them
+     */
+    public synchronized void invalidate(Integer propertyId) {
+        if (entries.remove(propertyId) != null) {
+            log.info("Invalidated room type catalog for property {}", propertyId);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        log.info("Invalidating {} cached room type catalogs", entries.size());
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class CacheEntry {
+        private final RoomTypeCatalog catalog;
+        private final long loadedAt;
+        // Guarded by the cache lock; set when the catalog is served, cleared when it is taken for a refresh
+        private boolean read;
+
+        private CacheEntry(RoomTypeCatalog catalog, long loadedAt) {
+            this.catalog = catalog;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.kdu.rizzlers.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into a single in-flight call.
+ * <p>
+ * The first caller for a key starts the call; callers that arrive while it is running subscribe to the same
+ * result, or error, instead of starting their own. Once the call terminates it is forgotten, so the next caller
+ * starts a fresh one: results are shared only while the call is in flight and are not cached beyond it.
+ * <p>
+ * The shared call is not cancelled when one of its callers cancels or times out, so the remaining callers, and
+ * any cache the call feeds, still get its result. Calls are counted under {@code singleflight.calls}, tagged
+ * with the name and a result of {@code leader} for calls that started an upstream request and
+ * {@code coalesced} for calls that joined one.
+ *
+ * @param <K> The key type; keys must be normalized by the caller so that equivalent inputs are equal
+ * @param <V> The result type
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaders;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder("singleflight.calls")
+                .tag("name", name)
+                .tag("result", "leader")
+                .description("Calls that started a new in-flight request")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("singleflight.calls")
+                .tag("name", name)
+                .tag("result", "coalesced")
+                .description("Calls that shared the result of a request already in flight")
+                .register(meterRegistry);
+        Gauge.builder("singleflight.in.flight", inFlight, Map::size)
+                .tag("name", name)
+                .description("Number of distinct requests currently in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run a call, or join the call already in flight for the same key
+     *
+     * @param key Identifies equivalent calls
+     * @param call Starts the call; only invoked by the caller that finds no call in flight
+     * @return The shared result; nothing runs until it is subscribed
+     */
+    public Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> {
+            boolean[] leader = new boolean[1];
+            Mono<V> shared = inFlight.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                // Removed once the call terminates, after its result has been handed to the waiting callers.
+                // A new call for the key can only be registered after that, so the removal never drops it.
+                return Mono.defer(call)
+                        .doFinally(signal -> inFlight.remove(k))
+                        .cache();
+            });
+            (leader[0] ? leaders : coalesced).increment();
+            return shared;
+        });
+    }
+
+    /**
+     * Number of distinct calls in flight
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,56 @@
+package com.kdu.rizzlers.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opens the pool's minimum number of idle connections during startup.
+ * Application runners complete before the application reports itself ready, so the first requests routed to
+ * this instance find established connections instead of paying for the TCP and authentication handshakes.
+ * A failed warm-up is logged and does not stop the application; the pool keeps filling in the background.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "database.pool.warm-up-enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceWarmUp implements ApplicationRunner {
+
+    private final HikariDataSource dataSource;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int target = Math.min(dataSource.getMinimumIdle(), dataSource.getMaximumPoolSize());
+        long start = System.nanoTime();
+
+        // Hold every connection until all are open, otherwise the pool would hand back the same one
+        List<Connection> connections = new ArrayList<>(target);
+        try {
+            for (int i = 0; i < target; i++) {
+                connections.add(dataSource.getConnection());
+            }
+            log.info("Warmed up connection pool {} with {} connections in {} ms", dataSource.getPoolName(),
+                    connections.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (SQLException e) {
+            log.warn("Connection pool warm-up stopped after {} of {} connections: {}",
+                    connections.size(), target, e.getMessage());
+        } finally {
+            for (Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Error returning warm-up connection to the pool: {}", e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.kdu.rizzlers.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.PropertySource;
+import org.springframework.context.annotation.Primary;
 import org.springframework.core.env.Environment;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
@@ -14,21 +21,47 @@ import javax.sql.DataSource;
 import java.util.Arrays;
 
 @Configuration
+@EnableConfigurationProperties(ReadReplicaProperties.class)
 public class DatabaseConfig {
 
     @Autowired
     private Environment env;
 
+    /**
+     * Connection pool built from the {@code spring.datasource.*} connection settings, tuned by the
+     * {@code spring.datasource.hikari.*} properties. Being a {@link HikariDataSource}, it is instrumented by
+     * Spring Boot and its {@code hikaricp.connections.*} metrics are available under /actuator/metrics.
+     */
     @Bean
-    public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName(env.getRequiredProperty("spring.datasource.driver-class-name"));
-        dataSource.setUrl(env.getRequiredProperty("spring.datasource.url"));
-        dataSource.setUsername(env.getRequiredProperty("spring.datasource.username"));
-        dataSource.setPassword(env.getRequiredProperty("spring.datasource.password"));
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    /**
+     * The application's DataSource. Connections are only fetched when the first statement runs, by which time
+     * the transaction manager has marked the connection read-only or not; read-only transactions are then
+     * served by the {@link ReadReplicaDataSource} when replicas are configured, everything else by the primary.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ObjectProvider<ReadReplicaDataSource> readReplicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        readReplicaDataSource.ifAvailable(dataSource::setReadOnlyDataSource);
         return dataSource;
     }
 
+    @Bean
+    @ConditionalOnProperty("database.read-replicas.targets[0].url")
+    public ReadReplicaDataSource readReplicaDataSource(HikariDataSource primaryDataSource,
+                                                       ReadReplicaProperties readReplicaProperties,
+                                                       MeterRegistry meterRegistry) {
+        return new ReadReplicaDataSource(primaryDataSource, readReplicaProperties, meterRegistry);
+    }
+
     @Bean
     public CorsFilter corsFilter() {
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
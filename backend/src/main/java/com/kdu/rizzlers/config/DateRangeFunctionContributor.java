@@ -0,0 +1,33 @@
+package com.kdu.rizzlers.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the HQL function {@code date_range_overlaps(start, end, otherStart, otherEnd)}, which is true when
+ * two inclusive date ranges share at least one day.
+ * <p>
+ * On PostgreSQL it renders as {@code daterange(start, end, '[]') && daterange(otherStart, otherEnd, '[]')}, the
+ * exact expression of the GiST index on {@code property_promotion_schedule}, so overlap queries are answered from
+ * that index. Other databases, such as H2 in tests, get the equivalent pair of comparisons.
+ * <p>
+ * Registered through {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ */
+public class DateRangeFunctionContributor implements FunctionContributor {
+
+    public static final String DATE_RANGE_OVERLAPS = "date_range_overlaps";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Boolean> booleanType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.BOOLEAN);
+        String pattern = functionContributions.getDialect() instanceof PostgreSQLDialect
+                ? "(daterange(?1, ?2, '[]') && daterange(?3, ?4, '[]'))"
+                : "(?1 <= ?4 and ?2 >= ?3)";
+        functionContributions.getFunctionRegistry().registerPattern(DATE_RANGE_OVERLAPS, pattern, booleanType);
+    }
+}
@@ -0,0 +1,72 @@
+package com.kdu.rizzlers.config;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * The single, shared client for the upstream GraphQL API.
+ * All callers go through one pooled Reactor Netty connection provider, so connections are kept alive and
+ * reused across requests instead of being set up per call. Pool metrics are published to Micrometer under
+ * {@code reactor.netty.connection.provider.*} with {@code name=graphql-upstream}, and per-operation request
+ * metrics under {@code graphql.client.*}, see {@link GraphQlClientMetrics}.
+ */
+@Slf4j
+@Configuration
+public class GraphQLClientConfig {
+
+    private static final String POOL_NAME = "graphql-upstream";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider graphQlConnectionProvider(
+            @Value("${graphql.client.pool.max-connections:100}") int maxConnections,
+            @Value("${graphql.client.pool.pending-acquire-max-count:500}") int pendingAcquireMaxCount,
+            @Value("${graphql.client.pool.pending-acquire-timeout-ms:5000}") long pendingAcquireTimeoutMs,
+            @Value("${graphql.client.pool.max-idle-time-seconds:30}") long maxIdleTimeSeconds,
+            @Value("${graphql.client.pool.max-life-time-seconds:300}") long maxLifeTimeSeconds,
+            @Value("${graphql.client.pool.evict-in-background-seconds:30}") long evictInBackgroundSeconds) {
+        log.info("Creating GraphQL connection pool: maxConnections={}, pendingAcquireMaxCount={}",
+                maxConnections, pendingAcquireMaxCount);
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(maxIdleTimeSeconds))
+                .maxLifeTime(Duration.ofSeconds(maxLifeTimeSeconds))
+                .evictInBackground(Duration.ofSeconds(evictInBackgroundSeconds))
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * WebClient bound to the GraphQL endpoint with the API key header, for callers that post raw queries
+     */
+    @Bean
+    public WebClient graphQlWebClient(ConnectionProvider graphQlConnectionProvider,
+                                      @Value("${graphql.endpoint}") String graphqlEndpoint,
+                                      @Value("${graphql.api-key-header}") String apiKeyHeader,
+                                      @Value("${graphql.api-key}") String apiKey,
+                                      @Value("${graphql.timeout}") int timeout,
+                                      GraphQlClientMetrics graphQlClientMetrics) {
+        HttpClient httpClient = HttpClient.create(graphQlConnectionProvider)
+                .keepAlive(true)
+                .compress(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeout)
+                .responseTimeout(Duration.ofMillis(timeout));
+
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .baseUrl(graphqlEndpoint)
+                .defaultHeader(apiKeyHeader, apiKey)
+                .filter(graphQlClientMetrics.filter())
+                .build();
+    }
+}
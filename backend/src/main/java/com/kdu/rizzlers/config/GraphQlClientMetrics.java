@@ -0,0 +1,121 @@
+package com.kdu.rizzlers.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics of the calls to the upstream GraphQL API, per GraphQL operation, published under
+ * {@code graphql.client.*} and available through the actuator {@code metrics} endpoint:
+ * <ul>
+ *     <li>{@code graphql.client.requests}: timer from sending the request until its response body has been read,
+ *     with percentile histograms, tagged with the HTTP status and an outcome of SUCCESS, FAILURE or CANCELLED</li>
+ *     <li>{@code graphql.client.response.size}: response body size in bytes, after decompression</li>
+ *     <li>{@code graphql.client.rows}: rows returned per request, recorded by the caller once it has parsed them</li>
+ *     <li>{@code graphql.client.failures}: requests whose result could not be used, tagged with the exception;
+ *     covers transport errors, error statuses, GraphQL errors and unparseable responses alike</li>
+ * </ul>
+ * Requests are timed and sized by the {@link #filter() filter} on the shared GraphQL WebClient. Callers name the
+ * operation with the {@link #OPERATION_ATTRIBUTE} request attribute; requests without it are tagged
+ * {@code unknown}.
+ */
+@Component
+@RequiredArgsConstructor
+public class GraphQlClientMetrics {
+
+    public static final String OPERATION_ATTRIBUTE = GraphQlClientMetrics.class.getName() + ".operation";
+
+    public static final String LIST_ROOMS = "listRooms";
+    public static final String LIST_ROOM_TYPES = "listRoomTypes";
+    public static final String LIST_ROOM_RATE_MAPPINGS = "listRoomRateRoomTypeMappings";
+    public static final String LIST_PROPERTIES = "listProperties";
+    public static final String GET_PROPERTY = "getProperty";
+
+    private static final String UNKNOWN_OPERATION = "unknown";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Filter for the GraphQL WebClient that times every exchange and counts its response bytes
+     */
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> {
+            String operation = request.attribute(OPERATION_ATTRIBUTE).map(Object::toString).orElse(UNKNOWN_OPERATION);
+            // Deferred so that every subscription, e.g. a retry, is timed on its own
+            return Mono.defer(() -> {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                return next.exchange(request)
+                        .map(response -> measureBody(operation, sample, response))
+                        .doOnError(e -> stopTimer(operation, sample, "IO_ERROR", "FAILURE"))
+                        .doOnCancel(() -> stopTimer(operation, sample, "CLIENT_ERROR", "CANCELLED"));
+            });
+        };
+    }
+
+    /**
+     * Record the number of rows a request returned
+     */
+    public void recordRows(String operation, int rows) {
+        DistributionSummary.builder("graphql.client.rows")
+                .description("Rows returned by an upstream GraphQL request")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(rows);
+    }
+
+    /**
+     * Count a request whose result could not be used
+     */
+    public void recordFailure(String operation, Throwable failure) {
+        Counter.builder("graphql.client.failures")
+                .description("Upstream GraphQL requests that failed")
+                .tag("operation", operation)
+                .tag("exception", failure.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private ClientResponse measureBody(String operation, Timer.Sample sample, ClientResponse response) {
+        String status = String.valueOf(response.statusCode().value());
+        String outcome = response.statusCode().is2xxSuccessful() ? "SUCCESS" : "FAILURE";
+        AtomicLong bytes = new AtomicLong();
+        AtomicBoolean recorded = new AtomicBoolean();
+        return response.mutate()
+                .body(body -> body
+                        .doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))
+                        .doFinally(signal -> {
+                            if (recorded.compareAndSet(false, true)) {
+                                stopTimer(operation, sample, status, signal == SignalType.CANCEL ? "CANCELLED" : outcome);
+                                DistributionSummary.builder("graphql.client.response.size")
+                                        .description("Size of upstream GraphQL response bodies")
+                                        .baseUnit("bytes")
+                                        .tag("operation", operation)
+                                        .publishPercentileHistogram()
+                                        .register(meterRegistry)
+                                        .record(bytes.get());
+                            }
+                        }))
+                .build();
+    }
+
+    private void stopTimer(String operation, Timer.Sample sample, String status, String outcome) {
+        sample.stop(Timer.builder("graphql.client.requests")
+                .description("Upstream GraphQL requests, until their response has been read")
+                .tag("operation", operation)
+                .tag("status", status)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
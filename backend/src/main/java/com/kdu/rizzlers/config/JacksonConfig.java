@@ -1,9 +1,7 @@
 package com.kdu.rizzlers.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.kdu.rizzlers.util.JsonCodec;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -14,19 +12,11 @@ public class JacksonConfig {
     /**
      * Configure ObjectMapper to handle Java 8 date/time types properly
      * This fixes the "Type definition error: [simple type, class java.time.LocalDateTime]" exception
+     * The bean is the shared {@link JsonCodec} mapper, so HTTP message conversion reuses its caches
      */
     @Bean
     @Primary
     public ObjectMapper javaTimeObjectMapper() {
-        ObjectMapper objectMapper = new ObjectMapper();
-        
-        // Register JavaTimeModule for LocalDateTime serialization
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        
-        // Exclude null values from JSON responses
-        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-        
-        return objectMapper;
+        return JsonCodec.mapper();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.kdu.rizzlers.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.kdu.rizzlers.dto.graphql.Room;
+import com.kdu.rizzlers.dto.graphql.RoomRate;
+import com.kdu.rizzlers.dto.graphql.RoomType;
+import com.kdu.rizzlers.dto.out.DailyRoomRateDTO;
+import com.kdu.rizzlers.dto.out.GuestTypeDefinitionResponse;
+import com.kdu.rizzlers.dto.out.LandingPageConfigResponse;
+import com.kdu.rizzlers.dto.out.PropertyResponse;
+import com.kdu.rizzlers.dto.out.TenantPropertyAssignmentResponse;
+import com.kdu.rizzlers.util.JsonCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the shared {@link JsonCodec}'s serializer and deserializer caches during startup.
+ * Each hot type is written and read once with every field set, so nested and dynamically typed values such as
+ * list elements and dates are resolved too, and the first requests do not pay for introspecting them.
+ * A failed warm-up is logged and does not stop the application; the caches fill on first use instead.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "json.codec.warm-up-enabled", havingValue = "true", matchIfMissing = true)
+public class JsonCodecWarmUp implements ApplicationRunner {
+
+    private static final String GRAPHQL_SAMPLE = """
+            {"room_id": 1, "room_number": "101", "room_type": {"room_type_id": 1, "room_type_name": "Standard",
+             "max_capacity": 2, "room_rates": [{"room_rate": {"room_rate_id": 1, "basic_nightly_rate": 1.0,
+             "date": "1970-01-01T00:00:00.000Z"}}]}}
+            """;
+
+    private static final String PROPERTY_SAMPLE = """
+            {"property_id": 1, "property_name": "Sample", "property_address": "Sample", "contact_number": "0"}
+            """;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        try {
+            // Written as the HTTP message converter does, with the shared mapper
+            JsonCodec.mapper().writeValueAsBytes(List.of(sampleDailyRate()));
+            JsonCodec.LANDING_PAGE_WRITER.writeValueAsBytes(sampleLandingPage());
+            JsonCodec.MAP_READER.readValue("{\"url\": \"sample\", \"options\": [{\"active\": true, \"order\": 1}]}");
+            JsonCodec.STRING_ARRAY_READER.readValue(JsonCodec.STRING_ARRAY_WRITER.writeValueAsString(new String[]{"sample"}));
+            JsonCodec.lenientReaderFor(JsonCodec.typeFactory().constructType(Room.class)).readValue(GRAPHQL_SAMPLE);
+            JsonCodec.lenientReaderFor(JsonCodec.typeFactory().constructType(RoomType.class)).readValue(GRAPHQL_SAMPLE);
+            JsonCodec.lenientReaderFor(JsonCodec.typeFactory().constructType(RoomRate.class))
+                    .readValue("{\"room_rate_id\": 1, \"basic_nightly_rate\": 1.0, \"date\": \"1970-01-01\"}");
+            JsonCodec.lenientReaderFor(JsonCodec.typeFactory().constructType(PropertyResponse.class)).readValue(PROPERTY_SAMPLE);
+            log.info("Warmed up JSON codec in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (JsonProcessingException e) {
+            log.warn("JSON codec warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    private static DailyRoomRateDTO sampleDailyRate() {
+        return DailyRoomRateDTO.builder()
+                .date(LocalDate.EPOCH)
+                .minimumRate(1.0)
+                .hasPromotion(true)
+                .promotionId(1)
+                .priceFactor(1.0)
+                .discountedRate(1.0)
+                .build();
+    }
+
+    private static LandingPageConfigResponse sampleLandingPage() {
+        Map<String, Object> value = Map.of("url", "sample", "options", List.of(Map.of("active", true, "order", 1)));
+        return LandingPageConfigResponse.builder()
+                .tenantId(1)
+                .page("landing")
+                .headerLogo(value)
+                .pageTitle(value)
+                .bannerImage(value)
+                .footer(value)
+                .languages(value)
+                .currencies(value)
+                .lengthOfStay(value)
+                .guestOptions(value)
+                .roomOptions(value)
+                .accessibilityOptions(value)
+                .numberOfRooms(value)
+                .guestTypes(List.of(GuestTypeDefinitionResponse.builder()
+                        .id(1L)
+                        .tenantId(1)
+                        .guestType("Adult")
+                        .minAge(18)
+                        .maxAge(120)
+                        .description("sample")
+                        .isActive(true)
+                        .maxCount(1)
+                        .createdAt(LocalDateTime.of(1970, 1, 1, 0, 0))
+                        .build()))
+                .properties(List.of(TenantPropertyAssignmentResponse.builder()
+                        .id(1L)
+                        .propertyId(1)
+                        .propertyName("Sample")
+                        .propertyAddress("Sample")
+                        .contactNumber("0")
+                        .isAssigned(true)
+                        .build()))
+                .build();
+    }
+}
@@ -0,0 +1,191 @@
+package com.kdu.rizzlers.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections to read replicas, falling back to the primary.
+ * <p>
+ * Each replica has its own connection pool. A replica is picked per connection according to the configured
+ * {@link ReadReplicaProperties.Selection selection}, among the replicas that passed their last health check.
+ * A replica that fails to provide a connection is marked unhealthy and the next one is tried; if none is left
+ * the connection comes from the primary, so reads keep working while replicas are down. Health checks run in
+ * the background and put recovered replicas back into rotation.
+ * <p>
+ * Health is published as the {@code database.replica.healthy} gauge, and each pool's usage as
+ * {@code hikaricp.connections.*} with {@code pool=read-replica-N}.
+ */
+@Slf4j
+public class ReadReplicaDataSource extends AbstractDataSource implements DisposableBean {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadReplicaProperties.Selection selection;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    public ReadReplicaDataSource(DataSource primary, ReadReplicaProperties properties, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.selection = properties.getSelection();
+        this.replicas = new ArrayList<>(properties.getTargets().size());
+        for (ReadReplicaProperties.Target target : properties.getTargets()) {
+            String name = "read-replica-" + replicas.size();
+            Replica replica = new Replica(name, createPool(name, target, properties, meterRegistry));
+            replicas.add(replica);
+            Gauge.builder("database.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("replica", replica.name)
+                    .description("Whether the read replica passed its last health check")
+                    .register(meterRegistry);
+        }
+
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "read-replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getHealthCheckInterval().toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Routing read-only transactions to {} read replicas ({})", replicas.size(), selection);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = select();
+            if (replica == null) {
+                break;
+            }
+            try {
+                return replica.pool.getConnection();
+            } catch (SQLException e) {
+                replica.markUnhealthy(e);
+            }
+        }
+        log.debug("No healthy read replica, reading from the primary");
+        return primary.getConnection();
+    }
+
+    /**
+     * Not supported: each replica pool connects with the credentials configured for it
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Read replicas use their configured credentials");
+    }
+
+    /**
+     * Probe every replica once, putting recovered ones back into rotation
+     */
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection()) {
+                if (connection.isValid(2)) {
+                    replica.markHealthy();
+                } else {
+                    replica.markUnhealthy(null);
+                }
+            } catch (SQLException e) {
+                replica.markUnhealthy(e);
+            }
+        }
+    }
+
+    private Replica select() {
+        return selection == ReadReplicaProperties.Selection.LEAST_BUSY ? leastBusy() : roundRobin();
+    }
+
+    private Replica roundRobin() {
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Replica leastBusy() {
+        Replica best = null;
+        int fewestActive = Integer.MAX_VALUE;
+        for (Replica replica : replicas) {
+            if (!replica.healthy) {
+                continue;
+            }
+            HikariPoolMXBean pool = replica.pool.getHikariPoolMXBean();
+            int active = pool != null ? pool.getActiveConnections() + pool.getThreadsAwaitingConnection() : 0;
+            if (active < fewestActive) {
+                best = replica;
+                fewestActive = active;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public void destroy() {
+        healthChecker.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static HikariDataSource createPool(String name, ReadReplicaProperties.Target target,
+                                               ReadReplicaProperties properties, MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(target.getUrl());
+        config.setUsername(target.getUsername());
+        config.setPassword(target.getPassword());
+        config.setReadOnly(true);
+        config.setMaximumPoolSize(properties.getMaximumPoolSize());
+        config.setMinimumIdle(1);
+        config.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        // Start even if the replica is down; it stays out of rotation until a health check succeeds
+        config.setInitializationFailTimeout(-1);
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return new HikariDataSource(config);
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final HikariDataSource pool;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, HikariDataSource pool) {
+            this.name = name;
+            this.pool = pool;
+        }
+
+        private void markHealthy() {
+            if (!healthy) {
+                healthy = true;
+                log.info("Read replica {} is back in rotation", name);
+            }
+        }
+
+        private void markUnhealthy(SQLException cause) {
+            if (healthy) {
+                healthy = false;
+                log.warn("Read replica {} taken out of rotation: {}", name,
+                        cause != null ? cause.getMessage() : "connection not valid");
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.kdu.rizzlers.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas that serve read-only transactions, see {@link ReadReplicaDataSource}.
+ * Without any targets every transaction goes to the primary.
+ */
+@Data
+@ConfigurationProperties("database.read-replicas")
+public class ReadReplicaProperties {
+
+    private List<Target> targets = new ArrayList<>();
+
+    private Selection selection = Selection.ROUND_ROBIN;
+
+    /**
+     * How often every replica is probed; an unhealthy replica is skipped until a probe succeeds again
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(10);
+
+    private int maximumPoolSize = 5;
+
+    private Duration connectionTimeout = Duration.ofSeconds(3);
+
+    public enum Selection {
+        /**
+         * Take healthy replicas in turn
+         */
+        ROUND_ROBIN,
+        /**
+         * Take the healthy replica with the fewest connections in use
+         */
+        LEAST_BUSY
+    }
+
+    @Data
+    public static class Target {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,12 @@
+package com.kdu.rizzlers.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} jobs, such as the room type catalog refresh
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
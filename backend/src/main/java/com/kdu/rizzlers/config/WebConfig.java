@@ -1,6 +1,5 @@
 package com.kdu.rizzlers.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
@@ -23,14 +22,4 @@ public class WebConfig {
     public WebClient.Builder webClientBuilder() {
         return WebClient.builder();
     }
-    
-    /**
-     * Creates an ObjectMapper bean for JSON serialization/deserialization
-     * 
-     * @return ObjectMapper instance
-     */
-    @Bean
-    public ObjectMapper objectMapper() {
-        return new ObjectMapper();
-    }
 } 
\ No newline at end of file
@@ -1,15 +1,26 @@
 package com.kdu.rizzlers.controller;
 
 import com.kdu.rizzlers.dto.out.DailyRoomRateDTO;
+import com.kdu.rizzlers.dto.out.KeysetPageResponse;
 import com.kdu.rizzlers.entity.PropertyPromotionSchedule;
 import com.kdu.rizzlers.service.RoomRateService;
+import com.kdu.rizzlers.service.RoomTypeCatalogService;
+import com.kdu.rizzlers.util.KeysetPagination;
+import com.kdu.rizzlers.util.NdjsonResponses;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/room-rates")
@@ -17,6 +28,7 @@ import java.util.List;
 public class RoomRateController {
 
     private final RoomRateService roomRateService;
+    private final RoomTypeCatalogService roomTypeCatalogService;
 
     /**
      * Get active promotions for a property during a specific date range
@@ -54,21 +66,101 @@ public class RoomRateController {
     }
 
     /**
-     * Get ALL minimum daily room rates for a property, including promotion information,
-     * without filtering by date range
+     * Get all promotions for a property one page at a time, in ID order
+     * 
+     * @param propertyId The property ID
+     * @param afterId The nextAfterId of the previous page; omitted for the first page
+     * @param limit The page size, at most {@value KeysetPagination#MAX_LIMIT}
+     * @return One page of property promotions
+     */
+    @GetMapping(value = "/all-promotions", params = "limit")
+    public ResponseEntity<KeysetPageResponse<PropertyPromotionSchedule>> getPromotionsPage(
+            @RequestParam Integer propertyId,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam int limit) {
+        return ResponseEntity.ok(roomRateService.getPromotionsPage(propertyId, afterId, limit));
+    }
+
+    /**
+     * Export all promotions for a property as newline-delimited JSON, streamed while they are read
+     * 
+     * @param propertyId The property ID
+     */
+    @GetMapping(value = "/all-promotions/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPromotions(@RequestParam Integer propertyId) {
+        return NdjsonResponses.<PropertyPromotionSchedule>of(action -> roomRateService.forEachPromotion(propertyId, action));
+    }
+
+    /**
+     * Get the minimum daily room rates for a property, including promotion information.
+     * Without a window every date known to the rates backend is returned; a window can be given either
+     * as startDate/endDate (each optional) or as a month window of one or more calendar months.
+     * The response is completed asynchronously, so the request thread is released while rates are fetched.
      * 
      * @param tenantId The tenant ID
      * @param propertyId The property ID
+     * @param startDate First date to include (optional)
+     * @param endDate Last date to include (optional)
+     * @param month First month of a month window, e.g. 2025-03 (optional, exclusive with startDate/endDate)
+     * @param months Number of months in the month window
      * @return List of daily room rates with promotion information
      */
     @GetMapping("/daily-rates")
-    public ResponseEntity<List<DailyRoomRateDTO>> getDailyRatesWithPromotions(
+    public Mono<ResponseEntity<List<DailyRoomRateDTO>>> getDailyRatesWithPromotions(
             @RequestParam Integer tenantId,
-            @RequestParam Integer propertyId) {
+            @RequestParam Integer propertyId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestParam(defaultValue = "1") int months) {
         
-        List<DailyRoomRateDTO> dailyRates = roomRateService.getDailyRatesWithPromotions(
-                tenantId, propertyId);
+        if (month != null) {
+            if (startDate != null || endDate != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "month cannot be combined with startDate or endDate");
+            }
+            if (months < 1) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "months must be at least 1");
+            }
+            startDate = month.atDay(1);
+            endDate = month.plusMonths(months - 1L).atEndOfMonth();
+        }
+        
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "startDate must not be after endDate");
+        }
+        
+        return roomRateService.getDailyRatesWithPromotionsReactive(tenantId, propertyId, startDate, endDate)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Evict cached daily rate calendars, e.g. after rates were changed upstream
+     * 
+     * @param propertyId The property ID; if omitted, the calendars of all properties are evicted
+     * @return No content
+     */
+    @DeleteMapping("/daily-rates/cache")
+    public ResponseEntity<Void> evictDailyRatesCache(
+            @RequestParam(required = false) Integer propertyId) {
+        
+        roomRateService.evictRateCalendar(propertyId);
+        
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Reload cached room type catalogs from the upstream API now, rather than at the next scheduled refresh,
+     * e.g. after room types were added or changed upstream
+     * 
+     * @param propertyId The property ID; if omitted, the catalogs of all cached properties are reloaded
+     * @return The number of catalogs reloaded
+     */
+    @PostMapping("/room-types/cache/refresh")
+    public Mono<ResponseEntity<Map<String, Integer>>> refreshRoomTypeCatalogs(
+            @RequestParam(required = false) Integer propertyId) {
         
-        return ResponseEntity.ok(dailyRates);
+        return roomTypeCatalogService.refreshCatalogs(propertyId)
+                .map(refreshed -> ResponseEntity.ok(Map.of("refreshed", refreshed)));
     }
-} 
\ No newline at end of file
+}
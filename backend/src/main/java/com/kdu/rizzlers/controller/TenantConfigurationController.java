@@ -1,16 +1,30 @@
 package com.kdu.rizzlers.controller;
 
+import com.kdu.rizzlers.cache.LandingPageSnapshotCache;
+import com.kdu.rizzlers.dto.in.BulkTenantConfigurationRequest;
 import com.kdu.rizzlers.dto.in.TenantConfigurationRequest;
-import com.kdu.rizzlers.dto.out.LandingPageConfigResponse;
+import com.kdu.rizzlers.dto.in.TenantConfigurationUpsertRequest;
+import com.kdu.rizzlers.dto.out.KeysetPageResponse;
 import com.kdu.rizzlers.dto.out.TenantConfigurationResponse;
 import com.kdu.rizzlers.service.TenantConfigurationService;
+import com.kdu.rizzlers.util.AcceptEncoding;
+import com.kdu.rizzlers.util.JsonUtil;
+import com.kdu.rizzlers.util.KeysetPagination;
+import com.kdu.rizzlers.util.NdjsonResponses;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/tenant-configurations")
@@ -24,6 +38,24 @@ public class TenantConfigurationController {
         return new ResponseEntity<>(tenantConfigurationService.createConfiguration(request), HttpStatus.CREATED);
     }
 
+    /**
+     * Create or update many configurations in one transaction, e.g. when onboarding a tenant.
+     * Rows are matched to existing active configurations by tenant, page and field.
+     * Every value is checked to be JSON before any row is written, so a bad row fails the batch with its index
+     * instead of a database error.
+     */
+    @PutMapping("/bulk")
+    public ResponseEntity<Map<String, Integer>> upsertConfigurations(@Valid @RequestBody BulkTenantConfigurationRequest request) {
+        List<TenantConfigurationUpsertRequest> configurations = request.getConfigurations();
+        for (int i = 0; i < configurations.size(); i++) {
+            if (!JsonUtil.isValidJson(configurations.get(i).getValue())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "configurations[" + i + "].value is not valid JSON");
+            }
+        }
+        return ResponseEntity.ok(Map.of("upserted", tenantConfigurationService.upsertConfigurations(request.getConfigurations())));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<TenantConfigurationResponse> getConfigurationById(@PathVariable Long id) {
         return ResponseEntity.ok(tenantConfigurationService.getConfigurationById(id));
@@ -34,6 +66,27 @@ public class TenantConfigurationController {
         return ResponseEntity.ok(tenantConfigurationService.getAllConfigurations());
     }
 
+    /**
+     * Get all configurations one page at a time, in ID order
+     * 
+     * @param afterId The nextAfterId of the previous page; omitted for the first page
+     * @param limit The page size, at most {@value KeysetPagination#MAX_LIMIT}
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<KeysetPageResponse<TenantConfigurationResponse>> getConfigurationsPage(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam int limit) {
+        return ResponseEntity.ok(tenantConfigurationService.getConfigurationsPage(afterId, limit));
+    }
+
+    /**
+     * Export all configurations as newline-delimited JSON, streamed while they are read
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportConfigurations() {
+        return NdjsonResponses.<TenantConfigurationResponse>of(tenantConfigurationService::forEachConfiguration);
+    }
+
     @GetMapping("/tenant/{tenantId}")
     public ResponseEntity<List<TenantConfigurationResponse>> getConfigurationsByTenantId(@PathVariable Integer tenantId) {
         return ResponseEntity.ok(tenantConfigurationService.getConfigurationsByTenantId(tenantId));
@@ -52,17 +105,17 @@ public class TenantConfigurationController {
     }
     
     @GetMapping("/tenant/{tenantId}/landing")
-    public ResponseEntity<LandingPageConfigResponse> getLandingPageConfiguration(@PathVariable Integer tenantId) {
-        return ResponseEntity.ok(tenantConfigurationService.getLandingPageConfiguration(tenantId));
+    public ResponseEntity<byte[]> getLandingPageConfiguration(@PathVariable Integer tenantId, WebRequest webRequest) {
+        return landingPageResponse(tenantConfigurationService.getLandingPageSnapshot(tenantId, true), webRequest);
     }
 
     @GetMapping("/tenant/{tenantId}/landing/basic")
-    public ResponseEntity<LandingPageConfigResponse> getBasicLandingPageConfiguration(
+    public ResponseEntity<byte[]> getBasicLandingPageConfiguration(
             @PathVariable Integer tenantId,
-            @RequestParam(value = "fetch_property_details", defaultValue = "false") boolean fetchPropertyDetails) {
+            @RequestParam(value = "fetch_property_details", defaultValue = "false") boolean fetchPropertyDetails,
+            WebRequest webRequest) {
         
-        LandingPageConfigResponse config = tenantConfigurationService.getLandingPageConfiguration(tenantId, fetchPropertyDetails);
-        return ResponseEntity.ok(config);
+        return landingPageResponse(tenantConfigurationService.getLandingPageSnapshot(tenantId, fetchPropertyDetails), webRequest);
     }
 
     @PutMapping("/{id}")
@@ -76,4 +129,30 @@ public class TenantConfigurationController {
         tenantConfigurationService.deleteConfiguration(id);
         return ResponseEntity.noContent().build();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Write a landing page snapshot from its pre-serialized bytes.
+     * Sends the gzipped bytes to clients that accept gzip, and answers an If-None-Match matching the ETag of the
+     * representation that would be sent with 304.
+     */
+    private ResponseEntity<byte[]> landingPageResponse(LandingPageSnapshotCache.Snapshot snapshot, WebRequest webRequest) {
+        boolean gzipped = snapshot.gzippedJson() != null && AcceptEncoding.allowsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzipped ? snapshot.gzippedEtag() : snapshot.etag();
+
+        boolean notModified = webRequest.checkNotModified(etag);
+        ResponseEntity.BodyBuilder response = notModified
+                ? ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                : ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        response.eTag(etag).cacheControl(CacheControl.noCache());
+        if (snapshot.gzippedJson() != null) {
+            response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (notModified) {
+            return response.build();
+        }
+        if (gzipped) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzippedJson());
+        }
+        return response.body(snapshot.json());
+    }
+}
@@ -7,11 +7,8 @@ import org.springframework.http.*;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 
-import java.net.URI;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -24,10 +21,20 @@ public class TestController {
     @Value("${graphql.endpoint}")
     private String graphqlUrl;
     
-    @Value("${graphql.api-key}")
-    private String apiKey;
+    private final WebClient graphQlWebClient;
+    private final WebClient anonymousGraphQlWebClient;
     
-    private final RestTemplate restTemplate = new RestTemplate();
+    /**
+     * @param graphQlWebClient The shared, pooled client bound to the GraphQL endpoint and API key
+     * @param apiKeyHeader Name of the API key header, stripped for the unauthenticated probe
+     */
+    public TestController(WebClient graphQlWebClient, @Value("${graphql.api-key-header}") String apiKeyHeader) {
+        this.graphQlWebClient = graphQlWebClient;
+        // mutate() keeps the connector, so the probe without the API key still uses the shared connection pool
+        this.anonymousGraphQlWebClient = graphQlWebClient.mutate()
+                .defaultHeaders(headers -> headers.remove(apiKeyHeader))
+                .build();
+    }
     
     @GetMapping("/graphql")
     public ResponseEntity<String> testGraphQLConnection() {
@@ -46,17 +53,7 @@ public class TestController {
                 String query = "{ listProperties { property_id property_name property_address } }";
                 requestBody.put("query", query);
                 
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.APPLICATION_JSON);
-                headers.set("x-api-key", apiKey);
-                
-                HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-                
-                ResponseEntity<String> postResponse = restTemplate.exchange(
-                        graphqlUrl, 
-                        HttpMethod.POST,
-                        entity,
-                        String.class);
+                ResponseEntity<String> postResponse = post(graphQlWebClient, requestBody);
                 
                 result.append("POST with API Key Status: ").append(postResponse.getStatusCode())
                       .append("\nPOST with API Key Body: ").append(postResponse.getBody()).append("\n\n");
@@ -75,16 +72,7 @@ public class TestController {
                     String query = "{ listProperties { property_id property_name property_address } }";
                     requestBody.put("query", query);
                     
-                    HttpHeaders headers = new HttpHeaders();
-                    headers.setContentType(MediaType.APPLICATION_JSON);
-                    
-                    HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-                    
-                    ResponseEntity<String> postResponse = restTemplate.exchange(
-                            graphqlUrl, 
-                            HttpMethod.POST,
-                            entity,
-                            String.class);
+                    ResponseEntity<String> postResponse = post(anonymousGraphQlWebClient, requestBody);
                     
                     result.append("POST without API Key Status: ").append(postResponse.getStatusCode())
                           .append("\nPOST without API Key Body: ").append(postResponse.getBody()).append("\n\n");
@@ -106,4 +94,14 @@ public class TestController {
                     .body("GraphQL Connection Test Failed: " + e.getMessage());
         }
     }
-} 
\ No newline at end of file
+    
+    private ResponseEntity<String> post(WebClient client, Map<String, Object> requestBody) {
+        return client.post()
+                .uri(graphqlUrl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(requestBody)
+                .retrieve()
+                .toEntity(String.class)
+                .block();
+    }
+}
@@ -1,7 +1,8 @@
 package com.kdu.rizzlers.dto.graphql;
 
-import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.kdu.rizzlers.util.GraphQlDateDeserializer;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -19,6 +20,6 @@ public class RoomRate {
     private Double basicNightlyRate;
     
     @JsonProperty("date")
-    @JsonFormat(pattern = "yyyy-MM-dd")
+    @JsonDeserialize(using = GraphQlDateDeserializer.class)
     private LocalDate date;
 } 
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.kdu.rizzlers.dto.in;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTenantConfigurationRequest {
+
+    @NotEmpty(message = "At least one configuration is required")
+    @Size(max = 10000, message = "At most 10000 configurations can be upserted at once")
+    private List<@Valid TenantConfigurationUpsertRequest> configurations;
+}
@@ -0,0 +1,21 @@
+package com.kdu.rizzlers.dto.out;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a listing ordered by ID.
+ * The next page is requested with {@code afterId=nextAfterId}; a null {@code nextAfterId} marks the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPageResponse<T> {
+    private List<T> items;
+    private Long nextAfterId;
+}
@@ -1,8 +1,7 @@
 package com.kdu.rizzlers.entity;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kdu.rizzlers.util.JsonCodec;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -22,8 +21,6 @@ import java.util.List;
 @Table(name = "room_type_images")
 @Slf4j
 public class RoomTypeImage extends BaseEntity {
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -84,7 +81,7 @@ public class RoomTypeImage extends BaseEntity {
                 } else {
                     // Try to parse as JSON array
                     try {
-                        this.imageUrls = OBJECT_MAPPER.readValue(imageUrlsJson, String[].class);
+                        this.imageUrls = JsonCodec.STRING_ARRAY_READER.readValue(imageUrlsJson);
                     } catch (Exception ex) {
                         log.error("Failed to parse image URLs JSON: {}", ex.getMessage());
                         this.imageUrls = new String[0];
@@ -104,7 +101,7 @@ public class RoomTypeImage extends BaseEntity {
     private void beforeSave() {
         try {
             if (imageUrls != null && imageUrls.length > 0) {
-                this.imageUrlsJson = OBJECT_MAPPER.writeValueAsString(imageUrls);
+                this.imageUrlsJson = JsonCodec.STRING_ARRAY_WRITER.writeValueAsString(imageUrls);
             } else if (imageUrlsJson == null || imageUrlsJson.isEmpty()) {
                 this.imageUrlsJson = "[]";
             }
@@ -12,6 +12,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "tenant_property_assignment")
+@EntityListeners(TenantPropertyAssignmentListener.class)
 public class TenantPropertyAssignment extends BaseEntity {
 
     @Id
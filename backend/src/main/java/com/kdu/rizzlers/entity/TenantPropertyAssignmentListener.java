@@ -0,0 +1,25 @@
+package com.kdu.rizzlers.entity;
+
+import com.kdu.rizzlers.event.TenantDataChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Publishes a {@link TenantDataChangedEvent} whenever a property assignment is written, whichever code path
+ * writes it. Instantiated by Hibernate through Spring's bean container, which injects the publisher.
+ */
+@RequiredArgsConstructor
+public class TenantPropertyAssignmentListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(TenantPropertyAssignment assignment) {
+        eventPublisher.publishEvent(new TenantDataChangedEvent(assignment.getTenantId(), "Property assignment"));
+    }
+}
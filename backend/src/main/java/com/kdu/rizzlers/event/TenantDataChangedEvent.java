@@ -0,0 +1,11 @@
+package com.kdu.rizzlers.event;
+
+/**
+ * Published when data that feeds a tenant's landing page configuration changes: a tenant configuration,
+ * a guest type definition or a property assignment.
+ *
+ * @param tenantId The tenant whose data changed
+ * @param source What changed, for logging
+ */
+public record TenantDataChangedEvent(Integer tenantId, String source) {
+}
@@ -1,6 +1,7 @@
 package com.kdu.rizzlers.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -13,9 +14,14 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 import jakarta.persistence.EntityNotFoundException;
 
+import java.sql.SQLException;
+
 @Slf4j
 @ControllerAdvice
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+    // PostgreSQL's unique_violation
+    private static final String UNIQUE_VIOLATION = "23505";
+
     protected ResponseEntity<Object> handleHttpMessageNotReadable(HttpMessageNotReadableException ex,
                                                                   HttpHeaders headers, HttpStatus status, WebRequest request) {
         String error = "Malformed JSON request";
@@ -44,6 +50,41 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return buildResponseEntity(apiError);
     }
     
+    /**
+     * A unique violation means the request conflicts with existing data. Any other integrity violation is a server
+     * error. The driver's message names tables and constraints and may echo row values, so it is only logged.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    protected ResponseEntity<Object> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        if (isUniqueViolation(ex)) {
+            log.warn("Unique violation: {}", ex.getMostSpecificCause().getMessage());
+            ApiError apiError = new ApiError(HttpStatus.CONFLICT);
+            apiError.setMessage("The request conflicts with existing data");
+            return buildResponseEntity(apiError);
+        }
+        log.error("Data integrity violation", ex);
+        ApiError apiError = new ApiError(HttpStatus.INTERNAL_SERVER_ERROR);
+        apiError.setMessage("Internal server error");
+        return buildResponseEntity(apiError);
+    }
+
+    /**
+     * Look for the unique_violation SQLState along the cause chain, including the exceptions chained to a failed
+     * batch
+     */
+    private static boolean isUniqueViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                for (SQLException next = sqlException; next != null; next = next.getNextException()) {
+                    if (UNIQUE_VIOLATION.equals(next.getSQLState())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+    
     @ExceptionHandler(Exception.class)
     protected ResponseEntity<Object> handleAllExceptions(Exception ex, WebRequest request) {
         ApiError apiError = new ApiError(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -0,0 +1,27 @@
+package com.kdu.rizzlers.exception;
+
+/**
+ * A GraphQL response that carries errors instead of the requested field.
+ * <p>
+ * Per the GraphQL spec, a response has no {@code data} entry when the request failed before execution, i.e. the
+ * document did not parse or did not validate against the upstream schema. Such a request error fails the same way
+ * on every retry, unlike an error raised while resolving fields.
+ */
+public class GraphQlErrorException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+
+    private final boolean requestError;
+
+    public GraphQlErrorException(String message, boolean requestError) {
+        super(message);
+        this.requestError = requestError;
+    }
+
+    /**
+     * @return Whether the upstream rejected the request without executing it, e.g. because it queries a field
+     * that the schema does not define
+     */
+    public boolean isRequestError() {
+        return requestError;
+    }
+}
@@ -1,15 +1,33 @@
 package com.kdu.rizzlers.repository;
 
 import com.kdu.rizzlers.entity.GuestTypeDefinition;
+import com.kdu.rizzlers.util.KeysetPagination;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface GuestTypeDefinitionRepository extends JpaRepository<GuestTypeDefinition, Long> {
     List<GuestTypeDefinition> findByTenantIdAndIsActive(Integer tenantId, Boolean isActive);
     Optional<GuestTypeDefinition> findByTenantIdAndGuestTypeAndIsActive(Integer tenantId, String guestType, Boolean isActive);
     List<GuestTypeDefinition> findByTenantId(Integer tenantId);
+
+    /**
+     * Find the guest type definitions after the given ID, in ID order, for keyset pagination
+     */
+    List<GuestTypeDefinition> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * Read all guest type definitions in ID order from a server-side cursor; must be consumed and closed inside
+     * a transaction
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = KeysetPagination.STREAM_FETCH_SIZE))
+    Stream<GuestTypeDefinition> streamAllByOrderByIdAsc();
 } 
\ No newline at end of file
@@ -1,35 +1,51 @@
 package com.kdu.rizzlers.repository;
 
 import com.kdu.rizzlers.entity.PropertyPromotionSchedule;
+import com.kdu.rizzlers.util.KeysetPagination;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
+/**
+ * Promotion schedules of properties.
+ * <p>
+ * Declared query methods run in their own read-only transaction unless the caller already has one, like the
+ * inherited CRUD methods, so lookups made outside a service transaction are routed to a read replica.
+ */
 @Repository
+@Transactional(readOnly = true)
 public interface PropertyPromotionScheduleRepository extends JpaRepository<PropertyPromotionSchedule, Long> {
     List<PropertyPromotionSchedule> findByPropertyId(Integer propertyId);
     List<PropertyPromotionSchedule> findByPromotionId(Integer promotionId);
     
+    /**
+     * Find promotions for a specific property, active or not, whose date range overlaps with the given period
+     */
     @Query("SELECT p FROM PropertyPromotionSchedule p WHERE p.propertyId = :propertyId " +
-           "AND ((p.startDate <= :endDate AND p.endDate >= :startDate))")
+           "AND date_range_overlaps(p.startDate, p.endDate, :startDate, :endDate)")
     List<PropertyPromotionSchedule> findActivePromotionsForPropertyBetweenDates(
             @Param("propertyId") Integer propertyId,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
 
     /**
-     * Find active promotions for a specific property where the date range overlaps with the given period
+     * Find active promotions for a specific property where the date range overlaps with the given period.
+     * The overlap is served by the GiST index on (property_id, daterange), see
+     * {@link com.kdu.rizzlers.config.DateRangeFunctionContributor}.
      */
     @Query("SELECT p FROM PropertyPromotionSchedule p WHERE p.propertyId = :propertyId " +
            "AND p.isActive = true " +
-           "AND ((p.startDate BETWEEN :startDate AND :endDate) " +
-           "OR (p.endDate BETWEEN :startDate AND :endDate) " +
-           "OR (:startDate BETWEEN p.startDate AND p.endDate) " +
-           "OR (:endDate BETWEEN p.startDate AND p.endDate))")
+           "AND date_range_overlaps(p.startDate, p.endDate, :startDate, :endDate)")
     List<PropertyPromotionSchedule> findActivePromotionsForPropertyInPeriod(
             Integer propertyId, LocalDate startDate, LocalDate endDate);
     
@@ -44,4 +60,16 @@ public interface PropertyPromotionScheduleRepository extends JpaRepository<Prope
     default List<PropertyPromotionSchedule> findAllByPropertyId(Integer propertyId) {
         return findByPropertyId(propertyId);
     }
+
+    /**
+     * Find a property's promotions after the given ID, in ID order, for keyset pagination
+     */
+    List<PropertyPromotionSchedule> findByPropertyIdAndIdGreaterThanOrderByIdAsc(Integer propertyId, Long afterId, Limit limit);
+
+    /**
+     * Read all promotions of a property in ID order from a server-side cursor; must be consumed and closed
+     * inside a transaction
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = KeysetPagination.STREAM_FETCH_SIZE))
+    Stream<PropertyPromotionSchedule> streamByPropertyIdOrderByIdAsc(Integer propertyId);
 } 
\ No newline at end of file
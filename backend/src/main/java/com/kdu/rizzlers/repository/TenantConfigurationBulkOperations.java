@@ -0,0 +1,19 @@
+package com.kdu.rizzlers.repository;
+
+import com.kdu.rizzlers.entity.TenantConfiguration;
+
+import java.util.Collection;
+
+/**
+ * Set-based writes of tenant configurations that bypass the persistence context
+ */
+public interface TenantConfigurationBulkOperations {
+
+    /**
+     * Insert the configurations, or update the value of the active configuration with the same tenant, page and
+     * field, in JDBC batches. The configurations must have distinct keys; they are stored as active.
+     *
+     * @return The number of rows inserted or updated
+     */
+    int upsertAll(Collection<TenantConfiguration> configurations);
+}
@@ -0,0 +1,56 @@
+package com.kdu.rizzlers.repository;
+
+import com.kdu.rizzlers.entity.TenantConfiguration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Upserts with {@code INSERT ... ON CONFLICT}, arbitrated by the unique index on the active rows' natural key
+ * from {@code V3__tenant_configuration_natural_key.sql}. The statements are sent in batches of
+ * {@code tenant-configuration.bulk.batch-size}, which the PostgreSQL driver folds into multi-row inserts when
+ * {@code reWriteBatchedInserts} is enabled.
+ */
+public class TenantConfigurationBulkOperationsImpl implements TenantConfigurationBulkOperations {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO tenant_configuration (tenant_id, page, field, value, is_active, created_at, updated_at)
+            VALUES (?, ?, ?, CAST(? AS jsonb), true, ?, ?)
+            ON CONFLICT (tenant_id, page, field) WHERE is_active
+            DO UPDATE SET value = EXCLUDED.value, updated_at = EXCLUDED.updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public TenantConfigurationBulkOperationsImpl(JdbcTemplate jdbcTemplate,
+                                                 @Value("${tenant-configuration.bulk.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public int upsertAll(Collection<TenantConfiguration> configurations) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] counts = jdbcTemplate.batchUpdate(UPSERT_SQL, configurations, batchSize, (statement, configuration) -> {
+            statement.setInt(1, configuration.getTenantId());
+            statement.setString(2, configuration.getPage());
+            statement.setString(3, configuration.getField());
+            statement.setString(4, configuration.getValue());
+            statement.setTimestamp(5, now);
+            statement.setTimestamp(6, now);
+        });
+
+        int upserted = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // Rewritten batches report SUCCESS_NO_INFO (-2) instead of a count; each statement wrote one row
+                upserted += count < 0 ? 1 : count;
+            }
+        }
+        return upserted;
+    }
+}
@@ -1,16 +1,35 @@
 package com.kdu.rizzlers.repository;
 
 import com.kdu.rizzlers.entity.TenantConfiguration;
+import com.kdu.rizzlers.util.KeysetPagination;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TenantConfigurationRepository extends JpaRepository<TenantConfiguration, Long> {
+public interface TenantConfigurationRepository extends JpaRepository<TenantConfiguration, Long>,
+        TenantConfigurationBulkOperations {
     List<TenantConfiguration> findByTenantIdAndIsActive(Integer tenantId, Boolean isActive);
     List<TenantConfiguration> findByTenantIdAndPageAndIsActive(Integer tenantId, String page, Boolean isActive);
     Optional<TenantConfiguration> findByTenantIdAndPageAndFieldAndIsActive(Integer tenantId, String page, String field, Boolean isActive);
     List<TenantConfiguration> findByIsActive(Boolean isActive);
+
+    /**
+     * Find the configurations after the given ID, in ID order, for keyset pagination
+     */
+    List<TenantConfiguration> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * Read all configurations in ID order from a server-side cursor; must be consumed and closed inside a
+     * transaction
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = KeysetPagination.STREAM_FETCH_SIZE))
+    Stream<TenantConfiguration> streamAllByOrderByIdAsc();
 } 
\ No newline at end of file
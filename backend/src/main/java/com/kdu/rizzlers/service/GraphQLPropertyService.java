@@ -10,10 +10,12 @@ import java.util.List;
 public interface GraphQLPropertyService {
     
     /**
-     * Fetch properties by their IDs
+     * Fetch properties by their IDs.
+     * Details are served from the property details cache where possible; only the remaining IDs are queried.
      * 
-     * @param propertyIds List of property IDs to fetch
-     * @return List of PropertyResponse objects containing property details
+     * @param propertyIds List of property IDs to fetch; duplicates are ignored
+     * @return List of PropertyResponse objects containing property details, in the order of the requested IDs.
+     *         IDs unknown to the GraphQL API are left out
      */
     List<PropertyResponse> getPropertiesByIds(List<Integer> propertyIds);
 } 
\ No newline at end of file
@@ -2,13 +2,26 @@ package com.kdu.rizzlers.service;
 
 import com.kdu.rizzlers.dto.in.GuestTypeDefinitionRequest;
 import com.kdu.rizzlers.dto.out.GuestTypeDefinitionResponse;
+import com.kdu.rizzlers.dto.out.KeysetPageResponse;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface GuestTypeDefinitionService {
     GuestTypeDefinitionResponse createGuestTypeDefinition(GuestTypeDefinitionRequest request);
     GuestTypeDefinitionResponse getGuestTypeDefinitionById(Long id);
     List<GuestTypeDefinitionResponse> getAllGuestTypeDefinitions();
+
+    /**
+     * Get one page of all guest type definitions in ID order, continuing after the given ID (null for the first
+     * page)
+     */
+    KeysetPageResponse<GuestTypeDefinitionResponse> getGuestTypeDefinitionsPage(Long afterId, int limit);
+
+    /**
+     * Pass every guest type definition, in ID order, to the action while reading them from a server-side cursor
+     */
+    void forEachGuestTypeDefinition(Consumer<? super GuestTypeDefinitionResponse> action);
     List<GuestTypeDefinitionResponse> getGuestTypeDefinitionsByTenantIdAndIsActive(Integer tenantId, Boolean isActive);
     GuestTypeDefinitionResponse getGuestTypeDefinitionByTenantIdAndGuestTypeAndIsActive(
             Integer tenantId, String guestType, Boolean isActive);
@@ -2,11 +2,9 @@ package com.kdu.rizzlers.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kdu.rizzlers.config.GraphQlClientMetrics;
 import com.kdu.rizzlers.entity.Property;
-import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -18,40 +16,32 @@ import java.util.Map;
 @Slf4j
 public class PropertyGraphQLService {
 
-    private WebClient webClient;
+    private final WebClient webClient;
     private final ObjectMapper objectMapper;
-    
-    @Value("${graphql.endpoint}")
-    private String graphqlEndpoint;
-    
-    @Value("${graphql.api-key}")
-    private String apiKey;
+    private final GraphQlClientMetrics graphQlClientMetrics;
 
-    public PropertyGraphQLService(ObjectMapper objectMapper) {
+    /**
+     * @param graphQlWebClient The shared, pooled client bound to the GraphQL endpoint and API key
+     */
+    public PropertyGraphQLService(WebClient graphQlWebClient, ObjectMapper objectMapper,
+                                  GraphQlClientMetrics graphQlClientMetrics) {
+        this.webClient = graphQlWebClient;
         this.objectMapper = objectMapper;
-    }
-    
-    @PostConstruct
-    public void initWebClient() {
-        log.info("Initializing WebClient with endpoint: {} (apiKey length: {})", 
-                graphqlEndpoint, 
-                apiKey != null ? apiKey.length() : 0);
-        this.webClient = WebClient.builder()
-                .baseUrl(graphqlEndpoint)
-                .defaultHeader("X-Api-Key", apiKey)
-                .build();
+        this.graphQlClientMetrics = graphQlClientMetrics;
     }
 
     public Mono<Property> getPropertyByName(String propertyName) {
         String query = "query FindPropertyByName { getProperty(where: { property_name: \"" + propertyName + "\" }) { property_id property_name property_address contact_number } }";
         
         return webClient.post()
+                .attribute(GraphQlClientMetrics.OPERATION_ATTRIBUTE, GraphQlClientMetrics.GET_PROPERTY)
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(Map.of("query", query))
                 .retrieve()
                 .bodyToMono(String.class)
                 .doOnNext(responseStr -> log.debug("Raw GraphQL response for property by name: {}", responseStr))
-                .map(responseStr -> {
+                // A response without the property completes empty rather than failing
+                .mapNotNull(responseStr -> {
                     try {
                         JsonNode rootNode = objectMapper.readTree(responseStr);
                         JsonNode dataNode = rootNode.get("data");
@@ -84,6 +74,8 @@ public class PropertyGraphQLService {
                         return null;
                     }
                 })
+                .doOnSuccess(property -> graphQlClientMetrics.recordRows(GraphQlClientMetrics.GET_PROPERTY, property != null ? 1 : 0))
+                .doOnError(e -> graphQlClientMetrics.recordFailure(GraphQlClientMetrics.GET_PROPERTY, e))
                 .onErrorResume(e -> {
                     log.error("Error calling GraphQL API for property by name: {}", e.getMessage(), e);
                     return Mono.empty();
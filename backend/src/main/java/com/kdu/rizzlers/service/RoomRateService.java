@@ -1,10 +1,13 @@
 package com.kdu.rizzlers.service;
 
 import com.kdu.rizzlers.dto.out.DailyRoomRateDTO;
+import com.kdu.rizzlers.dto.out.KeysetPageResponse;
 import com.kdu.rizzlers.entity.PropertyPromotionSchedule;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface RoomRateService {
     /**
@@ -24,6 +27,25 @@ public interface RoomRateService {
      * @return List of all property promotion schedules
      */
     List<PropertyPromotionSchedule> getAllPromotions(Integer propertyId);
+
+    /**
+     * Get one page of all promotions for a property in ID order
+     * 
+     * @param propertyId The property ID
+     * @param afterId The last ID of the previous page, or null for the first page
+     * @param limit The page size
+     * @return The page and the ID to continue after
+     */
+    KeysetPageResponse<PropertyPromotionSchedule> getPromotionsPage(Integer propertyId, Long afterId, int limit);
+
+    /**
+     * Pass every promotion for a property, in ID order, to the action while reading them from a server-side
+     * cursor
+     * 
+     * @param propertyId The property ID
+     * @param action Receives each promotion; it is detached once the action returns
+     */
+    void forEachPromotion(Integer propertyId, Consumer<? super PropertyPromotionSchedule> action);
     
     /**
      * Get ALL minimum daily room rates for a property, including promotion information,
@@ -34,4 +56,38 @@ public interface RoomRateService {
      * @return List of daily room rates with promotion information
      */
     List<DailyRoomRateDTO> getDailyRatesWithPromotions(Integer tenantId, Integer propertyId);
+    
+    /**
+     * Get the minimum daily room rates for a property within a date window, including promotion information.
+     * The window is applied to both the upstream rate query and the promotion query.
+     * 
+     * @param tenantId The tenant ID
+     * @param propertyId The property ID
+     * @param startDate First date to include, or null for no lower bound
+     * @param endDate Last date to include, or null for no upper bound
+     * @return List of daily room rates with promotion information, ordered by date
+     */
+    List<DailyRoomRateDTO> getDailyRatesWithPromotions(Integer tenantId, Integer propertyId,
+                                                       LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * Non-blocking variant of {@link #getDailyRatesWithPromotions(Integer, Integer, LocalDate, LocalDate)}.
+     * The upstream rate queries run on the HTTP client's event loop and the promotion query on a bounded
+     * elastic worker, so no caller thread is held while waiting for either.
+     * 
+     * @param tenantId The tenant ID
+     * @param propertyId The property ID
+     * @param startDate First date to include, or null for no lower bound
+     * @param endDate Last date to include, or null for no upper bound
+     * @return Publisher of the daily room rates with promotion information, ordered by date
+     */
+    Mono<List<DailyRoomRateDTO>> getDailyRatesWithPromotionsReactive(Integer tenantId, Integer propertyId,
+                                                                     LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * Evict cached rate calendars so that the next daily-rate request reloads them from the upstream API
+     * 
+     * @param propertyId The property ID, or null to evict the calendars of all properties
+     */
+    void evictRateCalendar(Integer propertyId);
 } 
\ No newline at end of file
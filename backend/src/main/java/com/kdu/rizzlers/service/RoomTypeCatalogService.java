@@ -0,0 +1,19 @@
+package com.kdu.rizzlers.service;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Service keeping the cached room type catalogs of properties current.
+ * Catalogs are cached by the rate pipeline as a side effect of fetching rates, and reloaded from the GraphQL API
+ * on a fixed schedule or on demand.
+ */
+public interface RoomTypeCatalogService {
+
+    /**
+     * Reload room type catalogs from the GraphQL API
+     *
+     * @param propertyId The property ID, or null to reload the catalogs of all properties currently cached
+     * @return The number of catalogs reloaded; catalogs that failed to load keep their previous contents
+     */
+    Mono<Integer> refreshCatalogs(Integer propertyId);
+}
@@ -1,15 +1,43 @@
 package com.kdu.rizzlers.service;
 
+import com.kdu.rizzlers.cache.LandingPageSnapshotCache;
 import com.kdu.rizzlers.dto.in.TenantConfigurationRequest;
+import com.kdu.rizzlers.dto.in.TenantConfigurationUpsertRequest;
+import com.kdu.rizzlers.dto.out.KeysetPageResponse;
 import com.kdu.rizzlers.dto.out.LandingPageConfigResponse;
 import com.kdu.rizzlers.dto.out.TenantConfigurationResponse;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TenantConfigurationService {
     TenantConfigurationResponse createConfiguration(TenantConfigurationRequest request);
+
+    /**
+     * Create or update many configurations in one transaction, matching existing active configurations by
+     * tenant, page and field. When a key appears more than once, its last row wins.
+     * 
+     * @param requests The configurations to store as active
+     * @return The number of configurations inserted or updated
+     */
+    int upsertConfigurations(List<TenantConfigurationUpsertRequest> requests);
     TenantConfigurationResponse getConfigurationById(Long id);
     List<TenantConfigurationResponse> getAllConfigurations();
+
+    /**
+     * Get one page of all configurations in ID order
+     * 
+     * @param afterId The last ID of the previous page, or null for the first page
+     * @param limit The page size
+     * @return The page and the ID to continue after
+     */
+    KeysetPageResponse<TenantConfigurationResponse> getConfigurationsPage(Long afterId, int limit);
+
+    /**
+     * Pass every configuration, in ID order, to the action while reading them from a server-side cursor,
+     * so memory use does not grow with the table
+     */
+    void forEachConfiguration(Consumer<? super TenantConfigurationResponse> action);
     List<TenantConfigurationResponse> getConfigurationsByTenantId(Integer tenantId);
     List<TenantConfigurationResponse> getConfigurationsByTenantIdAndPage(Integer tenantId, String page);
     TenantConfigurationResponse getConfigurationByTenantIdAndPageAndField(Integer tenantId, String page, String field);
@@ -27,4 +55,13 @@ public interface TenantConfigurationService {
      * @return Landing page configuration response
      */
     LandingPageConfigResponse getLandingPageConfiguration(Integer tenantId, boolean fetchPropertyDetails);
+
+    /**
+     * Get the landing page configuration for a specific tenant together with its pre-serialized JSON and ETag
+     * 
+     * @param tenantId The tenant ID
+     * @param fetchPropertyDetails Whether to fetch property details from GraphQL service
+     * @return The current landing page snapshot
+     */
+    LandingPageSnapshotCache.Snapshot getLandingPageSnapshot(Integer tenantId, boolean fetchPropertyDetails);
 } 
\ No newline at end of file
@@ -1,44 +1,66 @@
 package com.kdu.rizzlers.service.impl;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kdu.rizzlers.cache.PropertyDetailsCache;
+import com.kdu.rizzlers.config.GraphQlClientMetrics;
 import com.kdu.rizzlers.dto.out.PropertyResponse;
 import com.kdu.rizzlers.service.GraphQLPropertyService;
+import com.kdu.rizzlers.util.GraphQlResponseReader;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Function;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class GraphQLPropertyServiceImpl implements GraphQLPropertyService {
 
-    private final WebClient.Builder webClientBuilder;
-    private final ObjectMapper objectMapper;
+    /**
+     * Server-side filtered lookup; the result size is bounded by take so upstream paging defaults do not apply
+     */
+    private static final String PROPERTIES_BY_IDS_QUERY = """
+            query getPropertiesByIds($propertyIds: [Int!]!, $take: Int!) {
+              listProperties(where: {property_id: {in: $propertyIds}}, take: $take) {
+                property_id
+                property_name
+                property_address
+                contact_number
+              }
+            }
+            """;
+
+    private static final GraphQlResponseReader<List<PropertyResponse>> PROPERTIES_READER =
+            GraphQlResponseReader.forList("listProperties", PropertyResponse.class);
+
+    private final WebClient graphQlWebClient;
+    private final PropertyDetailsCache propertyDetailsCache;
+    private final GraphQlClientMetrics graphQlClientMetrics;
     
     @Value("${graphql.endpoint}")
     private String graphqlUrl;
     
-    @Value("${graphql.api-key}")
-    private String apiKey;
-    
-    @Value("${graphql.api-key-header}")
-    private String apiKeyHeader;
-    
     @Value("${graphql.timeout}")
     private int timeout;
+    
+    @Value("${graphql.properties.chunk-size:100}")
+    private int chunkSize;
+    
+    @Value("${graphql.properties.chunk-parallelism:4}")
+    private int chunkParallelism;
 
     @Override
     public List<PropertyResponse> getPropertiesByIds(List<Integer> propertyIds) {
@@ -47,75 +69,136 @@ public class GraphQLPropertyServiceImpl implements GraphQLPropertyService {
             return new ArrayList<>();
         }
         
-        try {
-            log.debug("Making POST request to GraphQL endpoint: {}", graphqlUrl);
-            
-            // Create a simple GraphQL query to list all properties, not filtering by IDs to ensure we get all properties
-            String query = "{ listProperties { property_id property_name property_address contact_number } }";
-            
+        // Deduplicate while keeping the caller's order
+        Set<Integer> requestedIds = new LinkedHashSet<>(propertyIds);
+        requestedIds.remove(null);
+        
+        // Serve what we can from the details cache and only ask the GraphQL API for the rest
+        PropertyDetailsCache.Lookup cached = propertyDetailsCache.getAll(requestedIds);
+        Map<Integer, PropertyResponse> found = new HashMap<>(cached.found());
+        if (!cached.dueForRefresh().isEmpty()) {
+            refreshInBackground(cached.dueForRefresh());
+        }
+        
+        List<Integer> missingIds = new ArrayList<>();
+        for (Integer propertyId : requestedIds) {
+            if (!found.containsKey(propertyId)) {
+                missingIds.add(propertyId);
+            }
+        }
+        
+        if (!missingIds.isEmpty()) {
+            try {
+                log.debug("Fetching {} of {} properties from GraphQL endpoint: {}",
+                        missingIds.size(), requestedIds.size(), graphqlUrl);
+                
+                // Concurrent requests missing the same properties share one upstream fetch
+                List<PropertyResponse> fetched = propertyDetailsCache.load(missingIds, this::fetchPropertiesReactive)
+                        .block(Duration.ofMillis(timeout));
+                if (fetched != null) {
+                    for (PropertyResponse property : fetched) {
+                        found.put(property.getPropertyId(), property);
+                    }
+                }
+            } catch (Exception e) {
+                log.error("Error fetching properties from GraphQL: {}", e.getMessage(), e);
+            }
+        }
+        
+        List<PropertyResponse> result = new ArrayList<>(found.size());
+        for (Integer propertyId : requestedIds) {
+            PropertyResponse property = found.get(propertyId);
+            if (property != null) {
+                result.add(property);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reloads cached properties that are close to expiry without making the caller wait.
+     * The stale details stay in the cache, and keep being served, until the reload replaces them.
+     */
+    private void refreshInBackground(Set<Integer> propertyIds) {
+        log.debug("Refreshing details of {} properties in the background", propertyIds.size());
+        List<Integer> idsToRefresh = new ArrayList<>(propertyIds);
+        
+        fetchPropertiesReactive(idsToRefresh)
+            .timeout(Duration.ofMillis(timeout))
+            .subscribe(
+                properties -> {
+                    Set<Integer> notReturned = new HashSet<>(idsToRefresh);
+                    for (PropertyResponse property : properties) {
+                        propertyDetailsCache.put(property);
+                        notReturned.remove(property.getPropertyId());
+                    }
+                    propertyDetailsCache.refreshFailed(notReturned);
+                },
+                e -> {
+                    log.warn("Background refresh of {} properties failed: {}", idsToRefresh.size(), e.getMessage());
+                    propertyDetailsCache.refreshFailed(idsToRefresh);
+                });
+    }
+
+    /**
+     * Fetches properties in chunks of at most chunkSize IDs, with up to chunkParallelism chunks in flight.
+     * A failed chunk is logged and skipped so that the remaining chunks still return their properties.
+     */
+    private Mono<List<PropertyResponse>> fetchPropertiesReactive(List<Integer> propertyIds) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < propertyIds.size(); from += chunkSize) {
+            chunks.add(propertyIds.subList(from, Math.min(from + chunkSize, propertyIds.size())));
+        }
+        
+        return Flux.fromIterable(chunks)
+            .flatMap(chunk -> fetchChunk(chunk)
+                .onErrorResume(e -> {
+                    log.error("Error fetching {} properties from GraphQL: {}", chunk.size(), e.getMessage(), e);
+                    return Mono.just(List.of());
+                }), chunkParallelism)
+            .flatMapIterable(Function.identity())
+            .collectList();
+    }
+
+    private Mono<List<PropertyResponse>> fetchChunk(List<Integer> propertyIds) {
+        return Mono.defer(() -> {
             // Build the request body
             Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("query", query);
+            requestBody.put("query", PROPERTIES_BY_IDS_QUERY);
+            requestBody.put("variables", Map.of("propertyIds", propertyIds, "take", propertyIds.size()));
             
-            // Log the request for debugging
-            log.debug("GraphQL Query: {}", query);
-            log.debug("Using API Key Header: {}, API Key: {}", apiKeyHeader, apiKey);
-            
-            // Build WebClient and make POST request
-            WebClient client = webClientBuilder.build();
-            
-            String response = client
+            // Make POST request through the shared, pooled client; it already carries the API key header
+            return graphQlWebClient
                 .post()
                 .uri(graphqlUrl)
+                .attribute(GraphQlClientMetrics.OPERATION_ATTRIBUTE, GraphQlClientMetrics.LIST_PROPERTIES)
                 .contentType(MediaType.APPLICATION_JSON)
-                .header(apiKeyHeader, apiKey) // Use the header name from properties
                 .bodyValue(requestBody)
                 .retrieve()
-                .bodyToMono(String.class)
-                .block(Duration.ofMillis(timeout));
-            
-            if (response != null) {
-                log.debug("Received response from GraphQL endpoint");
-                
-                // Parse the JSON response
-                JsonNode root = objectMapper.readTree(response);
-                JsonNode data = root.path("data");
-                JsonNode properties = data.path("listProperties");
-                
-                if (properties.isArray()) {
-                    log.info("Found {} properties in response", properties.size());
-                    
-                    List<PropertyResponse> result = new ArrayList<>();
-                    for (JsonNode property : properties) {
-                        Integer id = property.path("property_id").asInt();
-                        
-                        // Include all properties that are in our input list
-                        if (propertyIds.contains(id)) {
-                            PropertyResponse propertyResponse = PropertyResponse.builder()
-                                .propertyId(id)
-                                .propertyName(property.path("property_name").asText())
-                                .propertyAddress(property.path("property_address").asText())
-                                .contactNumber(property.path("contact_number").asText())
-                                .tenantId(1) // Default value
-                                .build();
-                            
-                            result.add(propertyResponse);
-                            log.debug("Added property: ID={}, Name={}", 
-                                id, property.path("property_name").asText());
-                        }
-                    }
-                    
-                    return result;
-                } else {
-                    log.warn("listProperties is not an array in the GraphQL response");
-                }
-            } else {
-                log.warn("Received null response from GraphQL endpoint");
+                .bodyToMono(byte[].class)
+                .handle(PROPERTIES_READER::decode)
+                .map(properties -> keepRequested(properties, new HashSet<>(propertyIds)))
+                .doOnNext(properties -> graphQlClientMetrics.recordRows(GraphQlClientMetrics.LIST_PROPERTIES, properties.size()))
+                .doOnError(e -> graphQlClientMetrics.recordFailure(GraphQlClientMetrics.LIST_PROPERTIES, e));
+        });
+    }
+
+    /**
+     * Keeps only the requested properties of a listProperties response
+     */
+    private List<PropertyResponse> keepRequested(List<PropertyResponse> properties, Set<Integer> propertyIds) {
+        log.info("Found {} properties in response", properties.size());
+        
+        List<PropertyResponse> result = new ArrayList<>(properties.size());
+        for (PropertyResponse property : properties) {
+            // The filter runs upstream, but guard against a server that ignores it
+            if (propertyIds.contains(property.getPropertyId())) {
+                property.setTenantId(1); // Default value
+                result.add(property);
+                log.debug("Added property: ID={}, Name={}", property.getPropertyId(), property.getPropertyName());
             }
-        } catch (Exception e) {
-            log.error("Error fetching properties from GraphQL: {}", e.getMessage(), e);
         }
         
-        return new ArrayList<>();
+        return result;
     }
-} 
\ No newline at end of file
+}
@@ -2,22 +2,35 @@ package com.kdu.rizzlers.service.impl;
 
 import com.kdu.rizzlers.dto.in.GuestTypeDefinitionRequest;
 import com.kdu.rizzlers.dto.out.GuestTypeDefinitionResponse;
+import com.kdu.rizzlers.dto.out.KeysetPageResponse;
 import com.kdu.rizzlers.entity.GuestTypeDefinition;
+import com.kdu.rizzlers.event.TenantDataChangedEvent;
 import com.kdu.rizzlers.exception.ResourceNotFoundException;
 import com.kdu.rizzlers.repository.GuestTypeDefinitionRepository;
 import com.kdu.rizzlers.service.GuestTypeDefinitionService;
+import com.kdu.rizzlers.util.KeysetPagination;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class GuestTypeDefinitionServiceImpl implements GuestTypeDefinitionService {
 
     private final GuestTypeDefinitionRepository guestTypeDefinitionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Override
     @Transactional
@@ -33,6 +46,7 @@ public class GuestTypeDefinitionServiceImpl implements GuestTypeDefinitionServic
                 .build();
         
         GuestTypeDefinition savedGuestTypeDefinition = guestTypeDefinitionRepository.save(guestTypeDefinition);
+        publishChange(savedGuestTypeDefinition.getTenantId());
         return mapToResponse(savedGuestTypeDefinition);
     }
 
@@ -50,6 +64,26 @@ public class GuestTypeDefinitionServiceImpl implements GuestTypeDefinitionServic
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPageResponse<GuestTypeDefinitionResponse> getGuestTypeDefinitionsPage(Long afterId, int limit) {
+        List<GuestTypeDefinition> guestTypeDefinitions = guestTypeDefinitionRepository.findByIdGreaterThanOrderByIdAsc(
+                KeysetPagination.afterId(afterId), KeysetPagination.queryLimit(limit));
+        return KeysetPagination.page(guestTypeDefinitions, limit, GuestTypeDefinition::getId, this::mapToResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachGuestTypeDefinition(Consumer<? super GuestTypeDefinitionResponse> action) {
+        try (Stream<GuestTypeDefinition> guestTypeDefinitions = guestTypeDefinitionRepository.streamAllByOrderByIdAsc()) {
+            guestTypeDefinitions.forEach(guestTypeDefinition -> {
+                action.accept(mapToResponse(guestTypeDefinition));
+                // Keep the persistence context from growing with the table
+                entityManager.detach(guestTypeDefinition);
+            });
+        }
+    }
+
     @Override
     public List<GuestTypeDefinitionResponse> getGuestTypeDefinitionsByTenantIdAndIsActive(Integer tenantId, Boolean isActive) {
         return guestTypeDefinitionRepository.findByTenantIdAndIsActive(tenantId, isActive).stream()
@@ -79,6 +113,7 @@ public class GuestTypeDefinitionServiceImpl implements GuestTypeDefinitionServic
     public GuestTypeDefinitionResponse updateGuestTypeDefinition(Long id, GuestTypeDefinitionRequest request) {
         GuestTypeDefinition guestTypeDefinition = guestTypeDefinitionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("GuestTypeDefinition", "id", id));
+        Integer previousTenantId = guestTypeDefinition.getTenantId();
         
         guestTypeDefinition.setTenantId(request.getTenantId());
         guestTypeDefinition.setGuestType(request.getGuestType());
@@ -89,6 +124,10 @@ public class GuestTypeDefinitionServiceImpl implements GuestTypeDefinitionServic
         guestTypeDefinition.setMaxCount(request.getMaxCount());
         
         GuestTypeDefinition updatedGuestTypeDefinition = guestTypeDefinitionRepository.save(guestTypeDefinition);
+        publishChange(previousTenantId);
+        if (!Objects.equals(previousTenantId, updatedGuestTypeDefinition.getTenantId())) {
+            publishChange(updatedGuestTypeDefinition.getTenantId());
+        }
         return mapToResponse(updatedGuestTypeDefinition);
     }
 
@@ -101,6 +140,11 @@ public class GuestTypeDefinitionServiceImpl implements GuestTypeDefinitionServic
         // Soft delete: update isActive to false
         guestTypeDefinition.setIsActive(false);
         guestTypeDefinitionRepository.save(guestTypeDefinition);
+        publishChange(guestTypeDefinition.getTenantId());
+    }
+
+    private void publishChange(Integer tenantId) {
+        eventPublisher.publishEvent(new TenantDataChangedEvent(tenantId, "Guest type definition"));
     }
 
     private GuestTypeDefinitionResponse mapToResponse(GuestTypeDefinition guestTypeDefinition) {
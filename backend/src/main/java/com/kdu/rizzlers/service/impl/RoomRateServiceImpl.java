@@ -1,19 +1,39 @@
 package com.kdu.rizzlers.service.impl;
 
+import com.kdu.rizzlers.cache.RateCalendar;
+import com.kdu.rizzlers.cache.RoomRateCalendarCache;
+import com.kdu.rizzlers.cache.RoomTypeCatalog;
+import com.kdu.rizzlers.cache.RoomTypeCatalogCache;
+import com.kdu.rizzlers.config.GraphQlClientMetrics;
+import com.kdu.rizzlers.dto.graphql.Room;
+import com.kdu.rizzlers.dto.graphql.RoomType;
 import com.kdu.rizzlers.dto.out.DailyRoomRateDTO;
+import com.kdu.rizzlers.dto.out.KeysetPageResponse;
 import com.kdu.rizzlers.entity.PropertyPromotionSchedule;
+import com.kdu.rizzlers.exception.GraphQlErrorException;
 import com.kdu.rizzlers.repository.PropertyPromotionScheduleRepository;
 import com.kdu.rizzlers.service.RoomRateService;
+import com.kdu.rizzlers.util.GraphQlPagination;
+import com.kdu.rizzlers.util.GraphQlResponseReader;
+import com.kdu.rizzlers.util.KeysetPagination;
+import com.kdu.rizzlers.util.PromotionIntervalIndex;
+import com.kdu.rizzlers.util.RoomRateResponseParser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.graphql.client.HttpGraphQlClient;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
@@ -22,7 +42,11 @@ import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -30,18 +54,34 @@ import java.util.stream.Collectors;
 public class RoomRateServiceImpl implements RoomRateService {
     private static final DateTimeFormatter ISO_DATE_FORMATTER = DateTimeFormatter.ISO_INSTANT;
     private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(2);
+    private static final GraphQlResponseReader<List<Room>> ROOMS_READER =
+            GraphQlResponseReader.forList("listRooms", Room.class);
     
-    private final WebClient.Builder webClientBuilder;
+    private final WebClient graphQlWebClient;
     private final PropertyPromotionScheduleRepository propertyPromotionScheduleRepository;
+    private final RoomRateCalendarCache rateCalendarCache;
+    private final RoomTypeCatalogCache roomTypeCatalogCache;
+    private final GraphQlClientMetrics graphQlClientMetrics;
+    // Set once the upstream schema has rejected the nested query, which would fail the same way on every request
+    private final AtomicBoolean nestedQueryRejected = new AtomicBoolean();
+    
+    @PersistenceContext
+    private EntityManager entityManager;
     
     @Value("${graphql.endpoint}")
-    private String graphqlEndpoint;
+    private String graphqlUrl;
+    
+    @Value("${room-rates.graphql.page-size:1000}")
+    private int pageSize;
+    
+    @Value("${room-rates.graphql.parallelism:4}")
+    private int parallelism;
     
-    @Value("${graphql.api-key-header}")
-    private String apiKeyHeader;
+    @Value("${room-rates.graphql.nested-query:true}")
+    private boolean nestedQuery;
     
-    @Value("${graphql.api-key}")
-    private String apiKey;
+    @Value("${room-rates.graphql.room-types-page-size:50}")
+    private int roomTypesPageSize;
     
     @Override
     @Transactional(readOnly = true)
@@ -58,83 +98,107 @@ public class RoomRateServiceImpl implements RoomRateService {
     
     @Override
     @Transactional(readOnly = true)
-    public List<DailyRoomRateDTO> getDailyRatesWithPromotions(Integer tenantId, Integer propertyId) {
-        log.info("Fetching ALL daily rates with promotions for tenantId={}, propertyId={}", 
-                tenantId, propertyId);
-        
-        // STEP 1: Get ALL room types and their rates from GraphQL directly
-        // This approach uses a more efficient query structure
-        Map<LocalDate, Double> allRates = fetchMinimumRoomRates(propertyId);
-        
-        if (allRates.isEmpty()) {
-            log.info("No rates found for property {}", propertyId);
-            return Collections.emptyList();
+    public KeysetPageResponse<PropertyPromotionSchedule> getPromotionsPage(Integer propertyId, Long afterId, int limit) {
+        List<PropertyPromotionSchedule> promotions = propertyPromotionScheduleRepository
+                .findByPropertyIdAndIdGreaterThanOrderByIdAsc(propertyId, KeysetPagination.afterId(afterId),
+                        KeysetPagination.queryLimit(limit));
+        return KeysetPagination.page(promotions, limit, PropertyPromotionSchedule::getId, Function.identity());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachPromotion(Integer propertyId, Consumer<? super PropertyPromotionSchedule> action) {
+        try (Stream<PropertyPromotionSchedule> promotions =
+                     propertyPromotionScheduleRepository.streamByPropertyIdOrderByIdAsc(propertyId)) {
+            promotions.forEach(promotion -> {
+                action.accept(promotion);
+                // Keep the persistence context from growing with the table
+                entityManager.detach(promotion);
+            });
         }
+    }
+    
+    @Override
+    public List<DailyRoomRateDTO> getDailyRatesWithPromotions(Integer tenantId, Integer propertyId) {
+        return getDailyRatesWithPromotions(tenantId, propertyId, null, null);
+    }
+    
+    @Override
+    public List<DailyRoomRateDTO> getDailyRatesWithPromotions(Integer tenantId, Integer propertyId,
+                                                              LocalDate startDate, LocalDate endDate) {
+        return getDailyRatesWithPromotionsReactive(tenantId, propertyId, startDate, endDate).block();
+    }
+    
+    @Override
+    public Mono<List<DailyRoomRateDTO>> getDailyRatesWithPromotionsReactive(Integer tenantId, Integer propertyId,
+                                                                            LocalDate startDate, LocalDate endDate) {
+        log.info("Fetching daily rates with promotions for tenantId={}, propertyId={}, window={} to {}", 
+                tenantId, propertyId, startDate != null ? startDate : "*", endDate != null ? endDate : "*");
         
-        log.info("Fetched {} dates with rates for property {}", allRates.size(), propertyId);
-        
-        // STEP 2: Find min and max dates in the data to get all applicable promotions
-        LocalDate minDate = allRates.keySet().stream().min(LocalDate::compareTo).orElse(LocalDate.now());
-        LocalDate maxDate = allRates.keySet().stream().max(LocalDate::compareTo).orElse(LocalDate.now());
-        log.info("Date range in fetched data: {} to {}", minDate, maxDate);
-        
-        // STEP 3: Get ALL promotions from the property_promotion_schedule table
-        List<PropertyPromotionSchedule> promotions = getAllPromotions(propertyId);
-        log.info("Found {} promotions for property {}", promotions.size(), propertyId);
-        
-        // STEP 4: Create a map of date -> promotion for faster lookups
-        Map<LocalDate, PropertyPromotionSchedule> dateToPromotionMap = new HashMap<>();
-        
-        // For each date, find applicable promotions
-        allRates.keySet().forEach(date -> {
-            LocalDate finalDate = date; // Need final variable for lambda
-            promotions.stream()
-                .filter(promotion -> promotion.isDateInPromotionPeriod(finalDate))
-                .findFirst()
-                .ifPresent(promotion -> dateToPromotionMap.put(finalDate, promotion));
-        });
-        
-        // STEP 5: Create DTOs with rate and promotion info for ALL dates
-        List<DailyRoomRateDTO> result = allRates.entrySet().stream()
-            .map(entry -> {
-                LocalDate date = entry.getKey();
-                Double minRate = entry.getValue();
-                PropertyPromotionSchedule promotion = dateToPromotionMap.get(date);
+        // STEP 1: Get the room rates within the window, from the in-process calendar cache when possible,
+        // and the promotions for the same window at the same time. The promotion query does not depend on the
+        // rates, so it holds a database connection only while it runs, never while the upstream API is slow.
+        return Mono.zip(getRateCalendar(propertyId, startDate, endDate), findPromotions(propertyId, startDate, endDate))
+            .map(ratesAndPromotions -> {
+                RateCalendar allRates = ratesAndPromotions.getT1();
                 
-                // Default values
-                boolean hasPromotion = false;
-                Integer promotionId = null;
-                BigDecimal priceFactor = null;
-                Double discountedRate = minRate;
+                // A cached calendar may cover a wider window than requested, so clamp to the requested dates
+                long firstDay = startDate != null
+                        ? Math.max(allRates.getFirstEpochDay(), startDate.toEpochDay())
+                        : allRates.getFirstEpochDay();
+                long lastDay = endDate != null
+                        ? Math.min(allRates.getLastEpochDay(), endDate.toEpochDay())
+                        : allRates.getLastEpochDay();
                 
-                // Apply promotion if exists
-                if (promotion != null) {
-                    hasPromotion = true;
-                    promotionId = promotion.getPromotionId();
-                    priceFactor = promotion.getPriceFactor();
-                    
-                    // Calculate discounted rate using the price factor from property_promotion_schedule
-                    discountedRate = BigDecimal.valueOf(minRate)
-                        .multiply(priceFactor)
-                        .setScale(2, RoundingMode.HALF_UP)
-                        .doubleValue();
-                } else {
-                    // Use the database default (1.0) for price factor if no promotion
-                    priceFactor = BigDecimal.ONE;
+                if (allRates.isEmpty() || firstDay > lastDay) {
+                    log.info("No rates found for property {}", propertyId);
+                    return Collections.<DailyRoomRateDTO>emptyList();
                 }
                 
-                // Create and return the DTO
-                return DailyRoomRateDTO.builder()
-                    .date(date)
-                    .minimumRate(minRate)
-                    .hasPromotion(hasPromotion)
-                    .promotionId(promotionId)
-                    .priceFactor(priceFactor.doubleValue())
-                    .discountedRate(discountedRate)
-                    .build();
-            })
-            .sorted(Comparator.comparing(DailyRoomRateDTO::getDate))
-            .collect(Collectors.toList());
+                log.info("Fetched {} dates with rates for property {}", allRates.size(), propertyId);
+                log.info("Date range in fetched data: {} to {}", LocalDate.ofEpochDay(firstDay), LocalDate.ofEpochDay(lastDay));
+                
+                // STEP 2: Join the rates with the promotions that apply to their dates
+                return buildDailyRates(propertyId, allRates, firstDay, lastDay, ratesAndPromotions.getT2());
+            });
+    }
+
+    /**
+     * Queries the active promotions that can apply within the window. With an open-ended window the range of
+     * dates that have rates is not known until the rates arrive, so all of the property's active promotions are
+     * read instead; promotions outside the rated dates are ignored when the two are joined.
+     * <p>
+     * JPA blocks, so the query runs on the bounded elastic scheduler rather than an event loop thread. It goes
+     * straight to the repository, whose query methods are read-only transactional: the query is routed to a read
+     * replica, and its transaction ends, releasing the connection, as soon as the rows are read.
+     */
+    private Mono<List<PropertyPromotionSchedule>> findPromotions(Integer propertyId, LocalDate startDate,
+                                                                 LocalDate endDate) {
+        return Mono.fromCallable(() -> startDate != null && endDate != null
+                    ? propertyPromotionScheduleRepository.findActivePromotionsForPropertyInPeriod(propertyId, startDate, endDate)
+                    : propertyPromotionScheduleRepository.findByPropertyIdAndIsActiveTrue(propertyId))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Combines the rate calendar with the promotions into one DTO per date that has a rate
+     */
+    private List<DailyRoomRateDTO> buildDailyRates(Integer propertyId, RateCalendar allRates, long firstDay,
+                                                   long lastDay, List<PropertyPromotionSchedule> promotions) {
+        log.info("Found {} promotions for property {}", promotions.size(), propertyId);
+        
+        // STEP 3: Resolve the applicable promotion for every date in one sweep over the promotion intervals
+        PropertyPromotionSchedule[] promotionByDay = new PromotionIntervalIndex(promotions).resolve(firstDay, lastDay);
+        
+        // STEP 4: Create DTOs with rate and promotion info for every date in the range
+        List<DailyRoomRateDTO> result = new ArrayList<>();
+        for (long day = firstDay; day <= lastDay; day++) {
+            double rate = allRates.rateAt(day);
+            if (Double.isNaN(rate)) {
+                continue;
+            }
+            result.add(toDailyRate(LocalDate.ofEpochDay(day), rate, promotionByDay[(int) (day - firstDay)]));
+        }
         
         log.info("Returning {} daily rates with promotions", result.size());
         if (!result.isEmpty()) {
@@ -146,186 +210,412 @@ public class RoomRateServiceImpl implements RoomRateService {
         return result;
     }
 
+    @Override
+    public void evictRateCalendar(Integer propertyId) {
+        if (propertyId == null) {
+            rateCalendarCache.invalidateAll();
+        } else {
+            rateCalendarCache.invalidate(propertyId);
+        }
+    }
+
     /**
-     * Fetches minimum room rates for all dates directly using a more efficient query
-     * Based on the reference implementation and using document() method for GraphQL
+     * Builds the DTO for a single date, applying the promotion price factor if one is given
      */
-    private Map<LocalDate, Double> fetchMinimumRoomRates(Integer propertyId) {
-        // Create a GraphQL client
-        HttpGraphQlClient graphQlClient = createGraphQlClient();
+    private DailyRoomRateDTO toDailyRate(LocalDate date, double minRate, PropertyPromotionSchedule promotion) {
+        // Default values
+        boolean hasPromotion = false;
+        Integer promotionId = null;
+        BigDecimal priceFactor = null;
+        double discountedRate = minRate;
         
-        try {
-            // 1. First fetch available room types for the property
-            String roomQuery = """
-                query getAvailableRooms($propertyId: Int!) {
-                  listRooms(
-                    where: {
-                      property_id: {equals: $propertyId}
-                    }
-                    take: 1000
-                  ) {
-                    room_id
-                    room_type {
-                      room_type_id
-                      room_type_name
-                    }
-                  }
-                }
-            """;
+        // Apply promotion if exists
+        if (promotion != null) {
+            hasPromotion = true;
+            promotionId = promotion.getPromotionId();
+            priceFactor = promotion.getPriceFactor();
             
-            // Get all room type IDs
-            List<Integer> roomTypeIds = graphQlClient.document(roomQuery)
-                .variable("propertyId", propertyId)
-                .retrieve("listRooms")
-                .toEntity(new ParameterizedTypeReference<List<Map<String, Object>>>() {})
-                .map(rooms -> {
-                    log.debug("GraphQL rooms response size: {}", rooms.size());
-                    Set<Integer> typeIds = new HashSet<>();
-                    
-                    try {
-                        if (rooms != null) {
-                            for (Map<String, Object> room : rooms) {
-                                if (room.containsKey("room_type")) {
-                                    Map<String, Object> roomType = (Map<String, Object>) room.get("room_type");
-                                    
-                                    if (roomType != null && roomType.containsKey("room_type_id")) {
-                                        Integer roomTypeId = ((Number) roomType.get("room_type_id")).intValue();
-                                        typeIds.add(roomTypeId);
-                                    }
-                                }
-                            }
-                        }
-                    } catch (Exception e) {
-                        log.error("Error parsing GraphQL rooms response: {}", e.getMessage(), e);
-                    }
-                    
-                    log.info("Found {} room type IDs for property {}", typeIds.size(), propertyId);
-                    return new ArrayList<>(typeIds);
-                })
-                .onErrorResume(e -> {
-                    log.error("Error fetching rooms: {}", e.getMessage(), e);
-                    return Mono.just(new ArrayList<>());
-                })
-                .block();
+            // Calculate discounted rate using the price factor from property_promotion_schedule
+            discountedRate = BigDecimal.valueOf(minRate)
+                .multiply(priceFactor)
+                .setScale(2, RoundingMode.HALF_UP)
+                .doubleValue();
+        } else {
+            // Use the database default (1.0) for price factor if no promotion
+            priceFactor = BigDecimal.ONE;
+        }
+        
+        // Create and return the DTO
+        return DailyRoomRateDTO.builder()
+            .date(date)
+            .minimumRate(minRate)
+            .hasPromotion(hasPromotion)
+            .promotionId(promotionId)
+            .priceFactor(priceFactor.doubleValue())
+            .discountedRate(discountedRate)
+            .build();
+    }
+
+    /**
+     * Returns the cached rate calendar for a property, fetching and caching it on a miss.
+     * Concurrent requests that miss for the same property and window share one upstream fetch.
+     */
+    private Mono<RateCalendar> getRateCalendar(Integer propertyId, LocalDate startDate, LocalDate endDate) {
+        return rateCalendarCache.getOrLoad(propertyId, startDate, endDate,
+                () -> fetchMinimumRoomRates(propertyId, startDate, endDate));
+    }
+
+    /**
+     * Fetches minimum room rates for all dates of the window.
+     * <p>
+     * When the property's room types are in the {@link RoomTypeCatalogCache}, only the rates of those room types
+     * are queried. Otherwise a single nested query reads the property's room types together with their rates,
+     * see {@link #fetchRoomTypeRates}, and caches the room types it returns. If the upstream rejects that query
+     * as invalid for its schema, the separate rooms and rates queries are used instead, for this and every later
+     * request. Other failures, such as timeouts, are logged and yield an empty calendar, as for the separate
+     * queries. Set {@code room-rates.graphql.nested-query=false} to always use the separate queries on a catalog
+     * miss.
+     * 
+     * @param propertyId The property ID
+     * @param startDate First date to fetch, or null for no lower bound
+     * @param endDate Last date to fetch, or null for no upper bound
+     */
+    private Mono<RateCalendar> fetchMinimumRoomRates(Integer propertyId, LocalDate startDate, LocalDate endDate) {
+        RoomTypeCatalog catalog = roomTypeCatalogCache.get(propertyId);
+        if (catalog != null) {
+            log.debug("Using {} cached room types for property {}", catalog.size(), propertyId);
+            return fetchCalendar(propertyId, catalog, startDate, endDate);
+        }
+        if (!nestedQuery || nestedQueryRejected.get()) {
+            return fetchMinimumRoomRatesByRooms(propertyId, startDate, endDate);
+        }
+        return fetchRoomTypeRates(propertyId, startDate, endDate)
+            .doOnNext(calendar -> log.info("Fetched {} room rates from GraphQL", calendar.size()))
+            .onErrorResume(RoomRateServiceImpl::isRequestError, e -> {
+                if (nestedQueryRejected.compareAndSet(false, true)) {
+                    log.warn("Upstream rejected the nested room type rates query, using separate rooms and rates "
+                            + "queries from now on: {}", e.getMessage());
+                }
+                return fetchMinimumRoomRatesByRooms(propertyId, startDate, endDate);
+            })
+            .onErrorResume(e -> {
+                log.error("Error fetching room type rates: {}", e.getMessage(), e);
+                return Mono.just(RateCalendar.empty());
+            });
+    }
+
+    private static boolean isRequestError(Throwable e) {
+        return e instanceof GraphQlErrorException graphQlError && graphQlError.isRequestError();
+    }
+
+    /**
+     * Fetches minimum room rates with two sequential queries: the property's rooms, for their distinct room
+     * types, which are cached as the property's catalog, and then the rates of those room types.
+     * <p>
+     * Both the rooms and the rates queries are paginated, see {@link GraphQlPagination}.
+     * Upstream failures are logged and yield an empty calendar.
+     */
+    private Mono<RateCalendar> fetchMinimumRoomRatesByRooms(Integer propertyId, LocalDate startDate,
+                                                            LocalDate endDate) {
+        return fetchRoomTypesOfRooms(propertyId)
+            .onErrorResume(e -> {
+                log.error("Error fetching rooms: {}", e.getMessage(), e);
+                return Mono.just(RoomTypeCatalog.empty());
+            })
+            .flatMap(catalog -> {
+                if (!catalog.isEmpty()) {
+                    roomTypeCatalogCache.put(propertyId, catalog);
+                }
+                return fetchCalendar(propertyId, catalog, startDate, endDate);
+            });
+    }
+
+    /**
+     * Fetches the rates of a property's room types, restricted to the requested window.
+     * Rate pages are parsed as they arrive and merged into a single calendar, so the result does not depend on
+     * page order. Upstream failures are logged and yield an empty calendar.
+     */
+    private Mono<RateCalendar> fetchCalendar(Integer propertyId, RoomTypeCatalog catalog, LocalDate startDate,
+                                             LocalDate endDate) {
+        if (catalog.isEmpty()) {
+            log.info("No room types found for property {}", propertyId);
+            return Mono.just(RateCalendar.empty());
+        }
+        
+        return fetchRates(catalog.roomTypeIds(), startDate, endDate)
+            .map(RateCalendar.Builder::build)
+            .doOnNext(calendar -> {
+                // Log some info about the data we fetched
+                log.info("Fetched {} room rates from GraphQL", calendar.size());
                 
-            if (roomTypeIds == null || roomTypeIds.isEmpty()) {
-                log.info("No room types found for property {}", propertyId);
-                return Collections.emptyMap();
+                if (!calendar.isEmpty()) {
+                    log.info("Date range in fetched data: {} to {}", calendar.getFirstDate(), calendar.getLastDate());
+                }
+            })
+            .onErrorResume(e -> {
+                // A failed page would leave gaps in the calendar, so discard the partial result
+                log.error("Error fetching room rates: {}", e.getMessage(), e);
+                return Mono.just(RateCalendar.empty());
+            });
+    }
+
+    /**
+     * Fetches the distinct room types of a property's rooms, page by page
+     */
+    private Mono<RoomTypeCatalog> fetchRoomTypesOfRooms(Integer propertyId) {
+        String roomQuery = """
+            query getAvailableRooms($propertyId: Int!, $skip: Int!, $take: Int!) {
+              listRooms(
+                where: {
+                  property_id: {equals: $propertyId}
+                }
+                orderBy: {room_id: ASC}
+                skip: $skip
+                take: $take
+              ) {
+                room_id
+                room_type {
+                  room_type_id
+                  room_type_name
+                  max_capacity
+                }
+              }
             }
-            
-            // 2. Now fetch all rates for these room types
-            String ratesQuery = """
-                query getRoomRates($roomTypeIds: [Int!]!) {
-                  listRoomRateRoomTypeMappings(
-                    where: {room_type_id: {in: $roomTypeIds}}
-                    orderBy: {room_rate: {date: ASC}}
-                    take: 1000
-                  ) {
-                    room_rate {
-                      basic_nightly_rate
-                      date
-                      room_rate_id
+        """;
+        
+        GraphQlPagination.PageFetcher<List<Room>> roomPages = (skip, take) -> graphQlWebClient
+            .post()
+            .uri(graphqlUrl)
+            .attribute(GraphQlClientMetrics.OPERATION_ATTRIBUTE, GraphQlClientMetrics.LIST_ROOMS)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(Map.of("query", roomQuery,
+                    "variables", Map.of("propertyId", propertyId, "skip", skip, "take", take)))
+            .retrieve()
+            .bodyToMono(byte[].class)
+            .handle(ROOMS_READER::decode)
+            .doOnNext(rooms -> graphQlClientMetrics.recordRows(GraphQlClientMetrics.LIST_ROOMS, rooms.size()))
+            .doOnError(e -> graphQlClientMetrics.recordFailure(GraphQlClientMetrics.LIST_ROOMS, e));
+        
+        return GraphQlPagination.fetchAll(roomPages, pageSize, parallelism)
+            .reduceWith(ArrayList<RoomType>::new, (roomTypes, rooms) -> {
+                log.debug("GraphQL rooms page size: {}", rooms.size());
+                for (Room room : rooms) {
+                    if (room.getRoomType() != null) {
+                        roomTypes.add(room.getRoomType());
                     }
+                }
+                return roomTypes;
+            })
+            .map(roomTypes -> {
+                // Many rooms share a room type; the catalog keeps each one once
+                RoomTypeCatalog catalog = RoomTypeCatalog.of(roomTypes);
+                log.info("Found {} room type IDs for property {}", catalog.size(), propertyId);
+                return catalog;
+            });
+    }
+
+    /**
+     * Fetches a property's room types with their rates nested under each type, so rooms never have to be listed
+     * and one round trip is enough for properties with up to roomTypesPageSize room types. The room types are
+     * cached as the property's catalog.
+     * <p>
+     * The nested rates are limited to pageSize per room type, since nested lists cannot be paged. Room types
+     * that reach the limit have the rest of their rates fetched with the paged rates query. Upstream failures,
+     * including GraphQL errors, fail the returned Mono.
+     */
+    private Mono<RateCalendar> fetchRoomTypeRates(Integer propertyId, LocalDate startDate, LocalDate endDate) {
+        String dateCondition = dateCondition(startDate, endDate);
+        String roomTypesQuery = """
+            query getRoomTypeRates($propertyId: Int!, $skip: Int!, $take: Int!, $ratesTake: Int!%s) {
+              listRoomTypes(
+                where: {property_id: {equals: $propertyId}}
+                orderBy: {room_type_id: ASC}
+                skip: $skip
+                take: $take
+              ) {
+                room_type_id
+                room_type_name
+                max_capacity
+                room_rates(%sorderBy: [{room_rate_id: ASC}], take: $ratesTake) {
+                  room_rate {
+                    basic_nightly_rate
+                    date
                   }
                 }
-            """;
-            
-            // Get all rates for the room types
-            return graphQlClient.document(ratesQuery)
-                .variable("roomTypeIds", roomTypeIds)
-                .retrieve("listRoomRateRoomTypeMappings")
-                .toEntity(new ParameterizedTypeReference<List<Map<String, Object>>>() {})
-                .map(mappings -> {
-                    log.debug("GraphQL rates mappings response size: {}", mappings.size());
-                    Map<LocalDate, Double> ratesMap = new TreeMap<>(); // Use TreeMap for sorted dates
-                    
-                    try {
-                        if (mappings != null) {
-                            log.info("Received {} mappings from GraphQL", mappings.size());
-                            
-                            for (Map<String, Object> mapping : mappings) {
-                                if (mapping.containsKey("room_rate")) {
-                                    Map<String, Object> rate = (Map<String, Object>) mapping.get("room_rate");
-                                    
-                                    // Parse the date
-                                    LocalDate rateDate = null;
-                                    if (rate.containsKey("date")) {
-                                        Object dateValue = rate.get("date");
-                                        if (dateValue instanceof String) {
-                                            String dateStr = (String) dateValue;
-                                            // ISO format like "2025-03-03T00:00:00.000Z"
-                                            try {
-                                                if (dateStr.length() >= 10) {
-                                                    rateDate = LocalDate.parse(dateStr.substring(0, 10));
-                                                }
-                                            } catch (Exception e) {
-                                                log.error("Error parsing date '{}': {}", dateStr, e.getMessage());
-                                            }
-                                        }
-                                    }
-                                    
-                                    // Parse the rate amount
-                                    Double basicRate = null;
-                                    if (rate.containsKey("basic_nightly_rate")) {
-                                        Object rateValue = rate.get("basic_nightly_rate");
-                                        if (rateValue instanceof Number) {
-                                            basicRate = ((Number) rateValue).doubleValue();
-                                        }
-                                    }
-                                    
-                                    // Store all rates without any date filtering
-                                    if (rateDate != null && basicRate != null) {
-                                        final LocalDate finalRateDate = rateDate;
-                                        final Double finalBasicRate = basicRate;
-                                        
-                                        // For each date, keep the minimum rate
-                                        ratesMap.compute(finalRateDate, (k, existingMin) ->
-                                            existingMin == null ? finalBasicRate : Math.min(existingMin, finalBasicRate));
-                                    }
-                                }
-                            }
-                        }
-                    } catch (Exception e) {
-                        log.error("Error parsing GraphQL room rates response: {}", e.getMessage(), e);
-                    }
-                    
-                    // Log some info about the data we fetched
-                    log.info("Fetched {} room rates from GraphQL", ratesMap.size());
-                    
-                    if (!ratesMap.isEmpty()) {
-                        LocalDate minDate = ratesMap.keySet().stream().min(LocalDate::compareTo).orElse(null);
-                        LocalDate maxDate = ratesMap.keySet().stream().max(LocalDate::compareTo).orElse(null);
-                        log.info("Date range in fetched data: {} to {}", minDate, maxDate);
-                        
-                        // Sample some rates for debugging
-                        log.info("Sample rates: {}", ratesMap.entrySet().stream().limit(5)
-                                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+              }
+            }
+        """.formatted(dateVariableDeclarations(startDate, endDate),
+                dateCondition.isEmpty() ? "" : "where: {" + dateCondition + "}, ");
+        
+        GraphQlPagination.PageFetcher<RoomRateResponseParser.RatePage> roomTypePages = (skip, take) -> {
+            Map<String, Object> variables = dateVariables(startDate, endDate);
+            variables.put("propertyId", propertyId);
+            variables.put("skip", skip);
+            variables.put("take", take);
+            variables.put("ratesTake", pageSize);
+            return fetchRatesPage(Map.of("query", roomTypesQuery, "variables", variables),
+                    GraphQlClientMetrics.LIST_ROOM_TYPES, () -> RoomRateResponseParser.forRoomTypes(pageSize));
+        };
+        
+        return GraphQlPagination.fetchAll(roomTypePages, RoomRateResponseParser.RatePage::rows, roomTypesPageSize, parallelism)
+            .collectList()
+            .flatMap(pages -> {
+                RateCalendar.Builder rates = RateCalendar.builder();
+                List<Integer> truncatedRoomTypeIds = new ArrayList<>();
+                List<RoomType> roomTypes = new ArrayList<>();
+                for (RoomRateResponseParser.RatePage page : pages) {
+                    rates.merge(page.rates());
+                    truncatedRoomTypeIds.addAll(page.truncatedRoomTypeIds());
+                    roomTypes.addAll(page.roomTypes());
+                }
+                log.info("Found {} room types for property {}", roomTypes.size(), propertyId);
+                
+                // Every page was read, so this is the property's complete catalog
+                RoomTypeCatalog catalog = RoomTypeCatalog.of(roomTypes);
+                if (!catalog.isEmpty()) {
+                    roomTypeCatalogCache.put(propertyId, catalog);
+                }
+                if (truncatedRoomTypeIds.isEmpty()) {
+                    return Mono.just(rates.build());
+                }
+                
+                // Rates already read for these room types are fetched again, which the minimum merge tolerates
+                log.info("{} room types of property {} have more than {} rates, fetching them page by page",
+                        truncatedRoomTypeIds.size(), propertyId, pageSize);
+                return fetchRates(truncatedRoomTypeIds, startDate, endDate)
+                    .map(remaining -> rates.merge(remaining).build());
+            });
+    }
+
+    /**
+     * Fetches the rates of the given room types page by page. Each response is parsed straight from the
+     * network buffers into a minimum-rate calendar as it arrives, see {@link RoomRateResponseParser}.
+     */
+    private Mono<RateCalendar.Builder> fetchRates(List<Integer> roomTypeIds, LocalDate startDate, LocalDate endDate) {
+        String dateCondition = dateCondition(startDate, endDate);
+        // Skip-based paging needs a total order, so sort by the mapping's composite key rather than by date
+        String ratesQuery = """
+            query getRoomRates($roomTypeIds: [Int!]!, $skip: Int!, $take: Int!%s) {
+              listRoomRateRoomTypeMappings(
+                where: {room_type_id: {in: $roomTypeIds}%s}
+                orderBy: [{room_rate_id: ASC}, {room_type_id: ASC}]
+                skip: $skip
+                take: $take
+              ) {
+                room_rate {
+                  basic_nightly_rate
+                  date
+                  room_rate_id
+                }
+              }
+            }
+        """.formatted(dateVariableDeclarations(startDate, endDate), dateCondition.isEmpty() ? "" : ", " + dateCondition);
+        
+        GraphQlPagination.PageFetcher<RoomRateResponseParser.RatePage> ratePages = (skip, take) -> {
+            Map<String, Object> variables = dateVariables(startDate, endDate);
+            variables.put("roomTypeIds", roomTypeIds);
+            variables.put("skip", skip);
+            variables.put("take", take);
+            return fetchRatesPage(Map.of("query", ratesQuery, "variables", variables),
+                    GraphQlClientMetrics.LIST_ROOM_RATE_MAPPINGS, RoomRateResponseParser::new);
+        };
+        
+        return GraphQlPagination.fetchAll(ratePages, RoomRateResponseParser.RatePage::rows, pageSize, parallelism)
+            .doOnNext(page -> log.debug("Received {} mappings from GraphQL", page.rows()))
+            .map(RoomRateResponseParser.RatePage::rates)
+            .reduceWith(RateCalendar::builder, RateCalendar.Builder::merge);
+    }
+
+    /**
+     * Posts one rates query and feeds the response body into a {@link RoomRateResponseParser} buffer by buffer,
+     * releasing each buffer once it is parsed, so the page is never held in memory as a whole
+     *
+     * @param operation The GraphQL operation, for metrics
+     * @param parsers Creates the parser matching the shape of the query's response
+     */
+    private Mono<RoomRateResponseParser.RatePage> fetchRatesPage(Map<String, Object> requestBody, String operation,
+                                                                 Supplier<RoomRateResponseParser> parsers) {
+        return graphQlWebClient
+            .post()
+            .uri(graphqlUrl)
+            .attribute(GraphQlClientMetrics.OPERATION_ATTRIBUTE, operation)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(requestBody)
+            .retrieve()
+            .bodyToFlux(DataBuffer.class)
+            .reduceWith(parsers, (parser, buffer) -> {
+                try (DataBuffer.ByteBufferIterator chunks = buffer.readableByteBuffers()) {
+                    while (chunks.hasNext()) {
+                        parser.feed(chunks.next());
                     }
-                    
-                    return ratesMap;
-                })
-                .onErrorResume(e -> {
-                    log.error("Error fetching room rates: {}", e.getMessage(), e);
-                    return Mono.just(new TreeMap<>());
-                })
-                .block();
-            
-        } catch (Exception e) {
-            log.error("Exception fetching room rates: {}", e.getMessage(), e);
-            return new TreeMap<>();
-        }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    DataBufferUtils.release(buffer);
+                }
+                return parser;
+            })
+            .switchIfEmpty(Mono.fromSupplier(parsers))
+            .<RoomRateResponseParser.RatePage>handle((parser, sink) -> {
+                try {
+                    sink.next(parser.finish());
+                } catch (IOException e) {
+                    sink.error(new UncheckedIOException(e));
+                }
+            })
+            .doOnNext(page -> graphQlClientMetrics.recordRows(operation, page.rows()))
+            .doOnError(e -> graphQlClientMetrics.recordFailure(operation, e));
     }
 
     /**
-     * Creates a GraphQL client with the configured endpoint and API key
+     * Declares the date window variables used by {@link #dateCondition(LocalDate, LocalDate)}
      */
-    private HttpGraphQlClient createGraphQlClient() {
-        WebClient webClient = webClientBuilder
-            .baseUrl(graphqlEndpoint)
-            .defaultHeader(apiKeyHeader, apiKey)
-            .build();
-            
-        return HttpGraphQlClient.builder(webClient)
-            .build();
+    private static String dateVariableDeclarations(LocalDate startDate, LocalDate endDate) {
+        StringBuilder declarations = new StringBuilder();
+        if (startDate != null) {
+            declarations.append(", $startDate: DateTime!");
+        }
+        if (endDate != null) {
+            declarations.append(", $endDate: DateTime!");
+        }
+        return declarations.toString();
+    }
+    
+    /**
+     * Values of the date window variables, in a mutable map the caller adds its own variables to
+     */
+    private static Map<String, Object> dateVariables(LocalDate startDate, LocalDate endDate) {
+        Map<String, Object> variables = new HashMap<>();
+        if (startDate != null) {
+            variables.put("startDate", toGraphQlDateTime(startDate));
+        }
+        if (endDate != null) {
+            variables.put("endDate", toGraphQlDateTime(endDate));
+        }
+        return variables;
+    }
+    
+    /**
+     * Builds the room_rate date condition for a mapping filter; empty when there is no window
+     */
+    private static String dateCondition(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null && endDate == null) {
+            return "";
+        }
+        List<String> bounds = new ArrayList<>(2);
+        if (startDate != null) {
+            bounds.add("gte: $startDate");
+        }
+        if (endDate != null) {
+            bounds.add("lte: $endDate");
+        }
+        return "room_rate: {is: {date: {" + String.join(", ", bounds) + "}}}";
+    }
+    
+    /**
+     * Rates are stored upstream as midnight UTC timestamps, e.g. "2025-03-03T00:00:00.000Z"
+     */
+    private static String toGraphQlDateTime(LocalDate date) {
+        return ISO_DATE_FORMATTER.format(date.atStartOfDay(ZoneOffset.UTC));
     }
-} 
\ No newline at end of file
+}
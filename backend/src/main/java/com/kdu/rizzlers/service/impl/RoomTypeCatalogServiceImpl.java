@@ -0,0 +1,132 @@
+package com.kdu.rizzlers.service.impl;
+
+import com.kdu.rizzlers.cache.RoomTypeCatalog;
+import com.kdu.rizzlers.cache.RoomTypeCatalogCache;
+import com.kdu.rizzlers.config.GraphQlClientMetrics;
+import com.kdu.rizzlers.dto.graphql.RoomType;
+import com.kdu.rizzlers.service.RoomTypeCatalogService;
+import com.kdu.rizzlers.util.GraphQlPagination;
+import com.kdu.rizzlers.util.GraphQlResponseReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoomTypeCatalogServiceImpl implements RoomTypeCatalogService {
+
+    private static final String ROOM_TYPES_QUERY = """
+            query getRoomTypes($propertyId: Int!, $skip: Int!, $take: Int!) {
+              listRoomTypes(
+                where: {property_id: {equals: $propertyId}}
+                orderBy: {room_type_id: ASC}
+                skip: $skip
+                take: $take
+              ) {
+                room_type_id
+                room_type_name
+                max_capacity
+              }
+            }
+            """;
+
+    private static final GraphQlResponseReader<List<RoomType>> ROOM_TYPES_READER =
+            GraphQlResponseReader.forList("listRoomTypes", RoomType.class);
+
+    private final WebClient graphQlWebClient;
+    private final RoomTypeCatalogCache roomTypeCatalogCache;
+    private final GraphQlClientMetrics graphQlClientMetrics;
+
+    @Value("${graphql.endpoint}")
+    private String graphqlUrl;
+
+    @Value("${room-rates.graphql.room-types-page-size:50}")
+    private int roomTypesPageSize;
+
+    @Value("${room-rates.graphql.parallelism:4}")
+    private int parallelism;
+
+    @Value("${graphql.timeout}")
+    private int timeout;
+
+    /**
+     * Reloads the cached catalogs that were read since the previous run, so that room type changes show up
+     * without waiting for the long cache TTL. Catalogs that were not read are left to expire.
+     */
+    @Scheduled(fixedDelayString = "${room-types.cache.refresh-interval-seconds:21600}",
+            initialDelayString = "${room-types.cache.refresh-interval-seconds:21600}", timeUnit = TimeUnit.SECONDS)
+    public void refreshCachedCatalogs() {
+        List<Integer> propertyIds = roomTypeCatalogCache.takeReadPropertyIds();
+        if (propertyIds.isEmpty()) {
+            return;
+        }
+        log.info("Refreshing {} of {} cached room type catalogs that were read since the last refresh",
+                propertyIds.size(), roomTypeCatalogCache.size());
+        Integer refreshed = refresh(propertyIds).block();
+        log.info("Refreshed {} of {} room type catalogs", refreshed, propertyIds.size());
+    }
+
+    @Override
+    public Mono<Integer> refreshCatalogs(Integer propertyId) {
+        return refresh(propertyId != null ? List.of(propertyId) : roomTypeCatalogCache.propertyIds());
+    }
+
+    private Mono<Integer> refresh(List<Integer> propertyIds) {
+        return Flux.fromIterable(propertyIds)
+            .flatMap(propertyId -> fetchCatalog(propertyId)
+                .timeout(Duration.ofMillis(timeout))
+                .map(catalog -> {
+                    // Like the rate pipeline, do not cache empty catalogs, so the next rate request loads them
+                    if (catalog.isEmpty()) {
+                        roomTypeCatalogCache.invalidate(propertyId);
+                    } else {
+                        roomTypeCatalogCache.refreshed(propertyId, catalog);
+                    }
+                    return 1;
+                })
+                .onErrorResume(e -> {
+                    log.warn("Could not refresh the room type catalog for property {}: {}", propertyId, e.getMessage());
+                    roomTypeCatalogCache.refreshFailed(propertyId);
+                    return Mono.just(0);
+                }), parallelism)
+            .reduce(0, Integer::sum);
+    }
+
+    /**
+     * Fetches the room types of a property, without their rates, page by page
+     */
+    private Mono<RoomTypeCatalog> fetchCatalog(Integer propertyId) {
+        GraphQlPagination.PageFetcher<List<RoomType>> roomTypePages = (skip, take) -> graphQlWebClient
+            .post()
+            .uri(graphqlUrl)
+            .attribute(GraphQlClientMetrics.OPERATION_ATTRIBUTE, GraphQlClientMetrics.LIST_ROOM_TYPES)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(Map.of("query", ROOM_TYPES_QUERY,
+                    "variables", Map.of("propertyId", propertyId, "skip", skip, "take", take)))
+            .retrieve()
+            .bodyToMono(byte[].class)
+            .handle(ROOM_TYPES_READER::decode)
+            .doOnNext(roomTypes -> graphQlClientMetrics.recordRows(GraphQlClientMetrics.LIST_ROOM_TYPES, roomTypes.size()))
+            .doOnError(e -> graphQlClientMetrics.recordFailure(GraphQlClientMetrics.LIST_ROOM_TYPES, e));
+
+        return GraphQlPagination.fetchAll(roomTypePages, roomTypesPageSize, parallelism)
+            .reduceWith(ArrayList<RoomType>::new, (roomTypes, page) -> {
+                roomTypes.addAll(page);
+                return roomTypes;
+            })
+            .map(RoomTypeCatalog::of);
+    }
+}
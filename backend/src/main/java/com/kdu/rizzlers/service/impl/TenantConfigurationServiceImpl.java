@@ -1,25 +1,35 @@
 package com.kdu.rizzlers.service.impl;
 
+import com.kdu.rizzlers.cache.LandingPageSnapshotCache;
 import com.kdu.rizzlers.dto.in.TenantConfigurationRequest;
+import com.kdu.rizzlers.dto.in.TenantConfigurationUpsertRequest;
 import com.kdu.rizzlers.dto.out.GuestTypeDefinitionResponse;
+import com.kdu.rizzlers.dto.out.KeysetPageResponse;
 import com.kdu.rizzlers.dto.out.LandingPageConfigResponse;
 import com.kdu.rizzlers.dto.out.PropertyResponse;
 import com.kdu.rizzlers.dto.out.TenantConfigurationResponse;
 import com.kdu.rizzlers.dto.out.TenantPropertyAssignmentResponse;
 import com.kdu.rizzlers.entity.TenantConfiguration;
+import com.kdu.rizzlers.event.TenantDataChangedEvent;
 import com.kdu.rizzlers.exception.ResourceNotFoundException;
 import com.kdu.rizzlers.repository.TenantConfigurationRepository;
 import com.kdu.rizzlers.service.GuestTypeDefinitionService;
 import com.kdu.rizzlers.service.TenantConfigurationService;
 import com.kdu.rizzlers.util.JsonUtil;
+import com.kdu.rizzlers.util.KeysetPagination;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the TenantConfigurationService.
@@ -35,6 +45,11 @@ public class TenantConfigurationServiceImpl implements TenantConfigurationServic
     private final PropertyServiceHelper propertyServiceHelper;
     private final ConfigurationValidator configValidator;
     private final ConfigurationDefaultProvider defaultProvider;
+    private final LandingPageSnapshotCache landingPageSnapshots;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Override
     @Transactional
@@ -48,9 +63,35 @@ public class TenantConfigurationServiceImpl implements TenantConfigurationServic
                 .build();
         
         TenantConfiguration savedConfiguration = tenantConfigurationRepository.save(configuration);
+        publishChange(savedConfiguration.getTenantId());
         return mapToResponse(savedConfiguration);
     }
 
+    @Override
+    @Transactional
+    public int upsertConfigurations(List<TenantConfigurationUpsertRequest> requests) {
+        // One statement may not update the same row twice, so later rows for a key replace earlier ones
+        Map<ConfigurationKey, TenantConfiguration> configurations = new LinkedHashMap<>();
+        for (TenantConfigurationUpsertRequest request : requests) {
+            configurations.put(new ConfigurationKey(request.getTenantId(), request.getPage(), request.getField()),
+                    TenantConfiguration.builder()
+                            .tenantId(request.getTenantId())
+                            .page(request.getPage())
+                            .field(request.getField())
+                            .value(request.getValue())
+                            .isActive(true)
+                            .build());
+        }
+        
+        int upserted = tenantConfigurationRepository.upsertAll(configurations.values());
+        configurations.keySet().stream()
+                .map(ConfigurationKey::tenantId)
+                .distinct()
+                .forEach(this::publishChange);
+        log.info("Upserted {} tenant configurations from {} rows", upserted, requests.size());
+        return upserted;
+    }
+
     @Override
     public TenantConfigurationResponse getConfigurationById(Long id) {
         TenantConfiguration configuration = tenantConfigurationRepository.findById(id)
@@ -65,6 +106,26 @@ public class TenantConfigurationServiceImpl implements TenantConfigurationServic
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPageResponse<TenantConfigurationResponse> getConfigurationsPage(Long afterId, int limit) {
+        List<TenantConfiguration> configurations = tenantConfigurationRepository.findByIdGreaterThanOrderByIdAsc(
+                KeysetPagination.afterId(afterId), KeysetPagination.queryLimit(limit));
+        return KeysetPagination.page(configurations, limit, TenantConfiguration::getId, this::mapToResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachConfiguration(Consumer<? super TenantConfigurationResponse> action) {
+        try (Stream<TenantConfiguration> configurations = tenantConfigurationRepository.streamAllByOrderByIdAsc()) {
+            configurations.forEach(configuration -> {
+                action.accept(mapToResponse(configuration));
+                // Keep the persistence context from growing with the table
+                entityManager.detach(configuration);
+            });
+        }
+    }
+
     @Override
     public List<TenantConfigurationResponse> getConfigurationsByTenantId(Integer tenantId) {
         return tenantConfigurationRepository.findByTenantIdAndIsActive(tenantId, true).stream()
@@ -91,6 +152,7 @@ public class TenantConfigurationServiceImpl implements TenantConfigurationServic
     public TenantConfigurationResponse updateConfiguration(Long id, TenantConfigurationRequest request) {
         TenantConfiguration configuration = tenantConfigurationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("TenantConfiguration", "id", id));
+        Integer previousTenantId = configuration.getTenantId();
         
         configuration.setTenantId(request.getTenantId());
         configuration.setPage(request.getPage());
@@ -99,6 +161,10 @@ public class TenantConfigurationServiceImpl implements TenantConfigurationServic
         configuration.setIsActive(request.getIsActive());
         
         TenantConfiguration updatedConfiguration = tenantConfigurationRepository.save(configuration);
+        publishChange(previousTenantId);
+        if (!Objects.equals(previousTenantId, updatedConfiguration.getTenantId())) {
+            publishChange(updatedConfiguration.getTenantId());
+        }
         return mapToResponse(updatedConfiguration);
     }
 
@@ -111,11 +177,38 @@ public class TenantConfigurationServiceImpl implements TenantConfigurationServic
         // Soft delete: update isActive to false
         configuration.setIsActive(false);
         tenantConfigurationRepository.save(configuration);
+        publishChange(configuration.getTenantId());
     }
     
+    /**
+     * Served from a per-tenant snapshot that is only assembled again after the tenant's configurations,
+     * guest types or property assignments change
+     */
     @Override
     public LandingPageConfigResponse getLandingPageConfiguration(Integer tenantId, boolean fetchPropertyDetails) {
-        log.info("Getting landing page configuration for tenant: {}, fetchPropertyDetails: {}", tenantId, fetchPropertyDetails);
+        return getLandingPageSnapshot(tenantId, fetchPropertyDetails).configuration();
+    }
+    
+    @Override
+    public LandingPageSnapshotCache.Snapshot getLandingPageSnapshot(Integer tenantId, boolean fetchPropertyDetails) {
+        return landingPageSnapshots.get(tenantId, fetchPropertyDetails,
+                () -> assembleLandingPageConfiguration(tenantId, fetchPropertyDetails));
+    }
+    
+    @Override
+    public LandingPageConfigResponse getLandingPageConfiguration(Integer tenantId) {
+        return getLandingPageConfiguration(tenantId, true);
+    }
+    
+    /**
+     * Build the landing page configuration of a tenant from the database
+     * 
+     * @param tenantId The tenant ID
+     * @param fetchPropertyDetails Whether to include property details from GraphQL
+     * @return The assembled configuration
+     */
+    private LandingPageConfigResponse assembleLandingPageConfiguration(Integer tenantId, boolean fetchPropertyDetails) {
+        log.info("Assembling landing page configuration for tenant: {}, fetchPropertyDetails: {}", tenantId, fetchPropertyDetails);
         
         // Get configurations from the database
         List<TenantConfiguration> configurations = tenantConfigurationRepository.findByTenantIdAndPageAndIsActive(
@@ -145,9 +238,8 @@ public class TenantConfigurationServiceImpl implements TenantConfigurationServic
         return builder.build();
     }
     
-    @Override
-    public LandingPageConfigResponse getLandingPageConfiguration(Integer tenantId) {
-        return getLandingPageConfiguration(tenantId, true);
+    private void publishChange(Integer tenantId) {
+        eventPublisher.publishEvent(new TenantDataChangedEvent(tenantId, "Tenant configuration"));
     }
     
     /**
@@ -268,4 +360,7 @@ public class TenantConfigurationServiceImpl implements TenantConfigurationServic
                 .updatedAt(configuration.getUpdatedAt())
                 .build();
     }    
-} 
\ No newline at end of file
+
+    private record ConfigurationKey(Integer tenantId, String page, String field) {
+    }
+}
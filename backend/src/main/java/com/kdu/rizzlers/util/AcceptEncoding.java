@@ -0,0 +1,58 @@
+package com.kdu.rizzlers.util;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Content coding negotiation for responses that are stored pre-compressed, see RFC 9110 section 12.5.3.
+ */
+public final class AcceptEncoding {
+
+    // qvalue = ( "0" [ "." 0*3DIGIT ] ) / ( "1" [ "." 0*3("0") ] )
+    private static final Pattern QVALUE = Pattern.compile("0(\\.\\d{0,3})?|1(\\.0{0,3})?");
+
+    private AcceptEncoding() {
+    }
+
+    /**
+     * Whether an Accept-Encoding header allows a gzip-coded response.
+     * gzip (or its alias x-gzip) must be listed with a non-zero q-value; if it is listed more than once the
+     * highest q-value counts. If it is not listed, a {@code *} with a non-zero q-value allows it. An element whose
+     * q-value is malformed or out of range allows nothing.
+     *
+     * @param header The header value, or null if the request had none
+     */
+    public static boolean allowsGzip(String header) {
+        if (header == null) {
+            return false;
+        }
+        double gzipQuality = -1;
+        double wildcardQuality = -1;
+        for (String element : header.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = Math.max(gzipQuality, quality(parts));
+            } else if (coding.equals("*")) {
+                wildcardQuality = Math.max(wildcardQuality, quality(parts));
+            }
+        }
+        return gzipQuality >= 0 ? gzipQuality > 0 : wildcardQuality > 0;
+    }
+
+    /**
+     * @return The element's q-value, 1 if it has none, or 0 if it is malformed
+     */
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            int equals = parameter.indexOf('=');
+            if (equals < 0 || !parameter.substring(0, equals).trim().equalsIgnoreCase("q")) {
+                continue;
+            }
+            String value = parameter.substring(equals + 1).trim();
+            return QVALUE.matcher(value).matches() ? Double.parseDouble(value) : 0;
+        }
+        return 1;
+    }
+}
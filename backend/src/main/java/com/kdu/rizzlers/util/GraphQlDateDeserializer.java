@@ -0,0 +1,35 @@
+package com.kdu.rizzlers.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Reads the upstream GraphQL API's dates, which are midnight UTC timestamps such as
+ * "2025-03-03T00:00:00.000Z", as well as plain ISO dates, into a {@link LocalDate}.
+ * Only the leading {@code yyyy-MM-dd} is looked at, straight from the parser's character buffer.
+ */
+public class GraphQlDateDeserializer extends StdScalarDeserializer<LocalDate> {
+
+    public GraphQlDateDeserializer() {
+        super(LocalDate.class);
+    }
+
+    @Override
+    public LocalDate deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            return (LocalDate) context.handleUnexpectedToken(LocalDate.class, parser);
+        }
+        long epochDay = RoomRateResponseParser.parseEpochDay(
+                parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        if (epochDay == RoomRateResponseParser.NO_DAY) {
+            return (LocalDate) context.handleWeirdStringValue(LocalDate.class, parser.getText(),
+                    "expected an ISO date or timestamp");
+        }
+        return LocalDate.ofEpochDay(epochDay);
+    }
+}
@@ -0,0 +1,93 @@
+package com.kdu.rizzlers.util;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToIntFunction;
+
+/**
+ * Skip/take pagination for upstream GraphQL list queries.
+ * <p>
+ * The first page is fetched on its own so that small result sets cost a single round trip. If it comes back
+ * full, the following pages are requested concurrently with at most {@code parallelism} pages in flight,
+ * until a page shorter than the page size marks the end of the data. Pages are emitted in completion order,
+ * not page order, so callers must merge them order-independently.
+ * <p>
+ * Skip-based paging is only consistent when the query orders by a unique key.
+ */
+public final class GraphQlPagination {
+
+    private GraphQlPagination() {
+    }
+
+    /**
+     * Fetches a single page of a list query
+     *
+     * @param <P> The page type, usually a list of rows
+     */
+    @FunctionalInterface
+    public interface PageFetcher<P> {
+        Mono<P> fetch(int skip, int take);
+    }
+
+    /**
+     * Fetch every page of a list query
+     *
+     * @param fetcher Issues the query for one page
+     * @param pageSize Number of rows requested per page
+     * @param parallelism Maximum number of pages in flight at once
+     * @return The non-empty pages, in completion order; fails if any page fails
+     */
+    public static <T> Flux<List<T>> fetchAll(PageFetcher<List<T>> fetcher, int pageSize, int parallelism) {
+        return fetchAll(fetcher, List::size, pageSize, parallelism);
+    }
+
+    /**
+     * Fetch every page of a list query whose pages are not plain lists, e.g. pages that are parsed into an
+     * aggregate as they are read
+     *
+     * @param fetcher Issues the query for one page
+     * @param rowCount Number of rows the upstream API returned in a page
+     * @param pageSize Number of rows requested per page
+     * @param parallelism Maximum number of pages in flight at once
+     * @return The non-empty pages, in completion order; fails if any page fails
+     */
+    public static <P> Flux<P> fetchAll(PageFetcher<P> fetcher, ToIntFunction<P> rowCount, int pageSize, int parallelism) {
+        if (pageSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Page size and parallelism must be positive");
+        }
+
+        return fetcher.fetch(0, pageSize)
+                .flatMapMany(firstPage -> {
+                    if (rowCount.applyAsInt(firstPage) < pageSize) {
+                        return Flux.just(firstPage);
+                    }
+                    return Flux.just(firstPage).concatWith(fetchRemaining(fetcher, rowCount, pageSize, parallelism));
+                })
+                .filter(page -> rowCount.applyAsInt(page) > 0);
+    }
+
+    private static <P> Flux<P> fetchRemaining(PageFetcher<P> fetcher, ToIntFunction<P> rowCount, int pageSize,
+                                              int parallelism) {
+        // Set by the first short page; page numbers generated after that are not requested.
+        // Pages already in flight at that point may come back empty and are filtered out.
+        AtomicBoolean exhausted = new AtomicBoolean();
+
+        return Flux.<Integer, Integer>generate(() -> 1, (page, sink) -> {
+                    if (exhausted.get() || (long) page * pageSize > Integer.MAX_VALUE) {
+                        sink.complete();
+                    } else {
+                        sink.next(page);
+                    }
+                    return page + 1;
+                })
+                .flatMap(page -> fetcher.fetch(page * pageSize, pageSize)
+                        .doOnNext(rows -> {
+                            if (rowCount.applyAsInt(rows) < pageSize) {
+                                exhausted.set(true);
+                            }
+                        }), parallelism, 1);
+    }
+}
@@ -0,0 +1,140 @@
+package com.kdu.rizzlers.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.kdu.rizzlers.exception.GraphQlErrorException;
+import reactor.core.publisher.SynchronousSink;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Decodes one field of a GraphQL response's {@code data} straight into typed objects, such as the
+ * {@code dto.graphql} types.
+ * <p>
+ * The response is read as a token stream: the parser skips to {@code data.<field>} and hands the value to an
+ * {@link ObjectReader} of the shared {@link JsonCodec} built once for the target type, so no intermediate tree or
+ * maps are created. Readers are immutable and thread-safe, and meant to be held in constants.
+ * <p>
+ * Unknown fields are ignored, so additive upstream schema changes are harmless, while values that do not fit the
+ * target type fail with Jackson's typed {@link com.fasterxml.jackson.databind.exc.MismatchedInputException}.
+ *
+ * @param <T> The decoded type
+ */
+public final class GraphQlResponseReader<T> {
+
+    private final String field;
+    private final ObjectReader reader;
+    private final T absentValue;
+
+    private GraphQlResponseReader(String field, JavaType type, T absentValue) {
+        this.field = field;
+        this.reader = JsonCodec.lenientReaderFor(type);
+        this.absentValue = absentValue;
+    }
+
+    /**
+     * Create a reader for a list field, e.g. {@code listRooms}; a null or absent list is read as an empty one
+     */
+    public static <E> GraphQlResponseReader<List<E>> forList(String field, Class<E> elementType) {
+        return new GraphQlResponseReader<>(field,
+                JsonCodec.typeFactory().constructCollectionType(List.class, elementType), List.of());
+    }
+
+    /**
+     * Create a reader for an object field, e.g. {@code getProperty}; a null or absent object is read as null
+     */
+    public static <E> GraphQlResponseReader<E> forObject(String field, Class<E> type) {
+        return new GraphQlResponseReader<>(field, JsonCodec.typeFactory().constructType(type), null);
+    }
+
+    /**
+     * Decode a complete response
+     *
+     * @return The field's value
+     * @throws IOException If the response is not well-formed JSON or the value does not fit the target type
+     * @throws GraphQlErrorException If the response carries GraphQL errors instead of the field
+     */
+    public T read(byte[] response) throws IOException {
+        try (JsonParser parser = reader.createParser(response)) {
+            return read(parser);
+        }
+    }
+
+    /**
+     * Decode a response inside {@code Mono.handle}; the sink completes empty for a null object
+     */
+    public void decode(byte[] response, SynchronousSink<T> sink) {
+        try {
+            T value = read(response);
+            if (value != null) {
+                sink.next(value);
+            }
+        } catch (IOException e) {
+            sink.error(new UncheckedIOException(e));
+        } catch (RuntimeException e) {
+            sink.error(e);
+        }
+    }
+
+    private T read(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("GraphQL response is not a JSON object");
+        }
+
+        T value = absentValue;
+        boolean found = false;
+        boolean dataPresent = false;
+        String firstError = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken token = parser.nextToken();
+            dataPresent |= "data".equals(name);
+            if ("data".equals(name) && token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String dataField = parser.currentName();
+                    JsonToken valueToken = parser.nextToken();
+                    if (field.equals(dataField) && valueToken != JsonToken.VALUE_NULL) {
+                        value = reader.readValue(parser);
+                        found = true;
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else if ("errors".equals(name) && token == JsonToken.START_ARRAY) {
+                firstError = readFirstErrorMessage(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (firstError != null && !found) {
+            throw new GraphQlErrorException("GraphQL error fetching " + field + ": " + firstError, !dataPresent);
+        }
+        return value;
+    }
+
+    private static String readFirstErrorMessage(JsonParser parser) throws IOException {
+        String firstError = null;
+        JsonToken error;
+        while ((error = parser.nextToken()) != JsonToken.END_ARRAY && error != null) {
+            if (error != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (firstError == null && "message".equals(name) && token == JsonToken.VALUE_STRING) {
+                    firstError = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return firstError;
+    }
+}
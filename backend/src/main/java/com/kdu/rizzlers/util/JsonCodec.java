@@ -0,0 +1,64 @@
+package com.kdu.rizzlers.util;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.kdu.rizzlers.dto.out.LandingPageConfigResponse;
+
+import java.util.Map;
+
+/**
+ * The application's single Jackson codec.
+ * <p>
+ * Every component that reads or writes JSON shares this one {@link ObjectMapper}, so its serializer and
+ * deserializer caches are built once. The {@link ObjectMapper} bean is this mapper too, see
+ * {@link com.kdu.rizzlers.config.JacksonConfig}, so the HTTP message converter writes controller responses, such
+ * as the daily rates, with it. Types that are read or written outside the converter get an {@link ObjectReader}
+ * or {@link ObjectWriter} with the root (de)serializer already resolved, so a call skips the type and cache lookups.
+ * Readers and writers are immutable and thread-safe. The mapper itself must not be reconfigured after startup.
+ */
+public final class JsonCodec {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            // Exclude null values from JSON responses
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    /**
+     * Reads a JSON object, such as a tenant configuration value, into a {@code Map<String, Object>}
+     */
+    public static final ObjectReader MAP_READER = MAPPER.readerFor(new TypeReference<Map<String, Object>>() {});
+
+    public static final ObjectReader STRING_ARRAY_READER = MAPPER.readerFor(String[].class);
+
+    public static final ObjectWriter STRING_ARRAY_WRITER = MAPPER.writerFor(String[].class);
+
+    public static final ObjectWriter LANDING_PAGE_WRITER = MAPPER.writerFor(LandingPageConfigResponse.class);
+
+    private JsonCodec() {
+    }
+
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    public static TypeFactory typeFactory() {
+        return MAPPER.getTypeFactory();
+    }
+
+    /**
+     * Create a reader for payloads owned by another service, which ignores fields the target type does not
+     * declare so additive upstream changes are harmless. Hold the result in a constant.
+     */
+    public static ObjectReader lenientReaderFor(JavaType type) {
+        return MAPPER.readerFor(type).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+}
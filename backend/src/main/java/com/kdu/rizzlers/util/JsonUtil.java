@@ -1,17 +1,16 @@
 package com.kdu.rizzlers.util;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
 public class JsonUtil {
     private static final Logger logger = LoggerFactory.getLogger(JsonUtil.class);
-    private static final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
      * Convert a JSON string to a Map<String, Object>
@@ -25,10 +24,32 @@ public class JsonUtil {
         }
         
         try {
-            return objectMapper.readValue(jsonString, new TypeReference<Map<String, Object>>() {});
+            return JsonCodec.MAP_READER.readValue(jsonString);
         } catch (JsonProcessingException e) {
             logger.error("Error parsing JSON string: {}", jsonString, e);
             return new HashMap<>();
         }
     }
+
+    /**
+     * Check that a string holds exactly one well-formed JSON value, as a jsonb column requires.
+     * The value is only tokenized, no tree is built.
+     *
+     * @param jsonString The string to check
+     * @return Whether the string is valid JSON
+     */
+    public static boolean isValidJson(String jsonString) {
+        if (jsonString == null) {
+            return false;
+        }
+        try (JsonParser parser = JsonCodec.mapper().createParser(jsonString)) {
+            if (parser.nextToken() == null) {
+                return false;
+            }
+            parser.skipChildren();
+            return parser.nextToken() == null;
+        } catch (IOException e) {
+            return false;
+        }
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.kdu.rizzlers.util;
+
+import com.kdu.rizzlers.dto.out.KeysetPageResponse;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Helpers for listings that are paged by ID ({@code WHERE id > :afterId ORDER BY id LIMIT :limit}) instead of by
+ * offset, so every page costs one index range scan however deep into the table it is.
+ */
+public final class KeysetPagination {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    /**
+     * Rows fetched per round trip by the streaming exports, see the repositories' {@code stream...} methods
+     */
+    public static final String STREAM_FETCH_SIZE = "500";
+
+    private KeysetPagination() {
+    }
+
+    /**
+     * The first ID to list after; IDs start at 1, so no ID means from the beginning
+     */
+    public static long afterId(Long afterId) {
+        return afterId != null ? afterId : 0L;
+    }
+
+    /**
+     * Query one row more than the page holds, to learn whether another page follows without counting
+     *
+     * @param limit The requested page size, clamped to 1 to {@link #MAX_LIMIT}
+     */
+    public static Limit queryLimit(int limit) {
+        return Limit.of(pageSize(limit) + 1);
+    }
+
+    /**
+     * Build a page from the rows queried with {@link #queryLimit(int)}
+     */
+    public static <E, T> KeysetPageResponse<T> page(List<E> rows, int limit, Function<E, Long> id,
+                                                   Function<E, T> mapper) {
+        int pageSize = pageSize(limit);
+        int count = Math.min(rows.size(), pageSize);
+        List<T> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(mapper.apply(rows.get(i)));
+        }
+        Long nextAfterId = rows.size() > pageSize ? id.apply(rows.get(count - 1)) : null;
+        return KeysetPageResponse.<T>builder()
+                .items(items)
+                .nextAfterId(nextAfterId)
+                .build();
+    }
+
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
@@ -0,0 +1,50 @@
+package com.kdu.rizzlers.util;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes listings as newline-delimited JSON, one object per line, while they are being read.
+ * The response is flushed every {@link KeysetPagination#STREAM_FETCH_SIZE} rows, so the first bytes go out after
+ * the first fetch and neither side holds more than a fetch worth of rows.
+ */
+public final class NdjsonResponses {
+
+    private static final int FLUSH_EVERY = Integer.parseInt(KeysetPagination.STREAM_FETCH_SIZE);
+
+    private NdjsonResponses() {
+    }
+
+    /**
+     * @param source Passes every item to the given consumer, e.g. a service's {@code forEach...} method
+     */
+    public static <T> ResponseEntity<StreamingResponseBody> of(Consumer<Consumer<T>> source) {
+        StreamingResponseBody body = out -> {
+            int[] written = {0};
+            try {
+                source.accept(item -> {
+                    try {
+                        out.write(JsonCodec.mapper().writeValueAsBytes(item));
+                        out.write('\n');
+                        if (++written[0] % FLUSH_EVERY == 1) {
+                            out.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
@@ -0,0 +1,140 @@
+package com.kdu.rizzlers.util;
+
+import com.kdu.rizzlers.entity.PropertyPromotionSchedule;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Resolves the applicable promotion for every day of a date range in one linear pass.
+ * <p>
+ * Promotions are ranked by priority once when the index is built. Resolving a range then fills each
+ * promotion's interval in priority order, using a union-find "next unclaimed day" pointer to skip days
+ * already taken by a higher-priority promotion. Every day is written at most once, so resolving D days
+ * against P promotions costs O(D + P) after the O(P log P) ranking, instead of O(D × P).
+ * <p>
+ * When promotions overlap, the winner is chosen deterministically regardless of the order in which the
+ * promotions were supplied: the lowest price factor (deepest discount) wins, then the lowest promotion ID,
+ * then the lowest schedule ID.
+ */
+public final class PromotionIntervalIndex {
+
+    /**
+     * Priority of overlapping promotions; the smallest element wins
+     */
+    public static final Comparator<PropertyPromotionSchedule> PRIORITY = Comparator
+            .comparing(PropertyPromotionSchedule::getPriceFactor, Comparator.nullsLast(BigDecimal::compareTo))
+            .thenComparing(PropertyPromotionSchedule::getPromotionId, Comparator.nullsLast(Integer::compareTo))
+            .thenComparing(PropertyPromotionSchedule::getId, Comparator.nullsLast(Long::compareTo));
+
+    // Applicable promotions in priority order, with their intervals as epoch days
+    private final PropertyPromotionSchedule[] promotions;
+    private final long[] startDays;
+    private final long[] endDays;
+
+    /**
+     * @param promotions Candidate promotions; inactive ones and ones without a valid date range are ignored
+     */
+    public PromotionIntervalIndex(Collection<PropertyPromotionSchedule> promotions) {
+        List<RankKey> applicable = new ArrayList<>(promotions.size());
+        for (PropertyPromotionSchedule promotion : promotions) {
+            if (Boolean.TRUE.equals(promotion.getIsActive())
+                    && promotion.getStartDate() != null
+                    && promotion.getEndDate() != null
+                    && !promotion.getEndDate().isBefore(promotion.getStartDate())) {
+                applicable.add(new RankKey(promotion));
+            }
+        }
+        applicable.sort(null);
+
+        int size = applicable.size();
+        this.promotions = new PropertyPromotionSchedule[size];
+        this.startDays = new long[size];
+        this.endDays = new long[size];
+        for (int i = 0; i < size; i++) {
+            PropertyPromotionSchedule promotion = applicable.get(i).promotion;
+            this.promotions[i] = promotion;
+            startDays[i] = promotion.getStartDate().toEpochDay();
+            endDays[i] = promotion.getEndDate().toEpochDay();
+        }
+    }
+
+    public boolean isEmpty() {
+        return promotions.length == 0;
+    }
+
+    /**
+     * Resolve the winning promotion for every day in an inclusive range
+     *
+     * @param firstEpochDay First day of the range, as returned by {@link LocalDate#toEpochDay()}
+     * @param lastEpochDay Last day of the range
+     * @return Array indexed by the offset from firstEpochDay; null where no promotion applies
+     */
+    public PropertyPromotionSchedule[] resolve(long firstEpochDay, long lastEpochDay) {
+        int length = (int) Math.max(lastEpochDay - firstEpochDay + 1, 0);
+        PropertyPromotionSchedule[] resolved = new PropertyPromotionSchedule[length];
+        if (length == 0 || promotions.length == 0) {
+            return resolved;
+        }
+
+        // nextUnclaimed[i] points at the first day >= i that no higher-priority promotion has claimed yet;
+        // the extra slot at the end is a sentinel meaning "no unclaimed day left"
+        int[] nextUnclaimed = new int[length + 1];
+        for (int i = 0; i <= length; i++) {
+            nextUnclaimed[i] = i;
+        }
+
+        int unclaimed = length;
+        for (int p = 0; p < promotions.length && unclaimed > 0; p++) {
+            long from = Math.max(startDays[p], firstEpochDay) - firstEpochDay;
+            long to = Math.min(endDays[p], lastEpochDay) - firstEpochDay;
+            if (from > to) {
+                continue;
+            }
+            for (int day = find(nextUnclaimed, (int) from); day <= to; day = find(nextUnclaimed, day + 1)) {
+                resolved[day] = promotions[p];
+                nextUnclaimed[day] = day + 1;
+                unclaimed--;
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Union-find lookup with path halving
+     */
+    private static int find(int[] nextUnclaimed, int day) {
+        while (nextUnclaimed[day] != day) {
+            nextUnclaimed[day] = nextUnclaimed[nextUnclaimed[day]];
+            day = nextUnclaimed[day];
+        }
+        return day;
+    }
+
+    /**
+     * Sort key that orders like {@link #PRIORITY} but compares primitives first.
+     * {@link BigDecimal#doubleValue()} is monotonic, so distinct doubles always agree with the exact
+     * ordering and only equal doubles need the full comparison.
+     */
+    private static final class RankKey implements Comparable<RankKey> {
+        private final PropertyPromotionSchedule promotion;
+        private final double priceFactor;
+
+        private RankKey(PropertyPromotionSchedule promotion) {
+            this.promotion = promotion;
+            this.priceFactor = promotion.getPriceFactor() == null
+                    ? Double.POSITIVE_INFINITY
+                    : promotion.getPriceFactor().doubleValue();
+        }
+
+        @Override
+        public int compareTo(RankKey other) {
+            int byFactor = Double.compare(priceFactor, other.priceFactor);
+            return byFactor != 0 ? byFactor : PRIORITY.compare(promotion, other.promotion);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.kdu.rizzlers.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.kdu.rizzlers.cache.RateCalendar;
+import com.kdu.rizzlers.dto.graphql.RoomType;
+import com.kdu.rizzlers.exception.GraphQlErrorException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental parser for one page of the {@code listRoomRateRoomTypeMappings} GraphQL response, or, when created
+ * with {@link #forRoomTypes(int)}, of a {@code listRoomTypes} response whose room types carry their mappings in a
+ * nested {@code room_rates} list. The room types themselves are collected as well, for the room type catalog.
+ * <p>
+ * The response bytes are fed chunk by chunk, as they arrive from the network, into Jackson's non-blocking
+ * token parser. Each mapping's {@code room_rate.date} and {@code room_rate.basic_nightly_rate} are read straight
+ * from the token stream and folded into a {@link RateCalendar.Builder}, so no response tree, intermediate maps,
+ * date strings or boxed rates are created. Unknown fields and nested structures are skipped.
+ * <p>
+ * Not thread-safe; use one instance per response.
+ */
+public final class RoomRateResponseParser {
+
+    private static final JsonFactory DEFAULT_JSON_FACTORY = JsonFactory.builder()
+            .enable(StreamReadFeature.USE_FAST_DOUBLE_PARSER)
+            .build();
+
+    private static final String MAPPINGS_FIELD = "listRoomRateRoomTypeMappings";
+    private static final String ROOM_TYPES_FIELD = "listRoomTypes";
+    private static final String ROOM_RATES_FIELD = "room_rates";
+    static final long NO_DAY = Long.MIN_VALUE;
+    private static final int NO_ROOM_TYPE = -1;
+
+    // Nesting depths of the containers this parser cares about, counting the root object as depth 1.
+    // In nested responses the mappings sit two levels deeper, inside a room type object and its room_rates array.
+    private static final int DATA_DEPTH = 2;
+    private static final int LIST_DEPTH = 3;
+    private static final int ROOM_TYPE_DEPTH = 4;
+    private static final int ERROR_DEPTH = 3;
+
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+    private final RateCalendar.Builder rates = RateCalendar.builder();
+    private final boolean nested;
+    private final int ratesPerRoomType;
+    private final int mappingsDepth;
+    private final int mappingDepth;
+    private final int roomRateDepth;
+
+    private int depth;
+    private String fieldName;
+    private boolean inData;
+    private boolean inRoomTypes;
+    private boolean inMappings;
+    private boolean listSeen;
+    private boolean inRoomRate;
+    private boolean inErrors;
+    private boolean dataPresent;
+    private String firstError;
+    private int rows;
+    private final List<Integer> truncatedRoomTypeIds = new ArrayList<>();
+    private final List<RoomType> roomTypes = new ArrayList<>();
+
+    // The room type being parsed, in nested responses
+    private int roomTypeId;
+    private String roomTypeName;
+    private Integer maxCapacity;
+    private int roomTypeMappings;
+
+    // The mapping being parsed
+    private long epochDay;
+    private double rate;
+
+    public RoomRateResponseParser() {
+        this(DEFAULT_JSON_FACTORY);
+    }
+
+    public RoomRateResponseParser(JsonFactory jsonFactory) {
+        this(jsonFactory, false, Integer.MAX_VALUE);
+    }
+
+    private RoomRateResponseParser(JsonFactory jsonFactory, boolean nested, int ratesPerRoomType) {
+        try {
+            this.parser = jsonFactory.createNonBlockingByteBufferParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create non-blocking JSON parser", e);
+        }
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+        this.nested = nested;
+        this.ratesPerRoomType = ratesPerRoomType;
+        this.mappingsDepth = nested ? ROOM_TYPE_DEPTH + 1 : LIST_DEPTH;
+        this.mappingDepth = mappingsDepth + 1;
+        this.roomRateDepth = mappingsDepth + 2;
+    }
+
+    /**
+     * Create a parser for a page of {@code listRoomTypes} with nested {@code room_rates}. The page's row count
+     * is its number of room types.
+     *
+     * @param ratesPerRoomType The {@code take} limit of the nested list; room types that reach it are reported as
+     *                         {@link RatePage#truncatedRoomTypeIds() truncated}
+     */
+    public static RoomRateResponseParser forRoomTypes(int ratesPerRoomType) {
+        return new RoomRateResponseParser(DEFAULT_JSON_FACTORY, true, ratesPerRoomType);
+    }
+
+    /**
+     * Parse a complete response held in memory
+     */
+    public static RatePage parse(byte[] json) throws IOException {
+        RoomRateResponseParser responseParser = new RoomRateResponseParser();
+        responseParser.feed(ByteBuffer.wrap(json));
+        return responseParser.finish();
+    }
+
+    /**
+     * Parse the next chunk of the response. The buffer is fully consumed before this method returns,
+     * so it may be released or reused afterwards.
+     */
+    public void feed(ByteBuffer chunk) throws IOException {
+        feeder.feedInput(chunk);
+        drain();
+    }
+
+    /**
+     * Signal the end of the response
+     *
+     * @return The rates of the page, and its row count for pagination
+     * @throws IOException If the response is not well-formed JSON
+     * @throws GraphQlErrorException If the response carries GraphQL errors instead of the list
+     */
+    public RatePage finish() throws IOException {
+        feeder.endOfInput();
+        drain();
+        parser.close();
+        if (depth != 0) {
+            throw new IOException("Truncated GraphQL response");
+        }
+        if (firstError != null && !listSeen) {
+            throw new GraphQlErrorException("GraphQL error fetching room rates: " + firstError, !dataPresent);
+        }
+        return new RatePage(rates, rows, List.copyOf(truncatedRoomTypeIds), List.copyOf(roomTypes));
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case FIELD_NAME -> fieldName();
+                case START_OBJECT -> startObject();
+                case START_ARRAY -> startArray();
+                case END_OBJECT, END_ARRAY -> endContainer();
+                case VALUE_STRING -> stringValue();
+                case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> numberValue();
+                default -> {
+                    // Booleans and nulls carry nothing we need
+                }
+            }
+        }
+    }
+
+    private void fieldName() throws IOException {
+        fieldName = parser.currentName();
+        if (depth == 1 && "data".equals(fieldName)) {
+            // Even a null data entry means the request was executed
+            dataPresent = true;
+        }
+    }
+
+    private void startObject() {
+        depth++;
+        if (depth == DATA_DEPTH && "data".equals(fieldName)) {
+            inData = true;
+        } else if (depth == mappingDepth && inMappings) {
+            epochDay = NO_DAY;
+            rate = Double.NaN;
+        } else if (nested && depth == ROOM_TYPE_DEPTH && inRoomTypes) {
+            roomTypeId = NO_ROOM_TYPE;
+            roomTypeName = null;
+            maxCapacity = null;
+            roomTypeMappings = 0;
+        } else if (depth == roomRateDepth && inMappings && "room_rate".equals(fieldName)) {
+            inRoomRate = true;
+        }
+    }
+
+    private void startArray() {
+        depth++;
+        if (depth == LIST_DEPTH && inData && (nested ? ROOM_TYPES_FIELD : MAPPINGS_FIELD).equals(fieldName)) {
+            inRoomTypes = nested;
+            inMappings = !nested;
+            listSeen = true;
+        } else if (nested && depth == mappingsDepth && inRoomTypes && ROOM_RATES_FIELD.equals(fieldName)) {
+            inMappings = true;
+        } else if (depth == DATA_DEPTH && "errors".equals(fieldName)) {
+            inErrors = true;
+        }
+    }
+
+    private void endContainer() {
+        if (depth == roomRateDepth && inRoomRate) {
+            inRoomRate = false;
+        } else if (depth == mappingDepth && inMappings) {
+            if (nested) {
+                roomTypeMappings++;
+            } else {
+                rows++;
+            }
+            if (epochDay != NO_DAY) {
+                // NaN rates are ignored by the builder
+                rates.accept(epochDay, rate);
+            }
+        } else if (depth == mappingsDepth && inMappings) {
+            inMappings = false;
+        } else if (nested && depth == ROOM_TYPE_DEPTH && inRoomTypes) {
+            rows++;
+            if (roomTypeId != NO_ROOM_TYPE) {
+                roomTypes.add(new RoomType(roomTypeId, roomTypeName, maxCapacity, null));
+                if (roomTypeMappings >= ratesPerRoomType) {
+                    truncatedRoomTypeIds.add(roomTypeId);
+                }
+            }
+        } else if (depth == LIST_DEPTH && inRoomTypes) {
+            inRoomTypes = false;
+        } else if (depth == DATA_DEPTH) {
+            inData = false;
+            inErrors = false;
+        }
+        depth--;
+    }
+
+    private void stringValue() throws IOException {
+        if (inRoomRate && depth == roomRateDepth && "date".equals(fieldName)) {
+            epochDay = parseEpochDay(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        } else if (inRoomTypes && depth == ROOM_TYPE_DEPTH && "room_type_name".equals(fieldName)) {
+            roomTypeName = parser.getText();
+        } else if (inErrors && depth == ERROR_DEPTH && firstError == null && "message".equals(fieldName)) {
+            firstError = parser.getText();
+        }
+    }
+
+    private void numberValue() throws IOException {
+        if (inRoomRate && depth == roomRateDepth && "basic_nightly_rate".equals(fieldName)) {
+            rate = parser.getDoubleValue();
+        } else if (inRoomTypes && depth == ROOM_TYPE_DEPTH && "room_type_id".equals(fieldName)) {
+            roomTypeId = parser.getIntValue();
+        } else if (inRoomTypes && depth == ROOM_TYPE_DEPTH && "max_capacity".equals(fieldName)) {
+            maxCapacity = parser.getIntValue();
+        }
+    }
+
+    /**
+     * Read the leading {@code yyyy-MM-dd} of an ISO date or timestamp such as "2025-03-03T00:00:00.000Z"
+     *
+     * @return The epoch day, or {@link #NO_DAY} if the text does not start with a valid date
+     */
+    static long parseEpochDay(char[] text, int offset, int length) {
+        if (length < 10 || text[offset + 4] != '-' || text[offset + 7] != '-') {
+            return NO_DAY;
+        }
+        int year = digits(text, offset, 4);
+        int month = digits(text, offset + 5, 2);
+        int day = digits(text, offset + 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return NO_DAY;
+        }
+        return epochDay(year, month, day);
+    }
+
+    private static int digits(char[] text, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = text[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /**
+     * Days since 1970-01-01 of a valid proleptic Gregorian date, as {@link java.time.LocalDate#toEpochDay()}
+     */
+    private static long epochDay(int year, int month, int day) {
+        // Count years from March so that the leap day is the last day of the year
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468L;
+    }
+
+    /**
+     * One parsed page of rate mappings
+     *
+     * @param rates Minimum rate per day of the page
+     * @param rows Number of mappings in the page, including ones without a usable rate; for nested responses, the
+     *             number of room types
+     * @param truncatedRoomTypeIds Room types whose nested mappings reached the per-room-type limit, so that their
+     *                             rates may be incomplete; always empty for flat responses
+     * @param roomTypes The room types of a nested response, without their rates; always empty for flat responses
+     */
+    public record RatePage(RateCalendar.Builder rates, int rows, List<Integer> truncatedRoomTypeIds,
+                           List<RoomType> roomTypes) {
+    }
+}
@@ -0,0 +1,24 @@
+-- Promotion lookups ask for the schedules of one property that overlap a date window. The B-tree on
+-- (start_date, end_date) can only bound one side of an overlap, so those queries degrade to scans as the
+-- table grows. A GiST index over the property and the inclusive date range answers the overlap (&&) directly.
+-- Queries must use the same daterange(start_date, end_date, '[]') expression to match the index.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- daterange() rejects a lower bound after the upper bound, so neither the index nor the check below can be
+-- created while such a row exists. A schedule that ends before it starts has never covered a stay date; switch
+-- it off and collapse it to its start date, which keeps the row for auditing.
+UPDATE property_promotion_schedule
+SET is_active = false,
+    end_date = start_date,
+    updated_at = now()
+WHERE end_date < start_date;
+
+-- NOT VALID only takes the table lock long enough to register the check for new writes; the existing rows are
+-- checked by V4 under a lock that does not block them
+ALTER TABLE property_promotion_schedule
+    ADD CONSTRAINT chk_promotion_schedule_period CHECK (end_date >= start_date) NOT VALID;
+
+CREATE INDEX IF NOT EXISTS idx_promotion_schedule_period
+    ON property_promotion_schedule USING gist (property_id, daterange(start_date, end_date, '[]'));
+
+ANALYZE property_promotion_schedule;
@@ -0,0 +1,19 @@
+-- Bulk upserts of tenant configurations resolve conflicts on the natural key (tenant_id, page, field), which
+-- needs a unique index to arbitrate. Deleted configurations are only switched off and a key may be created
+-- again afterwards, so the key is unique among active rows only.
+
+-- Where a key was created more than once, keep the newest row active, as the landing page already shows it
+UPDATE tenant_configuration older
+SET is_active = false,
+    updated_at = now()
+FROM tenant_configuration newer
+WHERE newer.tenant_id = older.tenant_id
+  AND newer.page = older.page
+  AND newer.field = older.field
+  AND newer.is_active
+  AND older.is_active
+  AND newer.id > older.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_tenant_configuration_active_key
+    ON tenant_configuration (tenant_id, page, field)
+    WHERE is_active;
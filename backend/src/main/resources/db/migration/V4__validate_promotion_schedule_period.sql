@@ -0,0 +1,4 @@
+-- Checks the rows that existed when V2 added chk_promotion_schedule_period as NOT VALID. Validation holds a
+-- SHARE UPDATE EXCLUSIVE lock, so reads and writes of the schedule carry on while the table is scanned.
+ALTER TABLE property_promotion_schedule
+    VALIDATE CONSTRAINT chk_promotion_schedule_period;
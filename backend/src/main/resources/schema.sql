@@ -6,6 +6,9 @@ DROP TABLE IF EXISTS tenant_property_assignment;
 DROP TABLE IF EXISTS tenant_configuration;
 DROP TABLE IF EXISTS students;
 
+-- GiST indexes mixing scalar columns and ranges
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
 -- Tenant-specific configuration table
 CREATE TABLE IF NOT EXISTS tenant_configuration (
     id BIGSERIAL PRIMARY KEY,
@@ -40,7 +43,8 @@ CREATE TABLE IF NOT EXISTS property_promotion_schedule (
     end_date DATE NOT NULL,
     is_active BOOLEAN DEFAULT TRUE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT chk_promotion_schedule_period CHECK (end_date >= start_date)
 );
 
 -- Room images table
@@ -76,6 +80,8 @@ CREATE TABLE IF NOT EXISTS guest_type_definition (
 CREATE INDEX IF NOT EXISTS idx_tenant_configuration_tenant_id ON tenant_configuration(tenant_id);
 CREATE INDEX IF NOT EXISTS idx_tenant_configuration_page ON tenant_configuration(page);
 CREATE INDEX IF NOT EXISTS idx_tenant_configuration_is_active ON tenant_configuration(is_active);
+-- Arbitrates the bulk upserts' ON CONFLICT; deactivated rows may repeat a key
+CREATE UNIQUE INDEX IF NOT EXISTS uq_tenant_configuration_active_key ON tenant_configuration(tenant_id, page, field) WHERE is_active;
 
 CREATE INDEX IF NOT EXISTS idx_tenant_property_tenant_id ON tenant_property_assignment(tenant_id);
 CREATE INDEX IF NOT EXISTS idx_tenant_property_property_id ON tenant_property_assignment(property_id);
@@ -84,6 +90,7 @@ CREATE INDEX IF NOT EXISTS idx_tenant_property_is_assigned ON tenant_property_as
 CREATE INDEX IF NOT EXISTS idx_promotion_schedule_property_id ON property_promotion_schedule(property_id);
 CREATE INDEX IF NOT EXISTS idx_promotion_schedule_promotion_id ON property_promotion_schedule(promotion_id);
 CREATE INDEX IF NOT EXISTS idx_promotion_schedule_dates ON property_promotion_schedule(start_date, end_date);
+CREATE INDEX IF NOT EXISTS idx_promotion_schedule_period ON property_promotion_schedule USING gist (property_id, daterange(start_date, end_date, '[]'));
 
 CREATE INDEX IF NOT EXISTS idx_room_type_images_tenant_id ON room_type_images(tenant_id);
 CREATE INDEX IF NOT EXISTS idx_room_type_images_room_type_id ON room_type_images(room_type_id);
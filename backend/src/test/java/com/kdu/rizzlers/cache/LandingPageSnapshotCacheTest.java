@@ -0,0 +1,201 @@
+package com.kdu.rizzlers.cache;
+
+import com.kdu.rizzlers.dto.out.LandingPageConfigResponse;
+import com.kdu.rizzlers.event.TenantDataChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LandingPageSnapshotCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LandingPageSnapshotCache cache;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new LandingPageSnapshotCache(meterRegistry, 600, true, 600, 480);
+    }
+
+    @Test
+    public void testSnapshotIsAssembledOncePerVariant() {
+        // Given
+        AtomicInteger assembled = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            cache.get(1, true, () -> configuration(1, assembled.incrementAndGet()));
+            cache.get(1, false, () -> configuration(1, assembled.incrementAndGet()));
+        }
+
+        // Then
+        assertEquals(2, assembled.get());
+        assertEquals(4.0, meterRegistry.counter("landing.snapshot.requests", "result", "hit").count());
+        assertEquals(2.0, meterRegistry.counter("landing.snapshot.requests", "result", "miss").count());
+    }
+
+    @Test
+    public void testConcurrentMissesShareOneBuild() throws Exception {
+        // Given a build that is still running when a second request arrives
+        AtomicInteger assembled = new AtomicInteger();
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<LandingPageSnapshotCache.Snapshot> first = executor.submit(() -> cache.get(1, true, () -> {
+                building.countDown();
+                await(release);
+                return configuration(1, assembled.incrementAndGet());
+            }));
+            assertTrue(building.await(5, TimeUnit.SECONDS));
+
+            // When
+            Future<LandingPageSnapshotCache.Snapshot> second = executor.submit(
+                    () -> cache.get(1, true, () -> configuration(1, assembled.incrementAndGet())));
+            while (meterRegistry.get("singleflight.calls").tags("name", "landing-snapshot", "result", "coalesced")
+                    .counter().count() < 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            // Then
+            assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, assembled.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testChangeInvalidatesOnlyThatTenant() {
+        // Given
+        cache.get(1, true, () -> configuration(1, 1));
+        cache.get(2, true, () -> configuration(2, 1));
+
+        // When
+        cache.onTenantDataChanged(new TenantDataChangedEvent(1, "Tenant configuration"));
+
+        // Then
+        assertNull(cache.peek(1, true));
+        assertNotNull(cache.peek(2, true));
+        assertEquals("landing-2", cache.get(1, true, () -> configuration(1, 2)).configuration().getPage());
+        assertEquals(1, cache.peek(1, true).version());
+    }
+
+    @Test
+    public void testSnapshotBuiltDuringChangeIsNotServed() {
+        // Given a tenant that changes while its snapshot is being assembled
+        LandingPageSnapshotCache.Snapshot stale = cache.get(1, false, () -> {
+            cache.invalidate(1);
+            return configuration(1, 1);
+        });
+
+        // When
+        LandingPageSnapshotCache.Snapshot next = cache.get(1, false, () -> configuration(1, 2));
+
+        // Then the snapshot carrying the old version is replaced
+        assertNotSame(stale, next);
+        assertEquals(1, cache.peek(1, false).version());
+        assertSame(next, cache.get(1, false, () -> configuration(1, 3)));
+    }
+
+    @Test
+    public void testExpiredSnapshotIsRebuilt() {
+        // Given
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new LandingPageSnapshotCache(meterRegistry, 0, true, 600, 480);
+        AtomicInteger assembled = new AtomicInteger();
+
+        // When
+        LandingPageSnapshotCache.Snapshot first = cache.get(1, true, () -> configuration(1, assembled.incrementAndGet()));
+        LandingPageSnapshotCache.Snapshot second = cache.get(1, true, () -> configuration(1, assembled.incrementAndGet()));
+        LandingPageSnapshotCache.Snapshot third = cache.get(1, true, () -> configuration(1, 2));
+
+        // Then a rebuild keeps the ETag only if the content is unchanged
+        assertEquals(2, assembled.get());
+        assertNotEquals(first.etag(), second.etag());
+        assertEquals(second.etag(), third.etag());
+    }
+
+    @Test
+    public void testRebuildsReadPropertyDetailsBeforeTheyExpire() {
+        // Given property details that are due for refresh after 480 s and expire after 600 s
+        long propertyTtlSeconds = 600;
+        long propertyRefreshAfterSeconds = 480;
+        cache = new LandingPageSnapshotCache(new SimpleMeterRegistry(), 600, true, propertyTtlSeconds, propertyRefreshAfterSeconds);
+
+        // When snapshots are rebuilt at their maximum age under steady traffic
+        long maxAgeSeconds = cache.maxAge().toSeconds();
+        long firstReadInRefreshWindow = -1;
+        for (long rebuiltAt = 0; rebuiltAt < propertyTtlSeconds; rebuiltAt += maxAgeSeconds) {
+            if (rebuiltAt >= propertyRefreshAfterSeconds) {
+                firstReadInRefreshWindow = rebuiltAt;
+                break;
+            }
+        }
+
+        // Then one of them reads the details while they are served but due, which starts the background refresh
+        assertEquals(120, maxAgeSeconds);
+        assertEquals(480, firstReadInRefreshWindow);
+    }
+
+    @Test
+    public void testMaxAgeWithinTheRefreshWindowIsKept() {
+        // When & Then
+        assertEquals(60, new LandingPageSnapshotCache(new SimpleMeterRegistry(), 60, true, 600, 480).maxAge().toSeconds());
+        // Without refresh-ahead there is no window to stay inside
+        assertEquals(600, new LandingPageSnapshotCache(new SimpleMeterRegistry(), 600, true, 600, 600).maxAge().toSeconds());
+    }
+
+    @Test
+    public void testSnapshotIsPreSerialized() throws Exception {
+        // When
+        LandingPageSnapshotCache.Snapshot snapshot = cache.get(5, false, () -> configuration(5, 1));
+        cache.invalidate(5);
+        LandingPageSnapshotCache.Snapshot changed = cache.get(5, false, () -> configuration(5, 1));
+
+        // Then
+        String json = new String(snapshot.json(), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"page\":\"landing-1\""));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzippedJson()))) {
+            assertArrayEquals(snapshot.json(), gzip.readAllBytes());
+        }
+        String digest = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(MessageDigest.getInstance("SHA-256").digest(snapshot.json()));
+        assertEquals("\"5-basic-" + digest + "\"", snapshot.etag());
+        assertEquals(snapshot.etag().replaceFirst("\"$", "-gz\""), snapshot.gzippedEtag());
+        // Identical content keeps its ETags after an invalidation
+        assertEquals(snapshot.etag(), changed.etag());
+        assertEquals(snapshot.gzippedEtag(), changed.gzippedEtag());
+    }
+
+    private static LandingPageConfigResponse configuration(Integer tenantId, int build) {
+        return LandingPageConfigResponse.builder()
+                .tenantId(tenantId)
+                .page("landing-" + build)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
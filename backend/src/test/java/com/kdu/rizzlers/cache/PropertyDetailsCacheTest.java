@@ -0,0 +1,98 @@
+package com.kdu.rizzlers.cache;
+
+import com.kdu.rizzlers.dto.out.PropertyResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PropertyDetailsCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PropertyDetailsCache cache;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new PropertyDetailsCache(meterRegistry, 600, 480, 2);
+    }
+
+    @Test
+    public void testGetAllReturnsOnlyCachedProperties() {
+        // Given
+        cache.put(property(1));
+        cache.put(property(2));
+
+        // When
+        Map<Integer, PropertyResponse> found = cache.getAll(List.of(1, 2, 3)).found();
+
+        // Then
+        assertEquals(2, found.size());
+        assertEquals("Property 1", found.get(1).getPropertyName());
+        assertEquals(2.0, meterRegistry.get("property.details.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("property.details.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvictedWhenFull() {
+        // Given
+        cache.put(property(1));
+        cache.put(property(2));
+        cache.getAll(List.of(1)); // property 2 is now the least recently used
+
+        // When
+        cache.put(property(3));
+
+        // Then
+        assertEquals(2, cache.size());
+        assertEquals(Set.of(1, 3), cache.getAll(List.of(1, 3)).found().keySet());
+        assertTrue(cache.getAll(List.of(2)).found().isEmpty());
+        assertEquals(1.0, meterRegistry.get("property.details.cache.evictions").counter().count());
+    }
+
+    @Test
+    public void testExpiredEntryIsNotReturned() {
+        // Given
+        PropertyDetailsCache expiringCache = new PropertyDetailsCache(meterRegistry, 0, 0, 10);
+        expiringCache.put(property(1));
+
+        // When & Then
+        assertTrue(expiringCache.getAll(List.of(1)).found().isEmpty());
+        assertEquals(0, expiringCache.size());
+    }
+
+    private PropertyResponse property(int propertyId) {
+        return PropertyResponse.builder()
+                .propertyId(propertyId)
+                .propertyName("Property " + propertyId)
+                .tenantId(1)
+                .build();
+    }
+
+    @Test
+    public void testEntryPastRefreshThresholdIsServedAndReportedOnce() {
+        // Given an entry that is immediately due for refresh but not yet expired
+        PropertyDetailsCache refreshingCache = new PropertyDetailsCache(meterRegistry, 600, 0, 10);
+        refreshingCache.put(property(1));
+
+        // When
+        PropertyDetailsCache.Lookup first = refreshingCache.getAll(List.of(1));
+        PropertyDetailsCache.Lookup second = refreshingCache.getAll(List.of(1));
+
+        // Then the stale value is served both times, but only the first caller is asked to reload it
+        assertEquals("Property 1", first.found().get(1).getPropertyName());
+        assertEquals(Set.of(1), first.dueForRefresh());
+        assertEquals("Property 1", second.found().get(1).getPropertyName());
+        assertTrue(second.dueForRefresh().isEmpty());
+
+        // And a failed reload makes the entry due again
+        refreshingCache.refreshFailed(List.of(1));
+        assertEquals(Set.of(1), refreshingCache.getAll(List.of(1)).dueForRefresh());
+        assertEquals(1.0, meterRegistry.get("property.details.cache.refreshes").tag("result", "failure").counter().count());
+    }
+}
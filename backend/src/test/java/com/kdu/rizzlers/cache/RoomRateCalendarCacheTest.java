@@ -0,0 +1,297 @@
+package com.kdu.rizzlers.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Sinks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoomRateCalendarCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RoomRateCalendarCache cache;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new RoomRateCalendarCache(meterRegistry, 300, 2);
+    }
+
+    @Test
+    public void testBuilderKeepsMinimumRatePerDate() {
+        // Given
+        LocalDate day = LocalDate.of(2025, 3, 10);
+
+        // When
+        RateCalendar calendar = RateCalendar.builder()
+                .accept(day, 120.0)
+                .accept(day, 95.5)
+                .accept(day.plusDays(3), 80.0)
+                .accept(day.minusDays(200), 150.0) // forces the array to grow to the left
+                .accept(day, 110.0)
+                .build();
+
+        // Then
+        assertEquals(3, calendar.size());
+        assertEquals(day.minusDays(200), calendar.getFirstDate());
+        assertEquals(day.plusDays(3), calendar.getLastDate());
+        assertEquals(95.5, calendar.rateAt(day.toEpochDay()));
+        assertEquals(80.0, calendar.rateAt(day.plusDays(3).toEpochDay()));
+        assertTrue(Double.isNaN(calendar.rateAt(day.plusDays(1).toEpochDay())));
+        assertFalse(calendar.hasRate(day.plusDays(4).toEpochDay()));
+    }
+
+    @Test
+    public void testBuilderMerge() {
+        // Given
+        LocalDate day = LocalDate.of(2025, 3, 10);
+        RateCalendar.Builder first = RateCalendar.builder().accept(day, 100.0).accept(day.plusDays(1), 90.0);
+        RateCalendar.Builder second = RateCalendar.builder().accept(day, 70.0).accept(day.plusDays(400), 60.0);
+
+        // When
+        RateCalendar calendar = first.merge(second).build();
+
+        // Then
+        assertEquals(3, calendar.size());
+        assertEquals(70.0, calendar.rateAt(day.toEpochDay()));
+        assertEquals(90.0, calendar.rateAt(day.plusDays(1).toEpochDay()));
+        assertEquals(60.0, calendar.rateAt(day.plusDays(400).toEpochDay()));
+    }
+
+    @Test
+    public void testEmptyBuilderBuildsEmptyCalendar() {
+        RateCalendar calendar = RateCalendar.builder().build();
+
+        assertTrue(calendar.isEmpty());
+        assertNull(calendar.getFirstDate());
+        assertTrue(Double.isNaN(calendar.rateAt(0)));
+    }
+
+    @Test
+    public void testHitAndMissAreCounted() {
+        // Given
+        RateCalendar calendar = RateCalendar.builder().accept(LocalDate.of(2025, 1, 1), 100.0).build();
+
+        // When
+        assertNull(cache.get(1, null, null));
+        cache.put(1, calendar, null, null);
+        RateCalendar cached = cache.get(1, null, null);
+
+        // Then
+        assertSame(calendar, cached);
+        assertEquals(1.0, meterRegistry.get("room.rate.calendar.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("room.rate.calendar.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    public void testWindowedEntryOnlyServesCoveredWindows() {
+        // Given
+        LocalDate start = LocalDate.of(2025, 3, 1);
+        LocalDate end = LocalDate.of(2025, 4, 30);
+        cache.put(1, RateCalendar.builder().accept(start, 100.0).build(), start, end);
+
+        // When & Then
+        assertNotNull(cache.get(1, start.plusDays(5), end.minusDays(5)));
+        assertNotNull(cache.get(1, start, end));
+        assertNull(cache.get(1, start.minusDays(1), end));
+        assertNull(cache.get(1, start, null));
+        assertNull(cache.get(1, null, null));
+    }
+
+    @Test
+    public void testNarrowWindowDoesNotReplaceFullHorizonCalendar() {
+        // Given a full-horizon calendar
+        LocalDate march = LocalDate.of(2025, 3, 1);
+        RateCalendar full = RateCalendar.builder().accept(march, 100.0).accept(march.plusMonths(6), 120.0).build();
+        cache.put(1, full, null, null);
+
+        // When a narrow window is requested and loaded
+        cache.put(1, RateCalendar.builder().accept(march, 100.0).build(), march, march.plusDays(30));
+
+        // Then the full-horizon entry is still served
+        assertSame(full, cache.get(1, null, null));
+        assertSame(full, cache.get(1, march.plusMonths(5), march.plusMonths(7)));
+    }
+
+    @Test
+    public void testAdjoiningWindowsAreMerged() {
+        // Given
+        LocalDate march = LocalDate.of(2025, 3, 1);
+        LocalDate april = LocalDate.of(2025, 4, 1);
+        cache.put(1, RateCalendar.builder().accept(march.plusDays(3), 100.0).accept(march.plusDays(9), 80.0).build(),
+                march, april.minusDays(1));
+
+        // When
+        cache.put(1, RateCalendar.builder().accept(march.plusDays(9), 90.0).accept(april.plusDays(4), 110.0).build(),
+                march.plusDays(9), april.plusDays(29));
+
+        // Then one entry covers both months, with the later load's rates where they overlap
+        RateCalendar merged = cache.get(1, march, april.plusDays(29));
+        assertNotNull(merged);
+        assertEquals(100.0, merged.rateAt(march.plusDays(3).toEpochDay()));
+        assertEquals(90.0, merged.rateAt(march.plusDays(9).toEpochDay()));
+        assertEquals(110.0, merged.rateAt(april.plusDays(4).toEpochDay()));
+        assertEquals(3, merged.size());
+    }
+
+    @Test
+    public void testDisjointNarrowerWindowKeepsWiderEntry() {
+        // Given
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        cache.put(1, RateCalendar.builder().accept(start, 100.0).build(), start, start.plusDays(59));
+
+        // When
+        cache.put(1, RateCalendar.builder().accept(start.plusDays(90), 100.0).build(), start.plusDays(90), start.plusDays(99));
+
+        // Then
+        assertNotNull(cache.get(1, start, start.plusDays(59)));
+        assertNull(cache.get(1, start.plusDays(90), start.plusDays(99)));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvictedWhenFull() {
+        // Given
+        RateCalendar calendar = RateCalendar.builder().accept(LocalDate.of(2025, 1, 1), 100.0).build();
+        cache.put(1, calendar, null, null);
+        cache.put(2, calendar, null, null);
+        cache.get(1, null, null); // property 2 is now the least recently used
+
+        // When
+        cache.put(3, calendar, null, null);
+
+        // Then
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(1, null, null));
+        assertNull(cache.get(2, null, null));
+        assertNotNull(cache.get(3, null, null));
+        assertEquals(1.0, meterRegistry.get("room.rate.calendar.cache.evictions").counter().count());
+    }
+
+    @Test
+    public void testExpiredEntryIsNotReturned() {
+        // Given
+        RoomRateCalendarCache expiringCache = new RoomRateCalendarCache(new SimpleMeterRegistry(), 0, 10);
+        expiringCache.put(1, RateCalendar.builder().accept(LocalDate.of(2025, 1, 1), 100.0).build(), null, null);
+
+        // When & Then
+        assertNull(expiringCache.get(1, null, null));
+        assertEquals(0, expiringCache.size());
+    }
+
+    @Test
+    public void testConcurrentMissesShareOneLoad() {
+        // Given a load that stays in flight until the sink emits
+        Sinks.One<RateCalendar> upstream = Sinks.one();
+        AtomicInteger loads = new AtomicInteger();
+        List<RateCalendar> results = new ArrayList<>();
+        LocalDate start = LocalDate.of(2025, 3, 1);
+        LocalDate end = LocalDate.of(2025, 3, 31);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            cache.getOrLoad(1, start, end, () -> {
+                loads.incrementAndGet();
+                return upstream.asMono();
+            }).subscribe(results::add);
+        }
+        RateCalendar calendar = RateCalendar.builder().accept(start.plusDays(2), 100.0).build();
+        upstream.tryEmitValue(calendar);
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals(List.of(calendar, calendar, calendar), results);
+        assertSame(calendar, cache.get(1, start, end));
+        assertEquals(2.0, meterRegistry.get("singleflight.calls")
+                .tags("name", "room-rate-calendar", "result", "coalesced").counter().count());
+    }
+
+    @Test
+    public void testLoadInFlightDuringInvalidationIsNotCached() {
+        // Given a load that is still in flight when the property is invalidated
+        Sinks.One<RateCalendar> stale = Sinks.one();
+        Sinks.One<RateCalendar> fresh = Sinks.one();
+        AtomicInteger loads = new AtomicInteger();
+        List<RateCalendar> results = new ArrayList<>();
+        LocalDate start = LocalDate.of(2025, 3, 1);
+        LocalDate end = LocalDate.of(2025, 3, 31);
+        cache.getOrLoad(1, start, end, () -> {
+            loads.incrementAndGet();
+            return stale.asMono();
+        }).subscribe(results::add);
+
+        // When
+        cache.invalidate(1);
+        cache.getOrLoad(1, start, end, () -> {
+            loads.incrementAndGet();
+            return fresh.asMono();
+        }).subscribe(results::add);
+        RateCalendar before = RateCalendar.builder().accept(start, 100.0).build();
+        stale.tryEmitValue(before);
+
+        // Then the earlier load is neither cached nor joined by the later miss
+        assertEquals(2, loads.get());
+        assertEquals(List.of(before), results);
+        assertNull(cache.get(1, start, end));
+
+        RateCalendar after = RateCalendar.builder().accept(start, 90.0).build();
+        fresh.tryEmitValue(after);
+        assertSame(after, cache.get(1, start, end));
+    }
+
+    @Test
+    public void testInvalidatingAnotherPropertyDoesNotDiscardLoadInFlight() {
+        // Given a load for property 1 that is still in flight
+        Sinks.One<RateCalendar> pending = Sinks.one();
+        LocalDate start = LocalDate.of(2025, 3, 1);
+        LocalDate end = LocalDate.of(2025, 3, 31);
+        cache.getOrLoad(1, start, end, pending::asMono).subscribe();
+
+        // When property 2 is invalidated before the load completes
+        cache.invalidate(2);
+        RateCalendar calendar = RateCalendar.builder().accept(start, 100.0).build();
+        pending.tryEmitValue(calendar);
+
+        // Then property 1's calendar is still cached
+        assertSame(calendar, cache.get(1, start, end));
+    }
+
+    @Test
+    public void testLoadInFlightDuringInvalidateAllIsNotCached() {
+        // Given a load for property 1 that is still in flight
+        Sinks.One<RateCalendar> pending = Sinks.one();
+        LocalDate start = LocalDate.of(2025, 3, 1);
+        LocalDate end = LocalDate.of(2025, 3, 31);
+        cache.getOrLoad(1, start, end, pending::asMono).subscribe();
+
+        // When every property is invalidated before the load completes
+        cache.invalidateAll();
+        pending.tryEmitValue(RateCalendar.builder().accept(start, 100.0).build());
+
+        // Then
+        assertNull(cache.get(1, start, end));
+    }
+
+    @Test
+    public void testInvalidate() {
+        // Given
+        RateCalendar calendar = RateCalendar.builder().accept(LocalDate.of(2025, 1, 1), 100.0).build();
+        cache.put(1, calendar, null, null);
+        cache.put(2, calendar, null, null);
+
+        // When
+        cache.invalidate(1);
+
+        // Then
+        assertNull(cache.get(1, null, null));
+        assertNotNull(cache.get(2, null, null));
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,124 @@
+package com.kdu.rizzlers.cache;
+
+import com.kdu.rizzlers.dto.graphql.RoomType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoomTypeCatalogCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RoomTypeCatalogCache cache;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new RoomTypeCatalogCache(meterRegistry, 86400, 2);
+    }
+
+    @Test
+    public void testCatalogIsSortedAndDeduplicated() {
+        // When
+        RoomTypeCatalog catalog = RoomTypeCatalog.of(Arrays.asList(
+                new RoomType(12, "Suite", 4, null),
+                new RoomType(3, "Standard", null, null),
+                new RoomType(12, "Suite again", 6, null),
+                new RoomType(null, "No ID", 2, null),
+                null));
+
+        // Then
+        assertEquals(List.of(3, 12), catalog.roomTypeIds());
+        assertEquals("Suite", catalog.name(12));
+        assertEquals(4, catalog.maxCapacity(12));
+        assertEquals(RoomTypeCatalog.UNKNOWN_CAPACITY, catalog.maxCapacity(3));
+        assertFalse(catalog.contains(5));
+        assertNull(catalog.name(5));
+        assertSame(RoomTypeCatalog.empty(), RoomTypeCatalog.of(List.of()));
+    }
+
+    @Test
+    public void testHitAndMissAreCounted() {
+        // Given
+        RoomTypeCatalog catalog = RoomTypeCatalog.of(List.of(new RoomType(1, "Standard", 2, null)));
+
+        // When
+        assertNull(cache.get(1));
+        cache.put(1, catalog);
+        RoomTypeCatalog cached = cache.get(1);
+
+        // Then
+        assertSame(catalog, cached);
+        assertEquals(1.0, meterRegistry.get("room.type.catalog.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("room.type.catalog.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    public void testExpiredCatalogIsNotReturned() {
+        // Given
+        RoomTypeCatalogCache expiringCache = new RoomTypeCatalogCache(meterRegistry, 0, 10);
+        expiringCache.put(1, RoomTypeCatalog.of(List.of(new RoomType(1, "Standard", 2, null))));
+
+        // When & Then
+        assertNull(expiringCache.get(1));
+        assertEquals(0, expiringCache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedCatalogIsEvictedWhenFull() {
+        // Given
+        RoomTypeCatalog catalog = RoomTypeCatalog.of(List.of(new RoomType(1, "Standard", 2, null)));
+        cache.put(1, catalog);
+        cache.put(2, catalog);
+        cache.get(1); // property 2 is now the least recently used
+
+        // When
+        cache.put(3, catalog);
+
+        // Then
+        assertEquals(List.of(1, 3), cache.propertyIds());
+        assertEquals(1.0, meterRegistry.get("room.type.catalog.cache.evictions").counter().count());
+    }
+
+    @Test
+    public void testRefreshesAreCounted() {
+        // Given
+        RoomTypeCatalog catalog = RoomTypeCatalog.of(List.of(new RoomType(1, "Standard", 2, null)));
+
+        // When
+        cache.refreshed(1, catalog);
+        cache.refreshFailed(2);
+
+        // Then
+        assertSame(catalog, cache.get(1));
+        assertEquals(1.0, meterRegistry.get("room.type.catalog.cache.refreshes").tag("result", "success").counter().count());
+        assertEquals(1.0, meterRegistry.get("room.type.catalog.cache.refreshes").tag("result", "failure").counter().count());
+    }
+
+    @Test
+    public void testOnlyCatalogsReadSinceTheLastRefreshAreTaken() {
+        // Given
+        RoomTypeCatalog catalog = RoomTypeCatalog.of(List.of(new RoomType(1, "Standard", 2, null)));
+        cache.put(1, catalog);
+        cache.put(2, catalog);
+
+        // When
+        cache.get(1);
+        cache.get(1);
+        List<Integer> firstRefresh = cache.takeReadPropertyIds();
+        cache.refreshed(1, catalog);
+        List<Integer> secondRefresh = cache.takeReadPropertyIds();
+        cache.get(2);
+        List<Integer> thirdRefresh = cache.takeReadPropertyIds();
+
+        // Then idle catalogs are not refreshed, so they expire
+        assertEquals(List.of(1), firstRefresh);
+        assertEquals(List.of(), secondRefresh);
+        assertEquals(List.of(2), thirdRefresh);
+        assertEquals(List.of(1, 2), cache.propertyIds());
+    }
+}
@@ -0,0 +1,124 @@
+package com.kdu.rizzlers.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<String, Integer> singleFlight;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+    }
+
+    @Test
+    public void testConcurrentCallsForSameKeyShareOneCall() {
+        // Given a call that stays in flight until the sink emits
+        Sinks.One<Integer> upstream = Sinks.one();
+        AtomicInteger calls = new AtomicInteger();
+        List<Integer> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            singleFlight.execute("a", () -> {
+                calls.incrementAndGet();
+                return upstream.asMono();
+            }).subscribe(results::add);
+        }
+        assertEquals(1, singleFlight.inFlight());
+        upstream.tryEmitValue(42);
+
+        // Then
+        assertEquals(1, calls.get());
+        assertEquals(List.of(42, 42, 42, 42, 42), results);
+        assertEquals(0, singleFlight.inFlight());
+        assertEquals(1.0, count("leader"));
+        assertEquals(4.0, count("coalesced"));
+    }
+
+    @Test
+    public void testDifferentKeysDoNotShare() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        Integer a = singleFlight.execute("a", () -> Mono.fromCallable(calls::incrementAndGet)).block();
+        Integer b = singleFlight.execute("b", () -> Mono.fromCallable(calls::incrementAndGet)).block();
+
+        // Then
+        assertNotEquals(a, b);
+        assertEquals(2, calls.get());
+        assertEquals(0.0, count("coalesced"));
+    }
+
+    @Test
+    public void testCompletedCallIsNotReused() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        Integer first = singleFlight.execute("a", () -> Mono.fromCallable(calls::incrementAndGet)).block();
+        Integer second = singleFlight.execute("a", () -> Mono.fromCallable(calls::incrementAndGet)).block();
+
+        // Then
+        assertEquals(1, first);
+        assertEquals(2, second);
+        assertEquals(2.0, count("leader"));
+    }
+
+    @Test
+    public void testErrorIsSharedThenRetried() {
+        // Given
+        Sinks.One<Integer> upstream = Sinks.one();
+        AtomicReference<Throwable> firstError = new AtomicReference<>();
+        AtomicReference<Throwable> secondError = new AtomicReference<>();
+        singleFlight.execute("a", upstream::asMono).subscribe(value -> { }, firstError::set);
+        singleFlight.execute("a", upstream::asMono).subscribe(value -> { }, secondError::set);
+
+        // When
+        upstream.tryEmitError(new IllegalStateException("upstream unavailable"));
+
+        // Then both callers see the failure, and the next call starts afresh
+        assertInstanceOf(IllegalStateException.class, firstError.get());
+        assertSame(firstError.get(), secondError.get());
+        assertEquals(7, singleFlight.execute("a", () -> Mono.just(7)).block());
+    }
+
+    @Test
+    public void testCancelledCallerDoesNotCancelSharedCall() {
+        // Given
+        Sinks.One<Integer> upstream = Sinks.one();
+        AtomicInteger cancellations = new AtomicInteger();
+        AtomicReference<Integer> result = new AtomicReference<>();
+        Disposable first = singleFlight.execute("a", () -> upstream.asMono().doOnCancel(cancellations::incrementAndGet))
+                .subscribe();
+        singleFlight.execute("a", upstream::asMono).subscribe(result::set);
+
+        // When
+        first.dispose();
+        upstream.tryEmitValue(42);
+
+        // Then
+        assertEquals(0, cancellations.get());
+        assertEquals(42, result.get());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("singleflight.calls").tags("name", "test", "result", result).counter().count();
+    }
+}
@@ -1,6 +1,5 @@
 package com.kdu.rizzlers.config;
 
-import org.mockito.Mockito;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
@@ -8,15 +7,10 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
-import org.springframework.graphql.client.HttpGraphQlClient;
-import org.springframework.graphql.ResponseError;
-import org.springframework.graphql.client.ClientGraphQlResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -51,40 +45,4 @@ public class CustomTestConfiguration {
         
         return builder;
     }
-    
-    /**
-     * Provides a mocked HttpGraphQlClient for tests
-     */
-    @Bean
-    @Primary
-    public HttpGraphQlClient httpGraphQlClient() {
-        // Create a more robust mock that returns proper responses for GraphQL
-        HttpGraphQlClient mockClient = mock(HttpGraphQlClient.class);
-        HttpGraphQlClient.Builder builder = mock(HttpGraphQlClient.Builder.class);
-        HttpGraphQlClient.RequestSpec requestSpec = mock(HttpGraphQlClient.RequestSpec.class);
-        
-        // Create a mock ClientGraphQlResponse
-        ClientGraphQlResponse graphQlResponse = mock(ClientGraphQlResponse.class);
-        
-        // Create empty response data
-        Map<String, Object> emptyData = new HashMap<>();
-        emptyData.put("dailyRates", Collections.emptyList());
-        
-        // Setup the complete chain of mocks
-        when(mockClient.document(any(String.class))).thenReturn(requestSpec);
-        when(requestSpec.variable(any(String.class), any())).thenReturn(requestSpec);
-        
-        // Mock the execute() method to return a Mono<ClientGraphQlResponse>
-        when(requestSpec.execute()).thenReturn(Mono.just(graphQlResponse));
-        
-        // Mock the ClientGraphQlResponse methods
-        when(graphQlResponse.getData()).thenReturn(emptyData);
-        when(graphQlResponse.getErrors()).thenReturn(Collections.<ResponseError>emptyList());
-        when(graphQlResponse.isValid()).thenReturn(true);
-        
-        when(mockClient.mutate()).thenReturn(builder);
-        when(builder.build()).thenReturn(mockClient);
-        
-        return mockClient;
-    }
 } 
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.kdu.rizzlers.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DataSourceWarmUpTest {
+
+    @Mock
+    private HikariDataSource dataSource;
+
+    @Test
+    public void testOpensMinimumIdleConnectionsAtOnce() throws SQLException {
+        // Given
+        Connection first = mock(Connection.class);
+        Connection second = mock(Connection.class);
+        Connection third = mock(Connection.class);
+        when(dataSource.getMinimumIdle()).thenReturn(3);
+        when(dataSource.getMaximumPoolSize()).thenReturn(5);
+        when(dataSource.getConnection()).thenReturn(first, second, third);
+
+        // When
+        new DataSourceWarmUp(dataSource).run(null);
+
+        // Then every connection is held until all are open, then returned
+        verify(dataSource, times(3)).getConnection();
+        verify(first).close();
+        verify(second).close();
+        verify(third).close();
+    }
+
+    @Test
+    public void testFailedConnectionDoesNotFailStartup() throws SQLException {
+        // Given
+        Connection first = mock(Connection.class);
+        when(dataSource.getMinimumIdle()).thenReturn(2);
+        when(dataSource.getMaximumPoolSize()).thenReturn(2);
+        when(dataSource.getConnection()).thenReturn(first).thenThrow(new SQLException("Connection refused"));
+
+        // When
+        new DataSourceWarmUp(dataSource).run(null);
+
+        // Then the connection that was opened is returned to the pool
+        verify(first).close();
+    }
+}
@@ -0,0 +1,102 @@
+package com.kdu.rizzlers.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphQlClientMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GraphQlClientMetrics metrics;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new GraphQlClientMetrics(meterRegistry);
+    }
+
+    @Test
+    public void testSuccessfulRequestIsTimedAndSized() {
+        // Given
+        String body = "{\"data\":{\"listRooms\":[{\"room_id\":1}]}}";
+        WebClient webClient = webClient(HttpStatus.OK, body);
+
+        // When
+        String response = webClient.post()
+                .uri("http://upstream/graphql")
+                .attribute(GraphQlClientMetrics.OPERATION_ATTRIBUTE, GraphQlClientMetrics.LIST_ROOMS)
+                .retrieve()
+                .bodyToMono(String.class)
+                .block();
+
+        // Then
+        assertEquals(body, response);
+        Timer timer = meterRegistry.get("graphql.client.requests")
+                .tags("operation", "listRooms", "status", "200", "outcome", "SUCCESS")
+                .timer();
+        assertEquals(1, timer.count());
+        assertEquals(body.getBytes(StandardCharsets.UTF_8).length,
+                meterRegistry.get("graphql.client.response.size").tag("operation", "listRooms").summary().totalAmount());
+    }
+
+    @Test
+    public void testErrorStatusIsTimedAsFailure() {
+        // Given
+        WebClient webClient = webClient(HttpStatus.BAD_GATEWAY, "upstream down");
+
+        // When
+        Mono<String> response = webClient.post()
+                .uri("http://upstream/graphql")
+                .attribute(GraphQlClientMetrics.OPERATION_ATTRIBUTE, GraphQlClientMetrics.LIST_PROPERTIES)
+                .retrieve()
+                .bodyToMono(String.class)
+                .doOnError(e -> metrics.recordFailure(GraphQlClientMetrics.LIST_PROPERTIES, e));
+
+        // Then
+        assertThrows(WebClientResponseException.class, response::block);
+        assertEquals(1, meterRegistry.get("graphql.client.requests")
+                .tags("operation", "listProperties", "status", "502", "outcome", "FAILURE")
+                .timer()
+                .count());
+        assertEquals(1, meterRegistry.get("graphql.client.failures")
+                .tags("operation", "listProperties", "exception", "BadGateway")
+                .counter()
+                .count());
+    }
+
+    @Test
+    public void testRequestWithoutOperationIsTaggedUnknown() {
+        // Given
+        WebClient webClient = webClient(HttpStatus.OK, "{}");
+
+        // When
+        webClient.post().uri("http://upstream/graphql").retrieve().bodyToMono(String.class).block();
+        metrics.recordRows(GraphQlClientMetrics.LIST_ROOMS, 25);
+
+        // Then
+        assertEquals(1, meterRegistry.get("graphql.client.requests").tag("operation", "unknown").timer().count());
+        assertEquals(25, meterRegistry.get("graphql.client.rows").tag("operation", "listRooms").summary().totalAmount());
+    }
+
+    private WebClient webClient(HttpStatus status, String body) {
+        return WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(status)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(body)
+                        .build()))
+                .filter(metrics.filter())
+                .build();
+    }
+}
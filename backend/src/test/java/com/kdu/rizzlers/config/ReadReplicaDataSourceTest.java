@@ -0,0 +1,145 @@
+package com.kdu.rizzlers.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadReplicaDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DataSource primary;
+    private ReadReplicaDataSource readReplicas;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        primary = database("primary");
+        database("replica-a");
+        database("replica-b");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (readReplicas != null) {
+            readReplicas.destroy();
+        }
+    }
+
+    @Test
+    public void testReadOnlyTransactionsGoToReplica() {
+        // Given
+        DataSource dataSource = routing(ReadReplicaProperties.Selection.ROUND_ROBIN, "replica-a");
+
+        // When & Then
+        assertEquals("replica-a", origin(dataSource, true));
+        assertEquals("primary", origin(dataSource, false));
+    }
+
+    @Test
+    public void testRoundRobinAlternatesReplicas() {
+        // Given
+        DataSource dataSource = routing(ReadReplicaProperties.Selection.ROUND_ROBIN, "replica-a", "replica-b");
+
+        // When
+        List<String> origins = List.of(origin(dataSource, true), origin(dataSource, true), origin(dataSource, true));
+
+        // Then
+        assertEquals(List.of("replica-a", "replica-b", "replica-a"), origins);
+    }
+
+    @Test
+    public void testLeastBusyAvoidsReplicaWithConnectionsInUse() throws SQLException {
+        // Given a connection held on the first replica
+        DataSource dataSource = routing(ReadReplicaProperties.Selection.LEAST_BUSY, "replica-a", "replica-b");
+        try (Connection held = readReplicas.getConnection()) {
+            assertEquals("replica-a", origin(held));
+
+            // When & Then
+            assertEquals("replica-b", origin(dataSource, true));
+        }
+    }
+
+    @Test
+    public void testUnavailableReplicaFallsBackToPrimary() {
+        // Given a replica that does not exist
+        DataSource dataSource = routing(ReadReplicaProperties.Selection.ROUND_ROBIN, "missing;IFEXISTS=TRUE");
+
+        // When
+        String origin = origin(dataSource, true);
+
+        // Then
+        assertEquals("primary", origin);
+        assertEquals(0.0, meterRegistry.get("database.replica.healthy").tag("replica", "read-replica-0").gauge().value());
+    }
+
+    @Test
+    public void testConnectionWithOtherCredentialsIsNotSupported() {
+        // Given
+        routing(ReadReplicaProperties.Selection.ROUND_ROBIN, "replica-a");
+
+        // When & Then
+        assertThrows(SQLFeatureNotSupportedException.class, () -> readReplicas.getConnection("other", "secret"));
+    }
+
+    private DataSource routing(ReadReplicaProperties.Selection selection, String... replicaNames) {
+        ReadReplicaProperties properties = new ReadReplicaProperties();
+        properties.setSelection(selection);
+        properties.setHealthCheckInterval(Duration.ofHours(1));
+        properties.setConnectionTimeout(Duration.ofMillis(500));
+        for (String replicaName : replicaNames) {
+            ReadReplicaProperties.Target target = new ReadReplicaProperties.Target();
+            target.setUrl(url(replicaName));
+            target.setUsername("sa");
+            target.setPassword("");
+            properties.getTargets().add(target);
+        }
+        readReplicas = new ReadReplicaDataSource(primary, properties, meterRegistry);
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(readReplicas);
+        return dataSource;
+    }
+
+    private static String origin(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT name FROM origin", String.class));
+    }
+
+    private static String origin(Connection connection) throws SQLException {
+        try (var statement = connection.createStatement(); var result = statement.executeQuery("SELECT name FROM origin")) {
+            result.next();
+            return result.getString(1);
+        }
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(url(name));
+        dataSource.setUser("sa");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS origin (name VARCHAR(32))");
+        jdbcTemplate.execute("DELETE FROM origin");
+        jdbcTemplate.update("INSERT INTO origin VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static String url(String name) {
+        return "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1";
+    }
+}
@@ -1,8 +1,10 @@
 package com.kdu.rizzlers.controller;
 
 import com.kdu.rizzlers.dto.out.DailyRoomRateDTO;
+import com.kdu.rizzlers.dto.out.KeysetPageResponse;
 import com.kdu.rizzlers.entity.PropertyPromotionSchedule;
 import com.kdu.rizzlers.service.RoomRateService;
+import com.kdu.rizzlers.service.RoomTypeCatalogService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,7 +13,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -19,14 +23,24 @@ import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +49,9 @@ public class RoomRateControllerTest {
     @Mock
     private RoomRateService roomRateService;
     
+    @Mock
+    private RoomTypeCatalogService roomTypeCatalogService;
+    
     @InjectMocks
     private RoomRateController roomRateController;
     
@@ -140,14 +157,19 @@ public class RoomRateControllerTest {
                 .discountedRate(110.0)
                 .build();
         
-        when(roomRateService.getDailyRatesWithPromotions(tenantId, propertyId))
-                .thenReturn(Arrays.asList(dto1, dto2));
+        when(roomRateService.getDailyRatesWithPromotionsReactive(tenantId, propertyId, null, null))
+                .thenReturn(Mono.just(Arrays.asList(dto1, dto2)));
         
-        // When & Then
-        mockMvc.perform(get("/room-rates/daily-rates")
+        // When
+        MvcResult asyncResult = mockMvc.perform(get("/room-rates/daily-rates")
                 .param("tenantId", tenantId.toString())
                 .param("propertyId", propertyId.toString())
                 .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        // Then
+        mockMvc.perform(asyncDispatch(asyncResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[0].minimum_rate", is(100.0)))
@@ -160,4 +182,153 @@ public class RoomRateControllerTest {
                 .andExpect(jsonPath("$[1].price_factor", is(1.0)))
                 .andExpect(jsonPath("$[1].discounted_rate", is(110.0)));
     }
-} 
\ No newline at end of file
+    
+    @Test
+    public void testGetDailyRatesWithPromotions_DateWindow() throws Exception {
+        // Given
+        LocalDate startDate = LocalDate.of(2025, 3, 1);
+        LocalDate endDate = LocalDate.of(2025, 3, 15);
+        
+        when(roomRateService.getDailyRatesWithPromotionsReactive(1, 1, startDate, endDate))
+                .thenReturn(Mono.just(Collections.emptyList()));
+        
+        // When
+        MvcResult asyncResult = mockMvc.perform(get("/room-rates/daily-rates")
+                .param("tenantId", "1")
+                .param("propertyId", "1")
+                .param("startDate", "2025-03-01")
+                .param("endDate", "2025-03-15"))
+                .andReturn();
+        
+        // Then
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        
+        verify(roomRateService).getDailyRatesWithPromotionsReactive(1, 1, startDate, endDate);
+    }
+    
+    @Test
+    public void testGetDailyRatesWithPromotions_MonthWindow() throws Exception {
+        // Given
+        when(roomRateService.getDailyRatesWithPromotionsReactive(eq(1), eq(1), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(Mono.just(Collections.emptyList()));
+        
+        // When
+        MvcResult asyncResult = mockMvc.perform(get("/room-rates/daily-rates")
+                .param("tenantId", "1")
+                .param("propertyId", "1")
+                .param("month", "2025-01")
+                .param("months", "2"))
+                .andReturn();
+        
+        // Then
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk());
+        
+        verify(roomRateService).getDailyRatesWithPromotionsReactive(1, 1,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 28));
+    }
+    
+    @Test
+    public void testGetDailyRatesWithPromotions_InvalidWindow() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/room-rates/daily-rates")
+                .param("tenantId", "1")
+                .param("propertyId", "1")
+                .param("startDate", "2025-03-15")
+                .param("endDate", "2025-03-01"))
+                .andExpect(status().isBadRequest());
+        
+        mockMvc.perform(get("/room-rates/daily-rates")
+                .param("tenantId", "1")
+                .param("propertyId", "1")
+                .param("month", "2025-01")
+                .param("startDate", "2025-01-10"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    public void testEvictDailyRatesCache() throws Exception {
+        // When & Then
+        mockMvc.perform(delete("/room-rates/daily-rates/cache")
+                .param("propertyId", "1"))
+                .andExpect(status().isNoContent());
+        
+        mockMvc.perform(delete("/room-rates/daily-rates/cache"))
+                .andExpect(status().isNoContent());
+        
+        verify(roomRateService).evictRateCalendar(1);
+        verify(roomRateService).evictRateCalendar(null);
+    }
+    
+    @Test
+    public void testRefreshRoomTypeCatalogs() throws Exception {
+        // Given
+        when(roomTypeCatalogService.refreshCatalogs(1)).thenReturn(Mono.just(1));
+        
+        // When
+        MvcResult result = mockMvc.perform(post("/room-rates/room-types/cache/refresh")
+                .param("propertyId", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.refreshed", is(1)));
+    }
+
+    @Test
+    public void testGetPromotionsPage() throws Exception {
+        // Given
+        PropertyPromotionSchedule promotion = new PropertyPromotionSchedule();
+        promotion.setId(7L);
+        promotion.setPropertyId(1);
+        promotion.setPromotionId(101);
+        when(roomRateService.getPromotionsPage(1, 5L, 1)).thenReturn(KeysetPageResponse.<PropertyPromotionSchedule>builder()
+                .items(List.of(promotion))
+                .nextAfterId(7L)
+                .build());
+        
+        // When & Then
+        mockMvc.perform(get("/room-rates/all-promotions")
+                .param("propertyId", "1")
+                .param("afterId", "5")
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].promotionId", is(101)))
+                .andExpect(jsonPath("$.nextAfterId", is(7)));
+    }
+    
+    @Test
+    public void testExportPromotionsAsNdjson() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<PropertyPromotionSchedule> action = invocation.getArgument(1);
+            for (int promotionId : new int[]{101, 102}) {
+                PropertyPromotionSchedule promotion = new PropertyPromotionSchedule();
+                promotion.setPropertyId(1);
+                promotion.setPromotionId(promotionId);
+                action.accept(promotion);
+            }
+            return null;
+        }).when(roomRateService).forEachPromotion(eq(1), any());
+        
+        // When
+        MvcResult result = mockMvc.perform(get("/room-rates/all-promotions/export")
+                .param("propertyId", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        // Then one JSON object per line
+        String[] lines = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"promotionId\":101"));
+        assertTrue(lines[1].contains("\"promotionId\":102"));
+    }
+}
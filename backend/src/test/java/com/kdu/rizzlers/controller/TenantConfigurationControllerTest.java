@@ -0,0 +1,237 @@
+package com.kdu.rizzlers.controller;
+
+import com.kdu.rizzlers.cache.LandingPageSnapshotCache;
+import com.kdu.rizzlers.dto.out.KeysetPageResponse;
+import com.kdu.rizzlers.dto.out.LandingPageConfigResponse;
+import com.kdu.rizzlers.dto.out.TenantConfigurationResponse;
+import com.kdu.rizzlers.exception.GlobalExceptionHandler;
+import com.kdu.rizzlers.service.TenantConfigurationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class TenantConfigurationControllerTest {
+
+    @Mock
+    private TenantConfigurationService tenantConfigurationService;
+
+    @InjectMocks
+    private TenantConfigurationController tenantConfigurationController;
+
+    private static final String SINGLE_ROW_BATCH = """
+            {"configurations": [
+              {"tenantId": 1, "page": "landing", "field": "header_logo", "value": "{\\"url\\": \\"logo.png\\"}"}
+            ]}
+            """;
+
+    private MockMvc mockMvc;
+    private LandingPageSnapshotCache.Snapshot snapshot;
+
+    @BeforeEach
+    public void setup() {
+        mockMvc = MockMvcBuilders.standaloneSetup(tenantConfigurationController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        LandingPageSnapshotCache snapshots = new LandingPageSnapshotCache(
+                new SimpleMeterRegistry(), 600, true, 600, 480);
+        snapshot = snapshots.get(1, true, () -> LandingPageConfigResponse.builder()
+                .tenantId(1)
+                .page("landing")
+                .build());
+    }
+
+    @Test
+    public void testLandingPageIsServedWithETag() throws Exception {
+        // Given
+        when(tenantConfigurationService.getLandingPageSnapshot(1, true)).thenReturn(snapshot);
+
+        // When & Then
+        mockMvc.perform(get("/tenant-configurations/tenant/1/landing"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, snapshot.etag()))
+                .andExpect(jsonPath("$.tenantId", is(1)))
+                .andExpect(jsonPath("$.page", is("landing")));
+    }
+
+    @Test
+    public void testMatchingIfNoneMatchReturnsNotModified() throws Exception {
+        // Given
+        when(tenantConfigurationService.getLandingPageSnapshot(1, false)).thenReturn(snapshot);
+
+        // When & Then
+        mockMvc.perform(get("/tenant-configurations/tenant/1/landing/basic")
+                        .header(HttpHeaders.IF_NONE_MATCH, snapshot.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, snapshot.etag()))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    public void testGzipIsServedWhenAccepted() throws Exception {
+        // Given
+        when(tenantConfigurationService.getLandingPageSnapshot(1, true)).thenReturn(snapshot);
+
+        // When & Then
+        mockMvc.perform(get("/tenant-configurations/tenant/1/landing/basic")
+                        .param("fetch_property_details", "true")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, snapshot.gzippedEtag()))
+                .andExpect(content().bytes(snapshot.gzippedJson()));
+    }
+
+    @Test
+    public void testGzipIsNotServedWhenRefused() throws Exception {
+        // Given
+        when(tenantConfigurationService.getLandingPageSnapshot(1, false)).thenReturn(snapshot);
+
+        // When & Then
+        mockMvc.perform(get("/tenant-configurations/tenant/1/landing/basic")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, *"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, snapshot.etag()))
+                .andExpect(content().bytes(snapshot.json()));
+    }
+
+    @Test
+    public void testIfNoneMatchIsComparedWithTheServedVariant() throws Exception {
+        // Given
+        when(tenantConfigurationService.getLandingPageSnapshot(1, false)).thenReturn(snapshot);
+
+        // When & Then the identity ETag does not validate the gzipped representation
+        mockMvc.perform(get("/tenant-configurations/tenant/1/landing/basic")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, snapshot.etag()))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(snapshot.gzippedJson()));
+        mockMvc.perform(get("/tenant-configurations/tenant/1/landing/basic")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, snapshot.gzippedEtag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, snapshot.gzippedEtag()));
+    }
+
+    @Test
+    public void testListingIsPagedWhenALimitIsGiven() throws Exception {
+        // Given
+        when(tenantConfigurationService.getConfigurationsPage(null, 2)).thenReturn(KeysetPageResponse.<TenantConfigurationResponse>builder()
+                .items(List.of(TenantConfigurationResponse.builder().id(1L).field("logo").build(),
+                        TenantConfigurationResponse.builder().id(2L).field("title").build()))
+                .nextAfterId(2L)
+                .build());
+
+        // When & Then
+        mockMvc.perform(get("/tenant-configurations").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[1].field", is("title")))
+                .andExpect(jsonPath("$.nextAfterId", is(2)));
+        verify(tenantConfigurationService, never()).getAllConfigurations();
+    }
+
+    @Test
+    public void testBulkUpsertReturnsTheNumberOfRowsStored() throws Exception {
+        // Given
+        when(tenantConfigurationService.upsertConfigurations(any())).thenReturn(2);
+
+        // When & Then
+        mockMvc.perform(put("/tenant-configurations/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"configurations": [
+                                  {"tenantId": 1, "page": "landing", "field": "header_logo", "value": "{\\"url\\": \\"logo.png\\"}"},
+                                  {"tenantId": 1, "page": "landing", "field": "page_title", "value": "{\\"text\\": \\"Welcome\\"}"}
+                                ]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.upserted", is(2)));
+    }
+
+    @Test
+    public void testBulkUpsertRejectsAnEmptyBatch() throws Exception {
+        // When & Then
+        mockMvc.perform(put("/tenant-configurations/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"configurations\": []}"))
+                .andExpect(status().isBadRequest());
+        verify(tenantConfigurationService, never()).upsertConfigurations(any());
+    }
+
+    @Test
+    public void testBulkUpsertRejectsValuesThatAreNotJson() throws Exception {
+        // When & Then
+        mockMvc.perform(put("/tenant-configurations/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"configurations": [
+                                  {"tenantId": 1, "page": "landing", "field": "header_logo", "value": "{\\"url\\": \\"logo.png\\"}"},
+                                  {"tenantId": 1, "page": "landing", "field": "page_title", "value": "{\\"text\\": Welcome}"}
+                                ]}
+                                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail", containsString("configurations[1].value")));
+        verify(tenantConfigurationService, never()).upsertConfigurations(any());
+    }
+
+    @Test
+    public void testBulkUpsertConflictHidesTheDriverMessage() throws Exception {
+        // Given a unique violation reported through the failed batch
+        BatchUpdateException batchFailure = new BatchUpdateException("Batch entry 0 was aborted", "23505", new int[0]);
+        batchFailure.setNextException(new SQLException("duplicate key value violates unique constraint", "23505"));
+        when(tenantConfigurationService.upsertConfigurations(any()))
+                .thenThrow(new DataIntegrityViolationException("could not execute batch", batchFailure));
+
+        // When & Then
+        mockMvc.perform(put("/tenant-configurations/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(SINGLE_ROW_BATCH))
+                .andExpect(status().isConflict())
+                .andExpect(content().string(not(containsString("duplicate key"))));
+    }
+
+    @Test
+    public void testBulkUpsertOtherIntegrityViolationIsNotAConflict() throws Exception {
+        // Given
+        when(tenantConfigurationService.upsertConfigurations(any())).thenThrow(new DataIntegrityViolationException(
+                "could not execute batch", new SQLException("new row violates check constraint", "23514")));
+
+        // When & Then
+        mockMvc.perform(put("/tenant-configurations/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(SINGLE_ROW_BATCH))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().string(not(containsString("check constraint"))));
+    }
+}
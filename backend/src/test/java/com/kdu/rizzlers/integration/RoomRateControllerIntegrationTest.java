@@ -4,6 +4,7 @@ import com.kdu.rizzlers.config.CustomTestConfiguration;
 import com.kdu.rizzlers.entity.PropertyPromotionSchedule;
 import com.kdu.rizzlers.repository.PropertyPromotionScheduleRepository;
 import com.kdu.rizzlers.service.impl.RoomRateServiceImpl;
+import com.kdu.rizzlers.util.JsonCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -16,6 +17,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
@@ -30,6 +32,7 @@ import java.util.Collections;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -66,6 +69,9 @@ public class RoomRateControllerIntegrationTest {
     
     @SpyBean
     private RoomRateServiceImpl roomRateService;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonConverter;
     
     @BeforeEach
     public void setup() {
@@ -175,4 +181,10 @@ public class RoomRateControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].propertyId", is(2)))
                 .andExpect(jsonPath("$[0].promotionId", is(201)));
     }
-} 
\ No newline at end of file
+
+    @Test
+    public void testResponsesAreWrittenWithTheSharedCodec() {
+        // When & Then
+        assertSame(JsonCodec.mapper(), jacksonConverter.getObjectMapper());
+    }
+}
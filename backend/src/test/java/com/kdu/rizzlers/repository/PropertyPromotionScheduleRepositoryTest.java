@@ -1,21 +1,29 @@
 package com.kdu.rizzlers.repository;
 
 import com.kdu.rizzlers.entity.PropertyPromotionSchedule;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.kdu.rizzlers.repository.PropertyPromotionScheduleRepositoryTest$TransactionRecorder")
 @ActiveProfiles("test")
 public class PropertyPromotionScheduleRepositoryTest {
 
@@ -88,6 +96,20 @@ public class PropertyPromotionScheduleRepositoryTest {
         repository.save(promotion5);
     }
 
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void testPromotionLookupsRunInReadOnlyTransactions() {
+        // Given a caller without a transaction, like the reactive rate pipeline
+        TransactionRecorder.STATEMENTS.clear();
+
+        // When
+        repository.findActivePromotionsForPropertyInPeriod(1, LocalDate.now(), LocalDate.now());
+        repository.findByPropertyIdAndIsActiveTrue(1);
+
+        // Then each query ran inside a read-only transaction, so it is routed to a read replica
+        assertEquals(List.of(true, true), TransactionRecorder.STATEMENTS);
+    }
+
     @Test
     public void testFindAllByPropertyId() {
         // Given
@@ -102,6 +124,36 @@ public class PropertyPromotionScheduleRepositoryTest {
         promotions.forEach(promotion -> assertEquals(propertyId, promotion.getPropertyId()));
     }
 
+    @Test
+    public void testKeysetPagesFollowIdOrder() {
+        // Given
+        List<PropertyPromotionSchedule> all = repository.findAllByPropertyId(1);
+        Long secondId = all.stream().map(PropertyPromotionSchedule::getId).sorted().toList().get(1);
+        
+        // When
+        List<PropertyPromotionSchedule> firstPage = repository.findByPropertyIdAndIdGreaterThanOrderByIdAsc(
+                1, 0L, Limit.of(2));
+        List<PropertyPromotionSchedule> secondPage = repository.findByPropertyIdAndIdGreaterThanOrderByIdAsc(
+                1, secondId, Limit.of(2));
+        
+        // Then
+        assertEquals(List.of(101, 102), firstPage.stream().map(PropertyPromotionSchedule::getPromotionId).toList());
+        assertEquals(secondId, firstPage.get(1).getId());
+        assertEquals(List.of(103, 104), secondPage.stream().map(PropertyPromotionSchedule::getPromotionId).toList());
+    }
+
+    @Test
+    public void testStreamByPropertyIdFollowsIdOrder() {
+        // When
+        List<Integer> promotionIds;
+        try (Stream<PropertyPromotionSchedule> promotions = repository.streamByPropertyIdOrderByIdAsc(1)) {
+            promotionIds = promotions.map(PropertyPromotionSchedule::getPromotionId).toList();
+        }
+        
+        // Then
+        assertEquals(List.of(101, 102, 103, 104), promotionIds);
+    }
+
     @Test
     public void testFindActivePromotionsForPropertyInPeriod() {
         // Given
@@ -128,6 +180,36 @@ public class PropertyPromotionScheduleRepositoryTest {
         });
     }
 
+    @Test
+    public void testFindActivePromotionsForPropertyInPeriodIncludesBoundaryDays() {
+        // Given a window that starts on promotion 102's last day and ends the day before promotion 103 starts
+        LocalDate startDate = LocalDate.now().minusDays(5);
+        LocalDate endDate = LocalDate.now().plusDays(4);
+
+        // When
+        List<PropertyPromotionSchedule> promotions = repository.findActivePromotionsForPropertyInPeriod(
+                1, startDate, endDate);
+
+        // Then a single shared day is an overlap, and an adjacent range is not
+        assertEquals(List.of(101, 102), promotions.stream()
+                .map(PropertyPromotionSchedule::getPromotionId)
+                .sorted()
+                .toList());
+    }
+
+    @Test
+    public void testFindActivePromotionsForPropertyBetweenDatesIncludesInactive() {
+        // When
+        List<PropertyPromotionSchedule> promotions = repository.findActivePromotionsForPropertyBetweenDates(
+                1, LocalDate.now(), LocalDate.now());
+
+        // Then
+        assertEquals(List.of(101, 104), promotions.stream()
+                .map(PropertyPromotionSchedule::getPromotionId)
+                .sorted()
+                .toList());
+    }
+
     @Test
     public void testFindByPropertyIdAndIsActiveTrue() {
         // Given
@@ -172,4 +254,21 @@ public class PropertyPromotionScheduleRepositoryTest {
         promotion.setIsActive(false);
         assertFalse(promotion.isDateInPromotionPeriod(dateInRange));
     }
-} 
\ No newline at end of file
+
+    /**
+     * Records, for every promotion query, whether it ran inside a read-only transaction
+     */
+    public static class TransactionRecorder implements StatementInspector {
+
+        static final List<Boolean> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.startsWith("select") && sql.contains("property_promotion_schedule")) {
+                STATEMENTS.add(TransactionSynchronizationManager.isActualTransactionActive()
+                        && TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            }
+            return sql;
+        }
+    }
+}
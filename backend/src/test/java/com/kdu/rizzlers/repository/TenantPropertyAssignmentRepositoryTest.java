@@ -0,0 +1,48 @@
+package com.kdu.rizzlers.repository;
+
+import com.kdu.rizzlers.entity.TenantPropertyAssignment;
+import com.kdu.rizzlers.event.TenantDataChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@RecordApplicationEvents
+public class TenantPropertyAssignmentRepositoryTest {
+
+    @Autowired
+    private TenantPropertyAssignmentRepository repository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    public void testWritesPublishTenantDataChangedEvents() {
+        // Given
+        TenantPropertyAssignment assignment = TenantPropertyAssignment.builder()
+                .tenantId(7)
+                .propertyId(42)
+                .isAssigned(false)
+                .build();
+
+        // When
+        assignment = repository.saveAndFlush(assignment);
+        assignment.setIsAssigned(true);
+        repository.saveAndFlush(assignment);
+        repository.delete(assignment);
+        repository.flush();
+
+        // Then
+        List<TenantDataChangedEvent> changes = events.stream(TenantDataChangedEvent.class).toList();
+        assertEquals(3, changes.size());
+        assertTrue(changes.stream().allMatch(event -> event.tenantId().equals(7)));
+    }
+}
@@ -1,11 +1,14 @@
 package com.kdu.rizzlers.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kdu.rizzlers.cache.PropertyDetailsCache;
+import com.kdu.rizzlers.config.GraphQlClientMetrics;
 import com.kdu.rizzlers.dto.out.PropertyResponse;
 import com.kdu.rizzlers.service.impl.GraphQLPropertyServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpHeaders;
@@ -14,9 +17,11 @@ import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -25,9 +30,6 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class GraphQLPropertyServiceTest {
 
-    @Mock
-    private WebClient.Builder webClientBuilder;
-
     @Mock
     private WebClient webClient;
 
@@ -44,25 +46,25 @@ class GraphQLPropertyServiceTest {
     private WebClient.ResponseSpec responseSpec;
 
     private GraphQLPropertyService graphQLPropertyService;
-    private ObjectMapper objectMapper;
+    private PropertyDetailsCache propertyDetailsCache;
 
     @BeforeEach
     void setUp() {
-        objectMapper = new ObjectMapper();
-        graphQLPropertyService = new GraphQLPropertyServiceImpl(webClientBuilder, objectMapper);
+        propertyDetailsCache = new PropertyDetailsCache(new SimpleMeterRegistry(), 600, 480, 100);
+        graphQLPropertyService = new GraphQLPropertyServiceImpl(webClient, propertyDetailsCache,
+                new GraphQlClientMetrics(new SimpleMeterRegistry()));
         
         // Set values for the properties using reflection
         ReflectionTestUtils.setField(graphQLPropertyService, "graphqlUrl", "http://example.com/graphql");
-        ReflectionTestUtils.setField(graphQLPropertyService, "apiKey", "test-api-key");
-        ReflectionTestUtils.setField(graphQLPropertyService, "apiKeyHeader", "x-api-key");
         ReflectionTestUtils.setField(graphQLPropertyService, "timeout", 5000);
+        ReflectionTestUtils.setField(graphQLPropertyService, "chunkSize", 100);
+        ReflectionTestUtils.setField(graphQLPropertyService, "chunkParallelism", 4);
         
         // Mock the WebClient chain - use lenient() to avoid UnnecessaryStubbingException
-        lenient().when(webClientBuilder.build()).thenReturn(webClient);
         lenient().when(webClient.post()).thenReturn(requestBodyUriSpec);
         lenient().when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
+        lenient().when(requestBodySpec.attribute(anyString(), any())).thenReturn(requestBodySpec);
         lenient().when(requestBodySpec.contentType(any(MediaType.class))).thenReturn(requestBodySpec);
-        lenient().when(requestBodySpec.header(anyString(), anyString())).thenReturn(requestBodySpec);
         lenient().when(requestBodySpec.bodyValue(any())).thenReturn(requestHeadersSpec);
         lenient().when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
     }
@@ -91,7 +93,7 @@ class GraphQLPropertyServiceTest {
                 }
                 """;
         
-        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(validResponse));
+        when(responseSpec.bodyToMono(byte[].class)).thenReturn(json(validResponse));
         
         List<Integer> propertyIds = Arrays.asList(1, 2);
         
@@ -106,14 +108,12 @@ class GraphQLPropertyServiceTest {
         assertEquals("123 Main St", result.get(0).getPropertyAddress());
         assertEquals("555-1234", result.get(0).getContactNumber());
         
-        verify(webClientBuilder).build();
         verify(webClient).post();
         verify(requestBodyUriSpec).uri("http://example.com/graphql");
         verify(requestBodySpec).contentType(MediaType.APPLICATION_JSON);
-        verify(requestBodySpec).header("x-api-key", "test-api-key");
         verify(requestBodySpec).bodyValue(any());
         verify(requestHeadersSpec).retrieve();
-        verify(responseSpec).bodyToMono(String.class);
+        verify(responseSpec).bodyToMono(byte[].class);
     }
 
     @Test
@@ -146,7 +146,7 @@ class GraphQLPropertyServiceTest {
                 }
                 """;
         
-        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(validResponse));
+        when(responseSpec.bodyToMono(byte[].class)).thenReturn(json(validResponse));
         
         // Only request properties 1 and 3
         List<Integer> propertyIds = Arrays.asList(1, 3);
@@ -180,13 +180,13 @@ class GraphQLPropertyServiceTest {
         assertTrue(result.isEmpty());
         
         // Verify no WebClient calls were made
-        verify(webClientBuilder, never()).build();
+        verifyNoInteractions(webClient);
     }
 
     @Test
     void getPropertiesByIds_ShouldHandleExceptionsGracefully() {
         // Given
-        when(responseSpec.bodyToMono(String.class)).thenThrow(new RuntimeException("Test exception"));
+        when(responseSpec.bodyToMono(byte[].class)).thenThrow(new RuntimeException("Test exception"));
         
         List<Integer> propertyIds = Arrays.asList(1, 2);
         
@@ -202,7 +202,7 @@ class GraphQLPropertyServiceTest {
     void getPropertiesByIds_ShouldHandleInvalidResponse() {
         // Given
         String invalidResponse = "{ \"data\": { \"listProperties\": \"not an array\" } }";
-        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(invalidResponse));
+        when(responseSpec.bodyToMono(byte[].class)).thenReturn(json(invalidResponse));
         
         List<Integer> propertyIds = Arrays.asList(1, 2);
         
@@ -217,7 +217,7 @@ class GraphQLPropertyServiceTest {
     @Test
     void getPropertiesByIds_ShouldHandleNullResponse() {
         // Given
-        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.empty());
+        when(responseSpec.bodyToMono(byte[].class)).thenReturn(Mono.empty());
         
         List<Integer> propertyIds = Arrays.asList(1, 2);
         
@@ -228,4 +228,83 @@ class GraphQLPropertyServiceTest {
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getPropertiesByIds_ShouldPushIdFilterIntoQueryInChunks() {
+        // Given
+        ReflectionTestUtils.setField(graphQLPropertyService, "chunkSize", 2);
+        when(responseSpec.bodyToMono(byte[].class)).thenReturn(json("{ \"data\": { \"listProperties\": [] } }"));
+        
+        // When
+        graphQLPropertyService.getPropertiesByIds(Arrays.asList(1, 2, 3, 2, 4, 5));
+        
+        // Then the duplicate is dropped and the five IDs are requested in three filtered chunks
+        ArgumentCaptor<Object> bodies = ArgumentCaptor.forClass(Object.class);
+        verify(requestBodySpec, times(3)).bodyValue(bodies.capture());
+        List<Object> requestedChunks = bodies.getAllValues().stream()
+                .map(body -> {
+                    Map<?, ?> request = (Map<?, ?>) body;
+                    assertTrue(request.get("query").toString().contains("property_id: {in: $propertyIds}"));
+                    return (Object) ((Map<?, ?>) request.get("variables")).get("propertyIds");
+                })
+                .toList();
+        assertTrue(requestedChunks.containsAll(List.of(List.of(1, 2), List.of(3, 4), List.of(5))));
+    }
+
+    @Test
+    void getPropertiesByIds_ShouldServeRepeatedLookupsFromCache() {
+        // Given
+        String validResponse = """
+                {
+                  "data": {
+                    "listProperties": [
+                      {
+                        "property_id": 1,
+                        "property_name": "Hotel A",
+                        "property_address": "123 Main St",
+                        "contact_number": "555-1234"
+                      }
+                    ]
+                  }
+                }
+                """;
+        when(responseSpec.bodyToMono(byte[].class)).thenReturn(json(validResponse));
+        graphQLPropertyService.getPropertiesByIds(List.of(1));
+        
+        // When
+        List<PropertyResponse> result = graphQLPropertyService.getPropertiesByIds(List.of(1));
+        
+        // Then
+        assertEquals(1, result.size());
+        assertEquals("Hotel A", result.get(0).getPropertyName());
+        verify(webClient, times(1)).post();
+    }
+
+    @Test
+    void getPropertiesByIds_ShouldServeStaleDetailsWhileRefreshingInBackground() {
+        // Given a cache whose entries are due for refresh as soon as they are loaded
+        GraphQLPropertyService refreshingService = new GraphQLPropertyServiceImpl(webClient,
+                new PropertyDetailsCache(new SimpleMeterRegistry(), 600, 0, 100), new GraphQlClientMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(refreshingService, "graphqlUrl", "http://example.com/graphql");
+        ReflectionTestUtils.setField(refreshingService, "timeout", 5000);
+        ReflectionTestUtils.setField(refreshingService, "chunkSize", 100);
+        ReflectionTestUtils.setField(refreshingService, "chunkParallelism", 4);
+        String response = "{ \"data\": { \"listProperties\": [ { \"property_id\": 1, \"property_name\": \"%s\" } ] } }";
+        when(responseSpec.bodyToMono(byte[].class))
+                .thenReturn(json(response.formatted("Hotel A")))
+                .thenReturn(json(response.formatted("Hotel A Renamed")));
+        refreshingService.getPropertiesByIds(List.of(1));
+        
+        // When
+        List<PropertyResponse> stale = refreshingService.getPropertiesByIds(List.of(1));
+        List<PropertyResponse> refreshed = refreshingService.getPropertiesByIds(List.of(1));
+        
+        // Then the second lookup is answered from the cache and triggers the reload seen by the third
+        assertEquals("Hotel A", stale.get(0).getPropertyName());
+        assertEquals("Hotel A Renamed", refreshed.get(0).getPropertyName());
+    }
+
+    private static Mono<byte[]> json(String body) {
+        return Mono.just(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -12,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -28,6 +29,9 @@ public class GuestTypeDefinitionServiceTest {
     @Mock
     private GuestTypeDefinitionRepository guestTypeDefinitionRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private GuestTypeDefinitionServiceImpl guestTypeDefinitionService;
 
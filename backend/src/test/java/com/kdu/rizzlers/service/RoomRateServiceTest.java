@@ -1,10 +1,17 @@
 package com.kdu.rizzlers.service;
 
+import com.kdu.rizzlers.cache.RateCalendar;
+import com.kdu.rizzlers.cache.RoomRateCalendarCache;
+import com.kdu.rizzlers.cache.RoomTypeCatalog;
+import com.kdu.rizzlers.cache.RoomTypeCatalogCache;
 import com.kdu.rizzlers.config.CustomTestConfiguration;
+import com.kdu.rizzlers.config.GraphQlClientMetrics;
+import com.kdu.rizzlers.dto.graphql.RoomType;
 import com.kdu.rizzlers.dto.out.DailyRoomRateDTO;
 import com.kdu.rizzlers.entity.PropertyPromotionSchedule;
 import com.kdu.rizzlers.repository.PropertyPromotionScheduleRepository;
 import com.kdu.rizzlers.service.impl.RoomRateServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,8 +22,14 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -25,9 +38,17 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -39,11 +60,15 @@ public class RoomRateServiceTest {
     private PropertyPromotionScheduleRepository propertyPromotionScheduleRepository;
 
     @Mock
-    private WebClient.Builder webClientBuilder;
+    private WebClient graphQlWebClient;
 
     @InjectMocks
     private RoomRateServiceImpl roomRateService;
 
+    private RoomRateCalendarCache rateCalendarCache;
+
+    private RoomTypeCatalogCache roomTypeCatalogCache;
+
     private List<PropertyPromotionSchedule> mockPromotions;
     private Integer propertyId;
     private LocalDate startDate;
@@ -52,7 +77,10 @@ public class RoomRateServiceTest {
     @BeforeEach
     public void setup() {
         // Create a partial mock to avoid GraphQL operations
-        roomRateService = Mockito.spy(new RoomRateServiceImpl(webClientBuilder, propertyPromotionScheduleRepository));
+        rateCalendarCache = new RoomRateCalendarCache(new SimpleMeterRegistry(), 300, 100);
+        roomTypeCatalogCache = new RoomTypeCatalogCache(new SimpleMeterRegistry(), 86400, 100);
+        roomRateService = Mockito.spy(new RoomRateServiceImpl(graphQlWebClient, propertyPromotionScheduleRepository,
+                rateCalendarCache, roomTypeCatalogCache, new GraphQlClientMetrics(new SimpleMeterRegistry())));
         
         // Mock the GraphQL-dependent method - with lenient mode already applied at class level
         doReturn(Collections.emptyList()).when((RoomRateServiceImpl)roomRateService)
@@ -214,6 +242,255 @@ public class RoomRateServiceTest {
         verify(propertyPromotionScheduleRepository).findActivePromotionsForPropertyInPeriod(propertyId, nullStartDate, nullEndDate);
     }
 
+    @Test
+    void getDailyRatesWithPromotions_ShouldServeWindowFromCachedCalendar() {
+        // Given a cached calendar covering all of June
+        RateCalendar.Builder rates = RateCalendar.builder();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            rates.accept(date, 100.0);
+        }
+        rateCalendarCache.put(propertyId, rates.build(), null, null);
+        
+        LocalDate windowStart = LocalDate.of(2023, 6, 14);
+        LocalDate windowEnd = LocalDate.of(2023, 6, 17);
+        when(propertyPromotionScheduleRepository.findActivePromotionsForPropertyInPeriod(
+                propertyId, windowStart, windowEnd))
+                .thenReturn(mockPromotions.subList(0, 2));
+
+        // When
+        List<DailyRoomRateDTO> result = roomRateService.getDailyRatesWithPromotions(
+                1, propertyId, windowStart, windowEnd);
+
+        // Then only the window is returned and promotions are queried for the window only
+        assertEquals(4, result.size());
+        assertEquals(windowStart, result.get(0).getDate());
+        assertEquals(windowEnd, result.get(3).getDate());
+        assertEquals(1, result.get(1).getPromotionId());
+        assertEquals(80.0, result.get(1).getDiscountedRate());
+        assertEquals(2, result.get(2).getPromotionId());
+        assertEquals(85.0, result.get(2).getDiscountedRate());
+        verify(propertyPromotionScheduleRepository).findActivePromotionsForPropertyInPeriod(
+                propertyId, windowStart, windowEnd);
+        verify(propertyPromotionScheduleRepository, never()).findAllByPropertyId(any());
+        verifyNoInteractions(graphQlWebClient);
+    }
+
+    @Test
+    void getDailyRatesWithPromotionsReactive_ShouldQueryPromotionsOffCallerThread() {
+        // Given a cached calendar and a repository that records the thread it is called on
+        rateCalendarCache.put(propertyId, RateCalendar.builder().accept(startDate, 100.0).build(), null, null);
+        AtomicReference<Thread> queryThread = new AtomicReference<>();
+        when(propertyPromotionScheduleRepository.findByPropertyIdAndIsActiveTrue(propertyId))
+                .thenAnswer(invocation -> {
+                    queryThread.set(Thread.currentThread());
+                    return mockPromotions.subList(0, 1);
+                });
+
+        // When
+        Mono<List<DailyRoomRateDTO>> pending = roomRateService.getDailyRatesWithPromotionsReactive(
+                1, propertyId, null, null);
+
+        // Then nothing runs until subscription, and the JPA query does not run on the subscribing thread
+        assertNull(queryThread.get());
+        List<DailyRoomRateDTO> result = pending.block();
+        assertEquals(1, result.size());
+        assertEquals(80.0, result.get(0).getDiscountedRate());
+        assertNotNull(queryThread.get());
+        assertNotSame(Thread.currentThread(), queryThread.get());
+    }
+
+    @Test
+    void getDailyRatesWithPromotionsReactive_ShouldQueryPromotionsWhileUpstreamIsPending() throws Exception {
+        // Given an upstream rooms query that does not answer until released
+        Sinks.One<ClientResponse> rooms = Sinks.one();
+        WebClient upstream = WebClient.builder()
+                .exchangeFunction(request -> rooms.asMono())
+                .build();
+        RoomRateServiceImpl service = new RoomRateServiceImpl(upstream, propertyPromotionScheduleRepository,
+                rateCalendarCache, roomTypeCatalogCache, new GraphQlClientMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(service, "graphqlUrl", "http://upstream/graphql");
+        ReflectionTestUtils.setField(service, "pageSize", 100);
+        ReflectionTestUtils.setField(service, "parallelism", 2);
+        CountDownLatch queried = new CountDownLatch(1);
+        when(propertyPromotionScheduleRepository.findActivePromotionsForPropertyInPeriod(propertyId, startDate, endDate))
+                .thenAnswer(invocation -> {
+                    queried.countDown();
+                    return mockPromotions;
+                });
+
+        // When
+        CompletableFuture<List<DailyRoomRateDTO>> pending = service.getDailyRatesWithPromotionsReactive(
+                1, propertyId, startDate, endDate).toFuture();
+
+        // Then the promotions are read before the upstream call completes
+        assertTrue(queried.await(5, TimeUnit.SECONDS));
+        assertFalse(pending.isDone());
+        rooms.tryEmitValue(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"data\": {\"listRooms\": []}}")
+                .build());
+        assertTrue(pending.get(5, TimeUnit.SECONDS).isEmpty());
+    }
+
+    @Test
+    void getDailyRatesWithPromotions_ShouldReadRoomTypesAndRatesInOneQuery() {
+        // Given an upstream that answers the nested room type query, and then the paged rates query for the
+        // room type whose nested rates reached the limit
+        List<String> responses = List.of("""
+                {"data": {"listRoomTypes": [
+                  {"room_type_id": 7, "room_type_name": "Deluxe", "max_capacity": 3, "room_rates": [
+                    {"room_rate": {"basic_nightly_rate": 120, "date": "2023-06-01T00:00:00.000Z"}},
+                    {"room_rate": {"basic_nightly_rate": 110, "date": "2023-06-02T00:00:00.000Z"}}
+                  ]},
+                  {"room_type_id": 8, "room_rates": [
+                    {"room_rate": {"basic_nightly_rate": 100, "date": "2023-06-01T00:00:00.000Z"}}
+                  ]}
+                ]}}
+                """, """
+                {"data": {"listRoomRateRoomTypeMappings": [
+                  {"room_rate": {"basic_nightly_rate": 95, "date": "2023-06-03T00:00:00.000Z"}}
+                ]}}
+                """);
+        AtomicInteger requests = new AtomicInteger();
+        WebClient upstream = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(responses.get(requests.getAndIncrement()))
+                        .build()))
+                .build();
+        RoomRateServiceImpl service = new RoomRateServiceImpl(upstream, propertyPromotionScheduleRepository,
+                rateCalendarCache, roomTypeCatalogCache, new GraphQlClientMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(service, "graphqlUrl", "http://upstream/graphql");
+        ReflectionTestUtils.setField(service, "pageSize", 2);
+        ReflectionTestUtils.setField(service, "parallelism", 1);
+        ReflectionTestUtils.setField(service, "nestedQuery", true);
+        ReflectionTestUtils.setField(service, "roomTypesPageSize", 50);
+        when(propertyPromotionScheduleRepository.findActivePromotionsForPropertyInPeriod(propertyId, startDate, endDate))
+                .thenReturn(List.of());
+
+        // When
+        List<DailyRoomRateDTO> result = service.getDailyRatesWithPromotions(1, propertyId, startDate, endDate);
+
+        // Then rooms are never listed, and only the truncated room type needs a second request
+        assertEquals(2, requests.get());
+        assertEquals(3, result.size());
+        assertEquals(100.0, result.get(0).getMinimumRate());
+        assertEquals(110.0, result.get(1).getMinimumRate());
+        assertEquals(95.0, result.get(2).getMinimumRate());
+        RoomTypeCatalog catalog = roomTypeCatalogCache.get(propertyId);
+        assertEquals(List.of(7, 8), catalog.roomTypeIds());
+        assertEquals("Deluxe", catalog.name(7));
+        assertEquals(3, catalog.maxCapacity(7));
+    }
+
+    @Test
+    void getDailyRatesWithPromotions_ShouldOnlyQueryRatesForCachedRoomTypes() {
+        // Given cached room types, and an upstream that records the queries it receives
+        roomTypeCatalogCache.put(propertyId, RoomTypeCatalog.of(List.of(new RoomType(7, "Deluxe", 3, null))));
+        List<String> queries = new ArrayList<>();
+        WebClient upstream = WebClient.builder()
+                .exchangeFunction(request -> {
+                    queries.add(request.url().toString());
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body("""
+                                    {"data": {"listRoomRateRoomTypeMappings": [
+                                      {"room_rate": {"basic_nightly_rate": 95, "date": "2023-06-03T00:00:00.000Z"}}
+                                    ]}}
+                                    """)
+                            .build());
+                })
+                .build();
+        RoomRateServiceImpl service = new RoomRateServiceImpl(upstream, propertyPromotionScheduleRepository,
+                rateCalendarCache, roomTypeCatalogCache, new GraphQlClientMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(service, "graphqlUrl", "http://upstream/graphql");
+        ReflectionTestUtils.setField(service, "pageSize", 100);
+        ReflectionTestUtils.setField(service, "parallelism", 1);
+        ReflectionTestUtils.setField(service, "nestedQuery", true);
+        when(propertyPromotionScheduleRepository.findActivePromotionsForPropertyInPeriod(propertyId, startDate, endDate))
+                .thenReturn(List.of());
+
+        // When
+        List<DailyRoomRateDTO> result = service.getDailyRatesWithPromotions(1, propertyId, startDate, endDate);
+
+        // Then neither rooms nor room types are listed, only the rates are queried
+        assertEquals(1, queries.size());
+        assertEquals(1, result.size());
+        assertEquals(95.0, result.get(0).getMinimumRate());
+    }
+
+    @Test
+    void getDailyRatesWithPromotions_ShouldStopUsingNestedQueryOnceSchemaRejectsIt() {
+        // Given an upstream whose schema has no nested room rates, and that answers the separate rooms and rates
+        // queries of two properties
+        String rooms = """
+                {"data": {"listRooms": [{"room_id": 1, "room_type": {"room_type_id": 7}}]}}
+                """;
+        String rates = """
+                {"data": {"listRoomRateRoomTypeMappings": [
+                  {"room_rate": {"basic_nightly_rate": 95, "date": "2023-06-03T00:00:00.000Z"}}
+                ]}}
+                """;
+        List<String> responses = List.of("""
+                {"errors": [{"message": "Unknown field 'room_rates' on type 'RoomType'"}]}
+                """, rooms, rates, rooms, rates);
+        AtomicInteger requests = new AtomicInteger();
+        WebClient upstream = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(responses.get(requests.getAndIncrement()))
+                        .build()))
+                .build();
+        RoomRateServiceImpl service = upstreamService(upstream);
+        when(propertyPromotionScheduleRepository.findActivePromotionsForPropertyInPeriod(any(), any(), any()))
+                .thenReturn(List.of());
+
+        // When
+        List<DailyRoomRateDTO> first = service.getDailyRatesWithPromotions(1, propertyId, startDate, endDate);
+        List<DailyRoomRateDTO> second = service.getDailyRatesWithPromotions(1, propertyId + 1, startDate, endDate);
+
+        // Then the separate queries answer both requests, and the nested query is only sent once
+        assertEquals(5, requests.get());
+        assertEquals(95.0, first.get(0).getMinimumRate());
+        assertEquals(95.0, second.get(0).getMinimumRate());
+    }
+
+    @Test
+    void getDailyRatesWithPromotions_ShouldNotFallBackWhenNestedQueryTimesOut() {
+        // Given an upstream that times out
+        AtomicInteger requests = new AtomicInteger();
+        WebClient upstream = WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.incrementAndGet();
+                    return Mono.error(new TimeoutException("upstream did not answer in time"));
+                })
+                .build();
+        RoomRateServiceImpl service = upstreamService(upstream);
+        when(propertyPromotionScheduleRepository.findActivePromotionsForPropertyInPeriod(any(), any(), any()))
+                .thenReturn(List.of());
+
+        // When
+        List<DailyRoomRateDTO> first = service.getDailyRatesWithPromotions(1, propertyId, startDate, endDate);
+        List<DailyRoomRateDTO> second = service.getDailyRatesWithPromotions(1, propertyId, startDate, endDate);
+
+        // Then only the nested query is sent, on every request, and nothing is cached
+        assertEquals(2, requests.get());
+        assertTrue(first.isEmpty());
+        assertTrue(second.isEmpty());
+        assertNull(roomTypeCatalogCache.get(propertyId));
+    }
+
+    private RoomRateServiceImpl upstreamService(WebClient upstream) {
+        RoomRateServiceImpl service = new RoomRateServiceImpl(upstream, propertyPromotionScheduleRepository,
+                rateCalendarCache, roomTypeCatalogCache, new GraphQlClientMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(service, "graphqlUrl", "http://upstream/graphql");
+        ReflectionTestUtils.setField(service, "pageSize", 100);
+        ReflectionTestUtils.setField(service, "parallelism", 1);
+        ReflectionTestUtils.setField(service, "nestedQuery", true);
+        ReflectionTestUtils.setField(service, "roomTypesPageSize", 50);
+        return service;
+    }
+
     // Helper method to create PropertyPromotionSchedule objects
     private PropertyPromotionSchedule createPromotion(Long id, Integer propertyId, Integer promotionId, 
                                                      double priceFactor, LocalDate startDate, 
@@ -1,6 +1,8 @@
 package com.kdu.rizzlers.service;
 
+import com.kdu.rizzlers.cache.LandingPageSnapshotCache;
 import com.kdu.rizzlers.dto.in.TenantConfigurationRequest;
+import com.kdu.rizzlers.dto.in.TenantConfigurationUpsertRequest;
 import com.kdu.rizzlers.dto.out.GuestTypeDefinitionResponse;
 import com.kdu.rizzlers.dto.out.LandingPageConfigResponse;
 import com.kdu.rizzlers.dto.out.PropertyResponse;
@@ -8,6 +10,7 @@ import com.kdu.rizzlers.dto.out.TenantConfigurationResponse;
 import com.kdu.rizzlers.dto.out.TenantPropertyAssignmentResponse;
 import com.kdu.rizzlers.entity.TenantConfiguration;
 import com.kdu.rizzlers.entity.TenantPropertyAssignment;
+import com.kdu.rizzlers.event.TenantDataChangedEvent;
 import com.kdu.rizzlers.exception.ResourceNotFoundException;
 import com.kdu.rizzlers.repository.TenantConfigurationRepository;
 import com.kdu.rizzlers.repository.TenantPropertyAssignmentRepository;
@@ -15,12 +18,16 @@ import com.kdu.rizzlers.service.impl.ConfigurationDefaultProvider;
 import com.kdu.rizzlers.service.impl.ConfigurationValidator;
 import com.kdu.rizzlers.service.impl.PropertyServiceHelper;
 import com.kdu.rizzlers.service.impl.TenantConfigurationServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -54,6 +61,13 @@ public class TenantConfigurationServiceTest {
     @Mock
     private ConfigurationDefaultProvider defaultProvider;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private LandingPageSnapshotCache landingPageSnapshots = new LandingPageSnapshotCache(
+            new SimpleMeterRegistry(), 600, true, 600, 480);
+
     @InjectMocks
     private TenantConfigurationServiceImpl tenantConfigurationService;
 
@@ -379,6 +393,88 @@ public class TenantConfigurationServiceTest {
         verify(defaultProvider).setDefaultConfigValues(any());
     }
 
+    @Test
+    void getLandingPageConfiguration_ShouldServeSnapshotUntilTenantDataChanges() {
+        // Given
+        Integer tenantId = 100;
+        when(tenantConfigurationRepository.findByTenantIdAndPageAndIsActive(tenantId, "landing", true))
+                .thenReturn(createTestLandingPageConfigurations(tenantId));
+        when(guestTypeDefinitionService.getGuestTypeDefinitionsByTenantId(tenantId))
+                .thenReturn(testGuestTypes);
+        when(propertyServiceHelper.getPropertyAssignments(tenantId, false))
+                .thenReturn(testPropertyAssignmentResponses);
+
+        // When
+        LandingPageConfigResponse first = tenantConfigurationService.getLandingPageConfiguration(tenantId, false);
+        LandingPageConfigResponse second = tenantConfigurationService.getLandingPageConfiguration(tenantId, false);
+
+        // Then the second request is served from the snapshot
+        assertSame(first, second);
+        verify(tenantConfigurationRepository, times(1)).findByTenantIdAndPageAndIsActive(tenantId, "landing", true);
+        verify(propertyServiceHelper, times(1)).getPropertyAssignments(tenantId, false);
+
+        // When the tenant's data changes
+        landingPageSnapshots.onTenantDataChanged(new TenantDataChangedEvent(tenantId, "Guest type definition"));
+        LandingPageConfigResponse rebuilt = tenantConfigurationService.getLandingPageConfiguration(tenantId, false);
+
+        // Then a new snapshot version is assembled
+        assertNotSame(first, rebuilt);
+        verify(tenantConfigurationRepository, times(2)).findByTenantIdAndPageAndIsActive(tenantId, "landing", true);
+        assertEquals(1, landingPageSnapshots.peek(tenantId, false).version());
+    }
+
+    @Test
+    void updateConfiguration_MovedToAnotherTenant_ShouldPublishChangeForBothTenants() {
+        // Given
+        Long id = 1L;
+        testRequest.setTenantId(200);
+        when(tenantConfigurationRepository.findById(id)).thenReturn(Optional.of(testConfiguration));
+        when(tenantConfigurationRepository.save(any(TenantConfiguration.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        tenantConfigurationService.updateConfiguration(id, testRequest);
+
+        // Then
+        verify(eventPublisher).publishEvent(new TenantDataChangedEvent(100, "Tenant configuration"));
+        verify(eventPublisher).publishEvent(new TenantDataChangedEvent(200, "Tenant configuration"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void upsertConfigurations_ShouldKeepLastRowPerKeyAndNotifyEachTenantOnce() {
+        // Given
+        List<TenantConfigurationUpsertRequest> requests = List.of(
+                upsertRequest(100, "header_logo", "{\"url\":\"old.png\"}"),
+                upsertRequest(100, "page_title", "{\"text\":\"Welcome\"}"),
+                upsertRequest(200, "header_logo", "{\"url\":\"other.png\"}"),
+                upsertRequest(100, "header_logo", "{\"url\":\"new.png\"}"));
+        when(tenantConfigurationRepository.upsertAll(any())).thenReturn(3);
+
+        // When
+        int upserted = tenantConfigurationService.upsertConfigurations(requests);
+
+        // Then
+        assertEquals(3, upserted);
+        ArgumentCaptor<Collection<TenantConfiguration>> stored = ArgumentCaptor.forClass(Collection.class);
+        verify(tenantConfigurationRepository).upsertAll(stored.capture());
+        List<TenantConfiguration> configurations = new ArrayList<>(stored.getValue());
+        assertEquals(3, configurations.size());
+        assertEquals("{\"url\":\"new.png\"}", configurations.get(0).getValue());
+        assertTrue(configurations.stream().allMatch(TenantConfiguration::getIsActive));
+        verify(eventPublisher).publishEvent(new TenantDataChangedEvent(100, "Tenant configuration"));
+        verify(eventPublisher).publishEvent(new TenantDataChangedEvent(200, "Tenant configuration"));
+        verify(eventPublisher, times(2)).publishEvent(any(TenantDataChangedEvent.class));
+    }
+
+    private static TenantConfigurationUpsertRequest upsertRequest(Integer tenantId, String field, String value) {
+        return TenantConfigurationUpsertRequest.builder()
+                .tenantId(tenantId)
+                .page("landing")
+                .field(field)
+                .value(value)
+                .build();
+    }
+
     private List<TenantConfiguration> createTestLandingPageConfigurations(Integer tenantId) {
         List<TenantConfiguration> configurations = new ArrayList<>();
         
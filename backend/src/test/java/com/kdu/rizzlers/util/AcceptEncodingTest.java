@@ -0,0 +1,47 @@
+package com.kdu.rizzlers.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AcceptEncodingTest {
+
+    @Test
+    public void testGzipIsAllowedWithNonZeroQuality() {
+        // When & Then
+        assertTrue(AcceptEncoding.allowsGzip("gzip"));
+        assertTrue(AcceptEncoding.allowsGzip("deflate, GZIP;q=0.5"));
+        assertTrue(AcceptEncoding.allowsGzip("x-gzip"));
+        assertTrue(AcceptEncoding.allowsGzip("br;q=1.0, *;q=0.1"));
+        assertFalse(AcceptEncoding.allowsGzip(null));
+        assertFalse(AcceptEncoding.allowsGzip(""));
+        assertFalse(AcceptEncoding.allowsGzip("deflate, br"));
+    }
+
+    @Test
+    public void testZeroQualityRefusesGzip() {
+        // When & Then
+        assertFalse(AcceptEncoding.allowsGzip("gzip;q=0"));
+        assertFalse(AcceptEncoding.allowsGzip("gzip; Q = 0.000, *"));
+        assertFalse(AcceptEncoding.allowsGzip("identity, *;q=0"));
+    }
+
+    @Test
+    public void testRepeatedGzipEntriesUseTheHighestQuality() {
+        // When & Then
+        assertTrue(AcceptEncoding.allowsGzip("gzip;q=0, gzip;q=0.8"));
+        assertTrue(AcceptEncoding.allowsGzip("gzip, gzip;q=0"));
+        assertFalse(AcceptEncoding.allowsGzip("gzip;q=0, x-gzip;q=0, *"));
+    }
+
+    @Test
+    public void testMalformedQualityAllowsNothing() {
+        // When & Then
+        assertFalse(AcceptEncoding.allowsGzip("gzip;q=abc"));
+        assertFalse(AcceptEncoding.allowsGzip("gzip;q="));
+        assertFalse(AcceptEncoding.allowsGzip("gzip;q=1.5"));
+        assertFalse(AcceptEncoding.allowsGzip("gzip;q=-1"));
+        assertFalse(AcceptEncoding.allowsGzip("gzip;q=0.0001"));
+        assertTrue(AcceptEncoding.allowsGzip("gzip;level=9"));
+    }
+}
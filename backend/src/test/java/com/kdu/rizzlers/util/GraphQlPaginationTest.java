@@ -0,0 +1,109 @@
+package com.kdu.rizzlers.util;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphQlPaginationTest {
+
+    @Test
+    public void testSmallResultNeedsSingleRequest() {
+        // Given
+        AtomicInteger requests = new AtomicInteger();
+        GraphQlPagination.PageFetcher<List<Integer>> fetcher = (skip, take) -> {
+            requests.incrementAndGet();
+            return Mono.just(rows(skip, take, 30));
+        };
+
+        // When
+        List<List<Integer>> pages = GraphQlPagination.fetchAll(fetcher, 100, 4).collectList().block();
+
+        // Then
+        assertEquals(1, pages.size());
+        assertEquals(30, pages.get(0).size());
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testAllPagesAreFetchedWithinParallelismCap() {
+        // Given 2,550 rows served in pages of 100 with some latency
+        int totalRows = 2_550;
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Set<Integer> requestedSkips = ConcurrentHashMap.newKeySet();
+        GraphQlPagination.PageFetcher<List<Integer>> fetcher = (skip, take) -> Mono.defer(() -> {
+                    requestedSkips.add(skip);
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    return Mono.delay(Duration.ofMillis(5)).map(tick -> {
+                        inFlight.decrementAndGet();
+                        return rows(skip, take, totalRows);
+                    });
+                });
+
+        // When
+        List<Integer> fetched = GraphQlPagination.fetchAll(fetcher, 100, 4)
+                .flatMapIterable(page -> page)
+                .collectList()
+                .block();
+
+        // Then every row arrives exactly once, with no more than 4 pages in flight
+        assertEquals(totalRows, fetched.size());
+        assertEquals(IntStream.range(0, totalRows).boxed().collect(Collectors.toSet()), Set.copyOf(fetched));
+        assertTrue(maxInFlight.get() <= 4, "Max in flight was " + maxInFlight.get());
+        assertTrue(requestedSkips.containsAll(List.of(0, 1_000, 2_500)));
+        assertTrue(requestedSkips.size() <= 26 + 4, "Requested " + requestedSkips.size() + " pages");
+    }
+
+    @Test
+    public void testExactMultipleOfPageSizeTerminates() {
+        // Given
+        GraphQlPagination.PageFetcher<List<Integer>> fetcher = (skip, take) -> Mono.just(rows(skip, take, 300));
+
+        // When
+        long rowCount = GraphQlPagination.fetchAll(fetcher, 100, 2)
+                .flatMapIterable(page -> page)
+                .count()
+                .block();
+
+        // Then
+        assertEquals(300, rowCount);
+    }
+
+    @Test
+    public void testFailedPageFailsTheFetch() {
+        // Given
+        GraphQlPagination.PageFetcher<List<Integer>> fetcher = (skip, take) -> skip == 200
+                ? Mono.error(new IllegalStateException("upstream unavailable"))
+                : Mono.just(rows(skip, take, 1_000));
+
+        // When & Then
+        assertThrows(IllegalStateException.class,
+                () -> GraphQlPagination.fetchAll(fetcher, 100, 3).collectList().block());
+    }
+
+    @Test
+    public void testInvalidArgumentsAreRejected() {
+        GraphQlPagination.PageFetcher<List<Integer>> fetcher = (skip, take) -> Mono.just(List.of());
+
+        assertThrows(IllegalArgumentException.class, () -> GraphQlPagination.fetchAll(fetcher, 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> GraphQlPagination.fetchAll(fetcher, 100, 0));
+    }
+
+    private static List<Integer> rows(int skip, int take, int totalRows) {
+        List<Integer> rows = new ArrayList<>();
+        for (int row = skip; row < Math.min(skip + take, totalRows); row++) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
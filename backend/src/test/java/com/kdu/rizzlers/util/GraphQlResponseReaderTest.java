@@ -0,0 +1,107 @@
+package com.kdu.rizzlers.util;
+
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.kdu.rizzlers.dto.graphql.Room;
+import com.kdu.rizzlers.dto.graphql.RoomRate;
+import com.kdu.rizzlers.exception.GraphQlErrorException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphQlResponseReaderTest {
+
+    private static final GraphQlResponseReader<List<Room>> ROOMS_READER =
+            GraphQlResponseReader.forList("listRooms", Room.class);
+
+    private static final GraphQlResponseReader<RoomRate> ROOM_RATE_READER =
+            GraphQlResponseReader.forObject("getRoomRate", RoomRate.class);
+
+    @Test
+    public void testListIsDecodedIntoTypedObjects() throws IOException {
+        // Given
+        String response = """
+                {"extensions": {"cost": 3}, "data": {"other": [1, 2], "listRooms": [
+                  {"room_id": 1, "room_number": "101", "unknown": {"nested": true},
+                   "room_type": {"room_type_id": 7, "room_type_name": "Deluxe", "max_capacity": 3}},
+                  {"room_id": 2, "room_type": null}
+                ]}}
+                """;
+
+        // When
+        List<Room> rooms = ROOMS_READER.read(bytes(response));
+
+        // Then unknown fields are skipped and nested objects are typed
+        assertEquals(2, rooms.size());
+        assertEquals("101", rooms.get(0).getRoomNumber());
+        assertEquals(7, rooms.get(0).getRoomType().getRoomTypeId());
+        assertEquals(3, rooms.get(0).getRoomType().getMaxCapacity());
+        assertNull(rooms.get(1).getRoomType());
+    }
+
+    @Test
+    public void testUpstreamTimestampsAreReadAsDates() throws IOException {
+        // When
+        RoomRate timestamp = ROOM_RATE_READER.read(bytes("""
+                {"data": {"getRoomRate": {"room_rate_id": 4, "basic_nightly_rate": 99.5, "date": "2025-03-03T00:00:00.000Z"}}}
+                """));
+        RoomRate plainDate = ROOM_RATE_READER.read(bytes("""
+                {"data": {"getRoomRate": {"date": "2025-03-04"}}}
+                """));
+
+        // Then
+        assertEquals(LocalDate.of(2025, 3, 3), timestamp.getDate());
+        assertEquals(99.5, timestamp.getBasicNightlyRate());
+        assertEquals(LocalDate.of(2025, 3, 4), plainDate.getDate());
+    }
+
+    @Test
+    public void testAbsentFieldIsReadAsEmpty() throws IOException {
+        // When & Then
+        assertEquals(List.of(), ROOMS_READER.read(bytes("{\"data\": {\"listRooms\": null}}")));
+        assertEquals(List.of(), ROOMS_READER.read(bytes("{\"data\": null}")));
+        assertNull(ROOM_RATE_READER.read(bytes("{\"data\": {}}")));
+    }
+
+    @Test
+    public void testGraphQlErrorsAreReported() {
+        // Given
+        String response = """
+                {"errors": [{"message": "Field 'listRooms' is not defined", "locations": [{"line": 1}]}], "data": null}
+                """;
+
+        // When & Then
+        GraphQlErrorException error = assertThrows(GraphQlErrorException.class, () -> ROOMS_READER.read(bytes(response)));
+        assertEquals("GraphQL error fetching listRooms: Field 'listRooms' is not defined", error.getMessage());
+        assertFalse(error.isRequestError());
+    }
+
+    @Test
+    public void testErrorsWithoutDataAreRequestErrors() {
+        // Given a response to a query that did not validate, which has no data entry at all
+        String response = """
+                {"errors": [{"message": "Cannot query field 'listRooms' on type 'Query'."}]}
+                """;
+
+        // When & Then
+        GraphQlErrorException error = assertThrows(GraphQlErrorException.class, () -> ROOMS_READER.read(bytes(response)));
+        assertTrue(error.isRequestError());
+    }
+
+    @Test
+    public void testValuesThatDoNotFitTheTypeAreRejected() {
+        // When & Then
+        assertThrows(MismatchedInputException.class,
+                () -> ROOMS_READER.read(bytes("{\"data\": {\"listRooms\": \"not a list\"}}")));
+        assertThrows(MismatchedInputException.class,
+                () -> ROOM_RATE_READER.read(bytes("{\"data\": {\"getRoomRate\": {\"date\": \"yesterday\"}}}")));
+    }
+
+    private static byte[] bytes(String response) {
+        return response.getBytes(StandardCharsets.UTF_8);
+    }
+}
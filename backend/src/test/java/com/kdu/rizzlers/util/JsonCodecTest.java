@@ -0,0 +1,57 @@
+package com.kdu.rizzlers.util;
+
+import com.kdu.rizzlers.config.JacksonConfig;
+import com.kdu.rizzlers.config.JsonCodecWarmUp;
+import com.kdu.rizzlers.dto.out.DailyRoomRateDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonCodecTest {
+
+    @Test
+    public void testApplicationMapperIsTheSharedCodec() {
+        // When & Then
+        assertSame(JsonCodec.mapper(), new JacksonConfig().javaTimeObjectMapper());
+    }
+
+    @Test
+    public void testDailyRatesAreWrittenWithIsoDatesAndWithoutNulls() throws IOException {
+        // Given
+        List<DailyRoomRateDTO> rates = List.of(DailyRoomRateDTO.builder()
+                .date(LocalDate.of(2025, 3, 3))
+                .minimumRate(120.0)
+                .hasPromotion(false)
+                .build());
+
+        // When
+        String json = JsonCodec.mapper().writeValueAsString(rates);
+
+        // Then
+        assertEquals("[{\"date\":\"2025-03-03\",\"minimum_rate\":120.0,\"has_promotion\":false}]", json);
+    }
+
+    @Test
+    public void testConfigurationValuesAndImageUrlsRoundTrip() throws IOException {
+        // When
+        Map<String, Object> value = JsonCodec.MAP_READER.readValue("{\"url\": \"logo.png\", \"options\": [{\"active\": true}]}");
+        String[] urls = JsonCodec.STRING_ARRAY_READER.readValue(
+                JsonCodec.STRING_ARRAY_WRITER.writeValueAsString(new String[]{"a.png", "b.png"}));
+
+        // Then
+        assertEquals("logo.png", value.get("url"));
+        assertEquals(List.of(Map.of("active", true)), value.get("options"));
+        assertArrayEquals(new String[]{"a.png", "b.png"}, urls);
+    }
+
+    @Test
+    public void testWarmUpCompletes() {
+        // When & Then
+        assertDoesNotThrow(() -> new JsonCodecWarmUp().run(null));
+    }
+}
@@ -0,0 +1,43 @@
+package com.kdu.rizzlers.util;
+
+import com.kdu.rizzlers.dto.out.KeysetPageResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeysetPaginationTest {
+
+    @Test
+    public void testFullPageContinuesAfterItsLastId() {
+        // Given the rows of a query for one more than the page size
+        List<Long> rows = List.of(3L, 5L, 8L);
+
+        // When
+        KeysetPageResponse<String> page = KeysetPagination.page(rows, 2, Function.identity(), id -> "row " + id);
+
+        // Then
+        assertEquals(List.of("row 3", "row 5"), page.getItems());
+        assertEquals(5L, page.getNextAfterId());
+    }
+
+    @Test
+    public void testLastPageHasNoNextId() {
+        // When
+        KeysetPageResponse<Long> page = KeysetPagination.page(List.of(3L, 5L), 2, Function.identity(), Function.identity());
+
+        // Then
+        assertEquals(List.of(3L, 5L), page.getItems());
+        assertNull(page.getNextAfterId());
+    }
+
+    @Test
+    public void testLimitIsClamped() {
+        // When & Then
+        assertEquals(2, KeysetPagination.queryLimit(0).max());
+        assertEquals(KeysetPagination.MAX_LIMIT + 1, KeysetPagination.queryLimit(1_000_000).max());
+        assertEquals(0L, KeysetPagination.afterId(null));
+    }
+}
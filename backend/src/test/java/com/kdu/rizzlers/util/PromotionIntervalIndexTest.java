@@ -0,0 +1,114 @@
+package com.kdu.rizzlers.util;
+
+import com.kdu.rizzlers.entity.PropertyPromotionSchedule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PromotionIntervalIndexTest {
+
+    private static final LocalDate JUNE_1 = LocalDate.of(2023, 6, 1);
+
+    @Test
+    public void testResolveAssignsPromotionsToTheirDates() {
+        // Given
+        PropertyPromotionSchedule early = createPromotion(1L, 1, 0.8, JUNE_1, JUNE_1.plusDays(4), true);
+        PropertyPromotionSchedule late = createPromotion(2L, 2, 0.9, JUNE_1.plusDays(10), JUNE_1.plusDays(12), true);
+        PromotionIntervalIndex index = new PromotionIntervalIndex(Arrays.asList(late, early));
+
+        // When
+        PropertyPromotionSchedule[] resolved = index.resolve(JUNE_1.toEpochDay(), JUNE_1.plusDays(14).toEpochDay());
+
+        // Then
+        assertEquals(15, resolved.length);
+        assertSame(early, resolved[0]);
+        assertSame(early, resolved[4]);
+        assertNull(resolved[5]);
+        assertSame(late, resolved[10]);
+        assertSame(late, resolved[12]);
+        assertNull(resolved[13]);
+    }
+
+    @Test
+    public void testOverlapIsResolvedByPriorityRegardlessOfInputOrder() {
+        // Given
+        PropertyPromotionSchedule small = createPromotion(1L, 1, 0.9, JUNE_1, JUNE_1.plusDays(9), true);
+        PropertyPromotionSchedule deep = createPromotion(2L, 2, 0.7, JUNE_1.plusDays(3), JUNE_1.plusDays(5), true);
+        PropertyPromotionSchedule deepTie = createPromotion(3L, 3, 0.7, JUNE_1.plusDays(3), JUNE_1.plusDays(5), true);
+
+        // When
+        PropertyPromotionSchedule[] forward = new PromotionIntervalIndex(Arrays.asList(small, deep, deepTie))
+                .resolve(JUNE_1.toEpochDay(), JUNE_1.plusDays(9).toEpochDay());
+        PropertyPromotionSchedule[] backward = new PromotionIntervalIndex(Arrays.asList(deepTie, deep, small))
+                .resolve(JUNE_1.toEpochDay(), JUNE_1.plusDays(9).toEpochDay());
+
+        // Then the deepest discount wins, ties go to the lower promotion ID
+        assertArrayEquals(forward, backward);
+        assertSame(small, forward[2]);
+        assertSame(deep, forward[3]);
+        assertSame(deep, forward[5]);
+        assertSame(small, forward[6]);
+    }
+
+    @Test
+    public void testInactivePromotionsAreIgnored() {
+        // Given
+        PropertyPromotionSchedule inactive = createPromotion(1L, 1, 0.5, JUNE_1, JUNE_1.plusDays(9), false);
+        PromotionIntervalIndex index = new PromotionIntervalIndex(Collections.singletonList(inactive));
+
+        // When & Then
+        assertTrue(index.isEmpty());
+        assertNull(index.resolve(JUNE_1.toEpochDay(), JUNE_1.toEpochDay())[0]);
+        assertTrue(Arrays.stream(index.resolve(JUNE_1.toEpochDay(), JUNE_1.plusDays(9).toEpochDay()))
+                .allMatch(promotion -> promotion == null));
+    }
+
+    @Test
+    public void testResolveMatchesSingleDateLookup() {
+        // Given a random, heavily overlapping set of promotions
+        Random random = new Random(7);
+        List<PropertyPromotionSchedule> promotions = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            LocalDate start = JUNE_1.plusDays(random.nextInt(365));
+            promotions.add(createPromotion((long) i, random.nextInt(20), 0.5 + random.nextInt(50) / 100.0,
+                    start, start.plusDays(random.nextInt(40)), random.nextInt(5) != 0));
+        }
+        PromotionIntervalIndex index = new PromotionIntervalIndex(promotions);
+
+        // When
+        long firstDay = JUNE_1.minusDays(10).toEpochDay();
+        PropertyPromotionSchedule[] resolved = index.resolve(firstDay, firstDay + 420);
+
+        // Then
+        for (int offset = 0; offset < resolved.length; offset++) {
+            LocalDate date = LocalDate.ofEpochDay(firstDay + offset);
+            PropertyPromotionSchedule expected = promotions.stream()
+                    .filter(promotion -> promotion.isDateInPromotionPeriod(date))
+                    .min(PromotionIntervalIndex.PRIORITY)
+                    .orElse(null);
+            assertSame(expected, resolved[offset], "Mismatch on " + date);
+            assertSame(expected, index.resolve(date.toEpochDay(), date.toEpochDay())[0], "Mismatch on " + date);
+        }
+    }
+
+    private PropertyPromotionSchedule createPromotion(Long id, Integer promotionId, double priceFactor,
+                                                      LocalDate startDate, LocalDate endDate, boolean isActive) {
+        return PropertyPromotionSchedule.builder()
+                .id(id)
+                .propertyId(100)
+                .promotionId(promotionId)
+                .priceFactor(BigDecimal.valueOf(priceFactor))
+                .startDate(startDate)
+                .endDate(endDate)
+                .isActive(isActive)
+                .build();
+    }
+}
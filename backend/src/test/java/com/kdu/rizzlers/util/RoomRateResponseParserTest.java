@@ -0,0 +1,131 @@
+package com.kdu.rizzlers.util;
+
+import com.kdu.rizzlers.cache.RateCalendar;
+import com.kdu.rizzlers.exception.GraphQlErrorException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoomRateResponseParserTest {
+
+    private static final String RESPONSE = """
+            {"data": {"listRoomRateRoomTypeMappings": [
+              {"room_rate": {"basic_nightly_rate": 120.5, "date": "2025-03-03T00:00:00.000Z", "room_rate_id": 1}},
+              {"room_rate": {"room_rate_id": 2, "date": "2025-03-03T00:00:00.000Z", "basic_nightly_rate": 99}},
+              {"room_rate": {"basic_nightly_rate": 80, "date": "2025-03-04T00:00:00.000Z", "extra": {"date": "1999-01-01"}}},
+              {"room_rate": {"basic_nightly_rate": null, "date": "2025-03-05T00:00:00.000Z"}},
+              {"room_rate": {"basic_nightly_rate": 70, "date": "2025-02-30T00:00:00.000Z"}},
+              {"room_rate": null}
+            ]}}
+            """;
+
+    @Test
+    public void testRowsAreFoldedIntoMinimumRates() throws IOException {
+        // When
+        RoomRateResponseParser.RatePage page = RoomRateResponseParser.parse(RESPONSE.getBytes(StandardCharsets.UTF_8));
+        RateCalendar calendar = page.rates().build();
+
+        // Then every mapping is counted, but only valid rates are kept
+        assertEquals(6, page.rows());
+        assertEquals(2, calendar.size());
+        assertEquals(99.0, calendar.rateAt(LocalDate.of(2025, 3, 3).toEpochDay()));
+        assertEquals(80.0, calendar.rateAt(LocalDate.of(2025, 3, 4).toEpochDay()));
+        assertFalse(calendar.hasRate(LocalDate.of(2025, 3, 5).toEpochDay()));
+    }
+
+    @Test
+    public void testResponseSplitAcrossChunksParsesTheSame() throws IOException {
+        // Given
+        byte[] json = RESPONSE.getBytes(StandardCharsets.UTF_8);
+        RoomRateResponseParser parser = new RoomRateResponseParser();
+
+        // When the body arrives a few bytes at a time
+        for (int offset = 0; offset < json.length; offset += 7) {
+            parser.feed(ByteBuffer.wrap(json, offset, Math.min(7, json.length - offset)));
+        }
+        RoomRateResponseParser.RatePage page = parser.finish();
+
+        // Then
+        assertEquals(6, page.rows());
+        assertEquals(99.0, page.rates().build().rateAt(LocalDate.of(2025, 3, 3).toEpochDay()));
+    }
+
+    @Test
+    public void testNestedRoomTypeRatesAreFoldedIntoMinimumRates() throws IOException {
+        // Given room types with their mappings nested, limited to 2 per room type
+        byte[] json = """
+                {"data": {"listRoomTypes": [
+                  {"room_type_id": 7, "room_rates": [
+                    {"room_rate": {"basic_nightly_rate": 120, "date": "2025-03-03T00:00:00.000Z"}},
+                    {"room_rate": {"basic_nightly_rate": 110, "date": "2025-03-04T00:00:00.000Z"}}
+                  ]},
+                  {"room_rates": [
+                    {"room_rate": {"basic_nightly_rate": 90, "date": "2025-03-03T00:00:00.000Z"}}
+                  ], "room_type_id": 8},
+                  {"room_type_id": 9, "room_rates": []}
+                ]}}
+                """.getBytes(StandardCharsets.UTF_8);
+        RoomRateResponseParser parser = RoomRateResponseParser.forRoomTypes(2);
+
+        // When
+        parser.feed(ByteBuffer.wrap(json));
+        RoomRateResponseParser.RatePage page = parser.finish();
+        RateCalendar calendar = page.rates().build();
+
+        // Then rows are room types, and the room type that reached the limit is reported
+        assertEquals(3, page.rows());
+        assertEquals(List.of(7), page.truncatedRoomTypeIds());
+        assertEquals(90.0, calendar.rateAt(LocalDate.of(2025, 3, 3).toEpochDay()));
+        assertEquals(110.0, calendar.rateAt(LocalDate.of(2025, 3, 4).toEpochDay()));
+    }
+
+    @Test
+    public void testGraphQlErrorFailsThePage() {
+        // Given
+        byte[] json = """
+                {"errors": [{"message": "Unknown argument skip", "locations": [{"line": 1, "column": 2}]}], "data": null}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        // When & Then
+        GraphQlErrorException error = assertThrows(GraphQlErrorException.class, () -> RoomRateResponseParser.parse(json));
+        assertTrue(error.getMessage().contains("Unknown argument skip"));
+        assertFalse(error.isRequestError());
+    }
+
+    @Test
+    public void testGraphQlErrorWithoutDataIsARequestError() {
+        // Given a response to a query that did not validate, which has no data entry at all
+        byte[] json = """
+                {"errors": [{"message": "Unknown argument skip", "locations": [{"line": 1, "column": 2}]}]}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        // When & Then
+        GraphQlErrorException error = assertThrows(GraphQlErrorException.class, () -> RoomRateResponseParser.parse(json));
+        assertTrue(error.isRequestError());
+    }
+
+    @Test
+    public void testTruncatedResponseFails() {
+        byte[] json = "{\"data\": {\"listRoomRateRoomTypeMappings\": [{\"room_rate\": {".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(IOException.class, () -> RoomRateResponseParser.parse(json));
+    }
+
+    @Test
+    public void testEpochDayMatchesLocalDate() {
+        for (LocalDate date = LocalDate.of(1899, 12, 1); date.getYear() < 2101; date = date.plusDays(13)) {
+            char[] text = (date + "T00:00:00.000Z").toCharArray();
+            assertEquals(date.toEpochDay(), RoomRateResponseParser.parseEpochDay(text, 0, text.length), date.toString());
+        }
+        LocalDate leapDay = LocalDate.of(2024, 2, 29);
+        assertEquals(leapDay.toEpochDay(), RoomRateResponseParser.parseEpochDay("2024-02-29".toCharArray(), 0, 10));
+        assertEquals(Long.MIN_VALUE, RoomRateResponseParser.parseEpochDay("2023-02-29".toCharArray(), 0, 10));
+        assertEquals(Long.MIN_VALUE, RoomRateResponseParser.parseEpochDay("2023-1-05".toCharArray(), 0, 9));
+    }
+}